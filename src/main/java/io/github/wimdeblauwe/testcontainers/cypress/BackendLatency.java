@@ -0,0 +1,98 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+/**
+ * The latency of the requests that the browser made to the application during a test, as measured by the proxy that is
+ * added with {@link CypressContainer#withBackendLatency()}.
+ * <p>
+ * The latency of a request is the time between forwarding it to the application and receiving the complete response.
+ * Percentiles use the nearest-rank method.
+ */
+public class BackendLatency {
+    private final long[] latencies;
+    private final long requestBytes;
+    private final long responseBytes;
+    private final String slowestRequest;
+
+    /**
+     * @param latencies the latencies of the requests in nanoseconds, there should be at least one
+     */
+    BackendLatency(long[] latencies, long requestBytes, long responseBytes, String slowestRequest) {
+        this.latencies = latencies.clone();
+        this.requestBytes = requestBytes;
+        this.responseBytes = responseBytes;
+        this.slowestRequest = slowestRequest;
+        Arrays.sort(this.latencies);
+    }
+
+    public int getNumberOfRequests() {
+        return latencies.length;
+    }
+
+    /**
+     * @return the sum of the latencies of all requests. Requests that were made at the same time are counted fully.
+     */
+    public Duration getTotal() {
+        return Duration.ofNanos(Arrays.stream(latencies).sum());
+    }
+
+    public Duration getP50() {
+        return getPercentile(50);
+    }
+
+    public Duration getP95() {
+        return getPercentile(95);
+    }
+
+    public Duration getMax() {
+        return Duration.ofNanos(latencies[latencies.length - 1]);
+    }
+
+    /**
+     * @param percentile the percentile, between 0 (exclusive) and 100 (inclusive)
+     * @return the latency of a request at the given percentile
+     */
+    public Duration getPercentile(double percentile) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile should be between 0 (exclusive) and 100 (inclusive), but was " + percentile);
+        }
+        int rank = (int) Math.ceil(percentile / 100 * latencies.length);
+        return Duration.ofNanos(latencies[Math.max(0, rank - 1)]);
+    }
+
+    /**
+     * @return the number of bytes in the bodies of the requests
+     */
+    public long getRequestBytes() {
+        return requestBytes;
+    }
+
+    /**
+     * @return the number of bytes in the bodies of the responses
+     */
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    /**
+     * @return the method and path of the request with the highest latency (e.g. <code>GET /api/todos?page=2</code>)
+     */
+    public String getSlowestRequest() {
+        return slowestRequest;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", BackendLatency.class.getSimpleName() + "[", "]")
+                .add("requests=" + latencies.length)
+                .add("total=" + getTotal())
+                .add("p50=" + getP50())
+                .add("p95=" + getP95())
+                .add("max=" + getMax())
+                .add("slowestRequest='" + slowestRequest + "'")
+                .toString();
+    }
+}
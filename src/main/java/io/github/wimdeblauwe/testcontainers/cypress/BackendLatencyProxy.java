@@ -0,0 +1,419 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLSocketFactory;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A reverse proxy in the JVM between the browser in the container and the application, that measures the latency and
+ * payload sizes of every request.
+ * <p>
+ * The support file <code>testcontainers-backend-latency.js</code> adds the title of the running suite and test to every
+ * request to the base URL in headers. The proxy removes those headers, forwards the request and groups the
+ * measurements per test.
+ * <p>
+ * The <code>Host</code> header of the browser is passed on, so absolute URLs that the application builds (e.g. in
+ * redirects) point to the proxy. <code>Location</code> headers that point to the target itself are rewritten to the
+ * proxy as well.
+ * <p>
+ * Requests and responses are buffered in memory, so streaming responses are only passed on when they are complete.
+ * Upgrading the connection (e.g. to a WebSocket) is not supported.
+ */
+class BackendLatencyProxy {
+    static final String SUITE_HEADER = "x-testcontainers-cypress-suite";
+    static final String TEST_HEADER = "x-testcontainers-cypress-test";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BackendLatencyProxy.class);
+    private static final int CONNECT_TIMEOUT_MILLIS = 10_000;
+    private static final Duration DEFAULT_READ_TIMEOUT = Duration.ofMinutes(1);
+    // Headers that only apply to a single connection, or that the proxy sets itself
+    private static final Set<String> SKIPPED_HEADERS = new HashSet<>(Arrays.asList(
+            "connection", "keep-alive", "proxy-authenticate", "proxy-authorization", "proxy-connection", "te", "trailer",
+            "transfer-encoding", "upgrade", "host", "content-length", "expect", SUITE_HEADER, TEST_HEADER));
+
+    private final Map<String, Map<String, List<Sample>>> samplesBySuiteAndTest = new LinkedHashMap<>();
+    private int untaggedRequests;
+    private volatile URI target;
+    private volatile Duration readTimeout = DEFAULT_READ_TIMEOUT;
+    private HttpServer server;
+    private ExecutorService executorService;
+
+    /**
+     * Starts the proxy on a free port. The proxy forwards requests without authentication, so it should only listen on
+     * the address that the container uses to reach the host: the loopback address for the port forwarding of
+     * Testcontainers, or the gateway of the Docker bridge network.
+     *
+     * @param bindAddress the address to listen on
+     */
+    void start(InetAddress bindAddress) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(bindAddress, 0), 0);
+        executorService = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "cypress-backend-latency-proxy");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executorService);
+        server.createContext("/", this::handle);
+        server.start();
+        LOGGER.debug("Started backend latency proxy on port {}", getPort());
+    }
+
+    void stop() {
+        if (server != null) {
+            server.stop(0);
+            executorService.shutdownNow();
+            server = null;
+        }
+    }
+
+    int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * @param target the scheme, host and port of the application
+     */
+    void setTarget(URI target) {
+        this.target = target;
+    }
+
+    /**
+     * Sets the maximum time to wait on data from the application. When it passes, the browser gets a
+     * <code>504 Gateway Timeout</code> response.
+     * <br>
+     * The default is 1 minute.
+     */
+    void setReadTimeout(Duration readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * Forgets the measurements of the previous run.
+     */
+    synchronized void reset() {
+        samplesBySuiteAndTest.clear();
+        untaggedRequests = 0;
+    }
+
+    /**
+     * Summarizes the measurements per test, attaches them to the tests in the given results and forgets them.
+     */
+    synchronized void attachTo(CypressTestResults results) {
+        if (untaggedRequests > 0) {
+            LOGGER.debug("{} request(s) through the backend latency proxy were not made during a test", untaggedRequests);
+        }
+        samplesBySuiteAndTest.forEach((suiteTitle, samplesByTest) -> samplesByTest.forEach((description, samples) -> {
+            if (!results.setBackendLatency(suiteTitle, description, summarize(samples))) {
+                LOGGER.debug("No test '{}' in the results for the backend latency", CypressTestResults.getTestKey(suiteTitle, description));
+            }
+        }));
+        reset();
+    }
+
+    /**
+     * @param suiteTitle  the title of the top-level suite of the test, or <code>null</code> if the request was not made
+     *                    during a test
+     * @param description the title of the test
+     */
+    synchronized void record(String suiteTitle, String description, Sample sample) {
+        if (suiteTitle == null || description == null) {
+            untaggedRequests++;
+            return;
+        }
+        samplesBySuiteAndTest.computeIfAbsent(suiteTitle, key -> new LinkedHashMap<>())
+                             .computeIfAbsent(description, key -> new ArrayList<>())
+                             .add(sample);
+    }
+
+    static BackendLatency summarize(List<Sample> samples) {
+        long[] latencies = new long[samples.size()];
+        long requestBytes = 0;
+        long responseBytes = 0;
+        Sample slowest = samples.get(0);
+        for (int i = 0; i < samples.size(); i++) {
+            Sample sample = samples.get(i);
+            latencies[i] = sample.latencyNanos;
+            requestBytes += sample.requestBytes;
+            responseBytes += sample.responseBytes;
+            if (sample.latencyNanos > slowest.latencyNanos) {
+                slowest = sample;
+            }
+        }
+        return new BackendLatency(latencies, requestBytes, responseBytes, slowest.request);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            Headers requestHeaders = exchange.getRequestHeaders();
+            String suiteTitle = decodeHeader(requestHeaders.getFirst(SUITE_HEADER));
+            String description = decodeHeader(requestHeaders.getFirst(TEST_HEADER));
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getRawPath()
+                    + (exchange.getRequestURI().getRawQuery() != null ? "?" + exchange.getRequestURI().getRawQuery() : "");
+            byte[] requestBody = readFully(exchange.getRequestBody());
+
+            long startTime = System.nanoTime();
+            Response response;
+            try {
+                response = forward(method, path, requestHeaders, requestBody);
+                rewriteLocation(response, requestHeaders.getFirst("Host"));
+            } catch (SocketTimeoutException e) {
+                LOGGER.warn("No response from {} for {} {} within {}", target, method, path, readTimeout);
+                response = new Response(504, new LinkedHashMap<>(), new byte[0]);
+            } catch (IOException e) {
+                LOGGER.warn("Unable to forward {} {} to {}", method, path, target, e);
+                response = new Response(502, new LinkedHashMap<>(), new byte[0]);
+            }
+            long latencyNanos = System.nanoTime() - startTime;
+            record(suiteTitle, description, new Sample(latencyNanos, requestBody.length, response.body.length, method + " " + path));
+
+            Headers responseHeaders = exchange.getResponseHeaders();
+            response.headers.forEach((name, values) -> responseHeaders.put(name, values));
+            boolean noBody = method.equals("HEAD") || response.status == 204 || response.status == 304;
+            exchange.sendResponseHeaders(response.status, noBody || response.body.length == 0 ? -1 : response.body.length);
+            if (!noBody && response.body.length > 0) {
+                try (OutputStream body = exchange.getResponseBody()) {
+                    body.write(response.body);
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Sends the request to the target with HTTP/1.1 over a new connection and reads the complete response.
+     */
+    private Response forward(String method, String path, Headers requestHeaders, byte[] requestBody) throws IOException {
+        URI currentTarget = target;
+        if (currentTarget == null) {
+            throw new IOException("No target set");
+        }
+        boolean https = "https".equalsIgnoreCase(currentTarget.getScheme());
+        int port = currentTarget.getPort() != -1 ? currentTarget.getPort() : (https ? 443 : 80);
+        Socket socket = new Socket();
+        socket.setSoTimeout((int) Math.min(Integer.MAX_VALUE, readTimeout.toMillis()));
+        socket.connect(new InetSocketAddress(currentTarget.getHost(), port), CONNECT_TIMEOUT_MILLIS);
+        if (https) {
+            socket = ((SSLSocketFactory) SSLSocketFactory.getDefault()).createSocket(socket, currentTarget.getHost(), port, true);
+        }
+        try (Socket connection = socket) {
+            StringBuilder head = new StringBuilder();
+            head.append(method).append(' ').append(path).append(" HTTP/1.1\r\n");
+            String host = requestHeaders.getFirst("Host");
+            head.append("Host: ").append(host != null ? host : currentTarget.getRawAuthority()).append("\r\n");
+            requestHeaders.forEach((name, values) -> {
+                if (!SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    values.forEach(value -> head.append(name).append(": ").append(value).append("\r\n"));
+                }
+            });
+            if (requestBody.length > 0 || requestHeaders.containsKey("Content-Length")) {
+                head.append("Content-Length: ").append(requestBody.length).append("\r\n");
+            }
+            head.append("Connection: close\r\n\r\n");
+
+            OutputStream out = connection.getOutputStream();
+            out.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+            out.write(requestBody);
+            out.flush();
+
+            return readResponse(new BufferedInputStream(connection.getInputStream()), method);
+        }
+    }
+
+    /**
+     * Rewrites a <code>Location</code> header that points to the target to the origin that the browser used.
+     */
+    private void rewriteLocation(Response response, String requestHost) {
+        URI currentTarget = target;
+        if (requestHost == null || currentTarget == null) {
+            return;
+        }
+        String targetOrigin = currentTarget.getScheme() + "://" + currentTarget.getRawAuthority();
+        response.headers.forEach((name, values) -> {
+            if (name.equalsIgnoreCase("Location")) {
+                values.replaceAll(value -> value.equals(targetOrigin) || value.startsWith(targetOrigin + "/")
+                        ? "http://" + requestHost + value.substring(targetOrigin.length())
+                        : value);
+            }
+        });
+    }
+
+    private static Response readResponse(InputStream in, String method) throws IOException {
+        String statusLine = readLine(in);
+        if (statusLine == null) {
+            throw new IOException("The connection was closed without a response");
+        }
+        String[] statusParts = statusLine.split(" ", 3);
+        if (statusParts.length < 2) {
+            throw new IOException("Invalid status line: " + statusLine);
+        }
+        int status = Integer.parseInt(statusParts[1]);
+
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        boolean chunked = false;
+        long contentLength = -1;
+        String line;
+        while ((line = readLine(in)) != null && !line.isEmpty()) {
+            int colon = line.indexOf(':');
+            if (colon <= 0) {
+                continue;
+            }
+            String name = line.substring(0, colon).trim();
+            String value = line.substring(colon + 1).trim();
+            String lowerCaseName = name.toLowerCase(Locale.ROOT);
+            if (lowerCaseName.equals("transfer-encoding")) {
+                chunked = value.toLowerCase(Locale.ROOT).contains("chunked");
+            } else if (lowerCaseName.equals("content-length")) {
+                contentLength = Long.parseLong(value);
+            }
+            if (!SKIPPED_HEADERS.contains(lowerCaseName)) {
+                headers.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+            }
+        }
+
+        byte[] body;
+        if (method.equals("HEAD") || status / 100 == 1 || status == 204 || status == 304) {
+            body = new byte[0];
+        } else if (chunked) {
+            body = readChunked(in);
+        } else if (contentLength >= 0) {
+            body = readExactly(in, contentLength);
+        } else {
+            body = readFully(in);
+        }
+        return new Response(status, headers, body);
+    }
+
+    private static byte[] readChunked(InputStream in) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        while (true) {
+            String sizeLine = readLine(in);
+            if (sizeLine == null) {
+                throw new IOException("Unexpected end of chunked response");
+            }
+            int extension = sizeLine.indexOf(';');
+            long size = Long.parseLong((extension >= 0 ? sizeLine.substring(0, extension) : sizeLine).trim(), 16);
+            if (size == 0) {
+                // Skip the trailers
+                String trailer;
+                while ((trailer = readLine(in)) != null && !trailer.isEmpty()) {
+                    LOGGER.trace("Ignoring trailer {}", trailer);
+                }
+                return body.toByteArray();
+            }
+            body.write(readExactly(in, size));
+            readLine(in);
+        }
+    }
+
+    private static byte[] readExactly(InputStream in, long length) throws IOException {
+        byte[] bytes = new byte[Math.toIntExact(length)];
+        int offset = 0;
+        while (offset < bytes.length) {
+            int read = in.read(bytes, offset, bytes.length - offset);
+            if (read == -1) {
+                throw new IOException("Unexpected end of response after " + offset + " of " + length + " bytes");
+            }
+            offset += read;
+        }
+        return bytes;
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            bytes.write(buffer, 0, read);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                break;
+            }
+            if (b != '\r') {
+                line.write(b);
+            }
+        }
+        if (b == -1 && line.size() == 0) {
+            return null;
+        }
+        return new String(line.toByteArray(), StandardCharsets.ISO_8859_1);
+    }
+
+    private static String decodeHeader(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            // The support file encodes the titles with encodeURIComponent(), which never produces a '+'
+            return URLDecoder.decode(value.replace("+", "%2B"), "UTF-8");
+        } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+            return value;
+        }
+    }
+
+    static class Sample {
+        final long latencyNanos;
+        final long requestBytes;
+        final long responseBytes;
+        final String request;
+
+        Sample(long latencyNanos, long requestBytes, long responseBytes, String request) {
+            this.latencyNanos = latencyNanos;
+            this.requestBytes = requestBytes;
+            this.responseBytes = responseBytes;
+            this.request = request;
+        }
+    }
+
+    private static class Response {
+        private final int status;
+        private final Map<String, List<String>> headers;
+        private final byte[] body;
+
+        Response(int status, Map<String, List<String>> headers, byte[] body) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+}
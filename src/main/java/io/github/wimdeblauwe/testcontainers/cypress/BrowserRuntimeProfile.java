@@ -0,0 +1,158 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The runtime settings of the browser in a {@link CypressContainer}: the shared memory of the container, the IPC mode,
+ * extra launch flags of the browser and the video recording of Cypress.
+ * <p>
+ * Chrome keeps its rendering state in <code>/dev/shm</code>, which is only 64 MB by default in Docker. This makes heavy
+ * pages slow, or makes the browser crash. Use {@link #ciThroughput()} for settings that are tuned for running tests on
+ * CI as fast as possible.
+ */
+public class BrowserRuntimeProfile {
+    private static final long MEGABYTE = 1024L * 1024;
+
+    private Long sharedMemorySize;
+    private String ipcMode;
+    private final List<String> launchFlags = new ArrayList<>();
+    private Boolean video;
+    private Integer videoCompression;
+
+    /**
+     * Settings that are tuned for throughput on CI: 2 GB of shared memory, no GPU (there is none in a container, and
+     * trying to use it costs CPU time) and no video recording, so the CPU is available for the tests.
+     *
+     * @return a new profile
+     */
+    public static BrowserRuntimeProfile ciThroughput() {
+        return new BrowserRuntimeProfile()
+                .withSharedMemorySize(2048 * MEGABYTE)
+                .withLaunchFlags("--disable-gpu")
+                .withVideo(false);
+    }
+
+    /**
+     * Sets the size of <code>/dev/shm</code> in the container.
+     *
+     * @param bytes the size in bytes
+     * @return the current instance
+     */
+    public BrowserRuntimeProfile withSharedMemorySize(long bytes) {
+        if (bytes <= 0) {
+            throw new IllegalArgumentException("bytes should be a positive number, but was " + bytes);
+        }
+        this.sharedMemorySize = bytes;
+        return this;
+    }
+
+    /**
+     * Sets the IPC mode of the container (e.g. <code>host</code> or <code>shareable</code>). With the <code>host</code>
+     * IPC mode, the browser uses the shared memory of the host, which is what the Cypress documentation recommends
+     * when Chrome crashes in Docker. This gives the container access to the shared memory of all processes on the host.
+     *
+     * @param ipcMode the IPC mode
+     * @return the current instance
+     */
+    public BrowserRuntimeProfile withIpcMode(String ipcMode) {
+        if (ipcMode == null || ipcMode.trim().isEmpty()) {
+            throw new IllegalArgumentException("ipcMode should not be blank");
+        }
+        this.ipcMode = ipcMode;
+        return this;
+    }
+
+    /**
+     * Adds command line flags for the browser (e.g. <code>--disable-gpu</code>).
+     * <br>
+     * The flags are passed to Electron with the <code>ELECTRON_EXTRA_LAUNCH_ARGS</code> environment variable. Cypress
+     * has no such variable for Chrome and Firefox: add the flags to <code>launchOptions.args</code> in a
+     * <code>before:browser:launch</code> handler in the Cypress configuration for those browsers.
+     *
+     * @param flags the flags to add
+     * @return the current instance
+     */
+    public BrowserRuntimeProfile withLaunchFlags(String... flags) {
+        for (String flag : flags) {
+            if (flag == null || flag.trim().isEmpty()) {
+                throw new IllegalArgumentException("flag should not be blank");
+            }
+        }
+        this.launchFlags.addAll(Arrays.asList(flags));
+        return this;
+    }
+
+    /**
+     * Sets if Cypress records a video of every spec. This overrides the <code>video</code> setting of the Cypress
+     * configuration.
+     *
+     * @param video true to record videos, false otherwise
+     * @return the current instance
+     */
+    public BrowserRuntimeProfile withVideo(boolean video) {
+        this.video = video;
+        return this;
+    }
+
+    /**
+     * Sets the compression of the recorded videos, as the constant rate factor of ffmpeg: from <code>0</code> (no
+     * compression, the least CPU time) to <code>51</code> (the smallest files, the most CPU time). This overrides the
+     * <code>videoCompression</code> setting of the Cypress configuration and enables the video recording.
+     *
+     * @param constantRateFactor the constant rate factor
+     * @return the current instance
+     */
+    public BrowserRuntimeProfile withVideoCompression(int constantRateFactor) {
+        if (constantRateFactor < 0 || constantRateFactor > 51) {
+            throw new IllegalArgumentException("constantRateFactor should be between 0 and 51, but was " + constantRateFactor);
+        }
+        this.videoCompression = constantRateFactor;
+        this.video = true;
+        return this;
+    }
+
+    public Long getSharedMemorySize() {
+        return sharedMemorySize;
+    }
+
+    public String getIpcMode() {
+        return ipcMode;
+    }
+
+    public List<String> getLaunchFlags() {
+        return Collections.unmodifiableList(launchFlags);
+    }
+
+    /**
+     * @return the environment variables that apply the launch flags and video settings
+     */
+    Map<String, String> getEnvironment() {
+        Map<String, String> env = new LinkedHashMap<>();
+        if (!launchFlags.isEmpty()) {
+            env.put("ELECTRON_EXTRA_LAUNCH_ARGS", String.join(" ", launchFlags));
+        }
+        if (video != null) {
+            env.put("CYPRESS_video", String.valueOf(video));
+        }
+        if (videoCompression != null) {
+            env.put("CYPRESS_videoCompression", String.valueOf(videoCompression));
+        }
+        return env;
+    }
+
+    @Override
+    public String toString() {
+        return "BrowserRuntimeProfile{" +
+                "sharedMemorySize=" + sharedMemorySize +
+                ", ipcMode=" + ipcMode +
+                ", launchFlags=" + launchFlags +
+                ", video=" + video +
+                ", videoCompression=" + videoCompression +
+                '}';
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.model.CpuStatsConfig;
+import com.github.dockerjava.api.model.Statistics;
+
+import java.time.Duration;
+
+/**
+ * Follows the Docker stats of a running container and keeps its peak memory usage and average CPU usage.
+ */
+class ContainerResourceMonitor extends ResultCallback.Adapter<Statistics> {
+    private volatile long peakMemoryBytes;
+    private double cpuSum;
+    private int cpuSamples;
+
+    @Override
+    public void onNext(Statistics statistics) {
+        if (statistics.getMemoryStats() != null && statistics.getMemoryStats().getUsage() != null) {
+            peakMemoryBytes = Math.max(peakMemoryBytes, statistics.getMemoryStats().getUsage());
+        }
+        Double cpus = getCpus(statistics.getCpuStats(), statistics.getPreCpuStats());
+        if (cpus != null) {
+            synchronized (this) {
+                cpuSum += cpus;
+                cpuSamples++;
+            }
+        }
+    }
+
+    /**
+     * Calculates the number of CPUs used between two samples, the same way as <code>docker stats</code>.
+     */
+    static Double getCpus(CpuStatsConfig current, CpuStatsConfig previous) {
+        if (current == null || previous == null || current.getCpuUsage() == null || previous.getCpuUsage() == null
+                || current.getCpuUsage().getTotalUsage() == null || previous.getCpuUsage().getTotalUsage() == null
+                || current.getSystemCpuUsage() == null || previous.getSystemCpuUsage() == null) {
+            return null;
+        }
+        long cpuDelta = current.getCpuUsage().getTotalUsage() - previous.getCpuUsage().getTotalUsage();
+        long systemDelta = current.getSystemCpuUsage() - previous.getSystemCpuUsage();
+        if (cpuDelta < 0 || systemDelta <= 0) {
+            return null;
+        }
+        long onlineCpus = current.getOnlineCpus() != null ? current.getOnlineCpus() : 1;
+        return (double) cpuDelta / systemDelta * onlineCpus;
+    }
+
+    synchronized ContainerResourceUsage getUsage(Duration startupDuration) {
+        return new ContainerResourceUsage(peakMemoryBytes, cpuSamples > 0 ? cpuSum / cpuSamples : 0, startupDuration);
+    }
+
+    synchronized boolean hasSamples() {
+        return cpuSamples > 0 || peakMemoryBytes > 0;
+    }
+}
@@ -0,0 +1,116 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * The resources that a Cypress container used during an earlier run: the peak memory usage, the average number of
+ * CPUs and the time until the first spec started. It is stored as a JSON file next to the reports, so the
+ * {@link ShardPlanner} can use it for the next run.
+ */
+final class ContainerResourceUsage {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContainerResourceUsage.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final String FILE_NAME = ".testcontainers-cypress/container-resource-usage.json";
+
+    private final long peakMemoryBytes;
+    private final double averageCpus;
+    private final Duration startupDuration;
+
+    ContainerResourceUsage(long peakMemoryBytes, double averageCpus, Duration startupDuration) {
+        this.peakMemoryBytes = peakMemoryBytes;
+        this.averageCpus = averageCpus;
+        this.startupDuration = startupDuration;
+    }
+
+    long getPeakMemoryBytes() {
+        return peakMemoryBytes;
+    }
+
+    double getAverageCpus() {
+        return averageCpus;
+    }
+
+    Duration getStartupDuration() {
+        return startupDuration;
+    }
+
+    /**
+     * @return the usage with the highest value of each resource, so a plan based on it fits both
+     */
+    ContainerResourceUsage max(ContainerResourceUsage other) {
+        return new ContainerResourceUsage(Math.max(peakMemoryBytes, other.peakMemoryBytes),
+                                          Math.max(averageCpus, other.averageCpus),
+                                          startupDuration.compareTo(other.startupDuration) >= 0 ? startupDuration : other.startupDuration);
+    }
+
+    static Path getPath(Path reportsPath) {
+        return reportsPath.resolve(FILE_NAME);
+    }
+
+    static Optional<ContainerResourceUsage> read(Path reportsPath) {
+        Path path = getPath(reportsPath);
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try {
+            UsageFile file = OBJECT_MAPPER.readValue(path.toFile(), UsageFile.class);
+            return Optional.of(new ContainerResourceUsage(file.getPeakMemoryBytes(),
+                                                          file.getAverageCpus(),
+                                                          Duration.ofMillis(file.getStartupMillis())));
+        } catch (IOException e) {
+            LOGGER.debug("Unable to read the container resource usage from {}", path, e);
+            return Optional.empty();
+        }
+    }
+
+    void write(Path reportsPath) throws IOException {
+        Path path = getPath(reportsPath);
+        Files.createDirectories(path.getParent());
+        UsageFile file = new UsageFile();
+        file.setPeakMemoryBytes(peakMemoryBytes);
+        file.setAverageCpus(averageCpus);
+        file.setStartupMillis(startupDuration.toMillis());
+        OBJECT_MAPPER.writeValue(path.toFile(), file);
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private static class UsageFile {
+        private long peakMemoryBytes;
+        private double averageCpus;
+        private long startupMillis;
+
+        public long getPeakMemoryBytes() {
+            return peakMemoryBytes;
+        }
+
+        public void setPeakMemoryBytes(long peakMemoryBytes) {
+            this.peakMemoryBytes = peakMemoryBytes;
+        }
+
+        public double getAverageCpus() {
+            return averageCpus;
+        }
+
+        public void setAverageCpus(double averageCpus) {
+            this.averageCpus = averageCpus;
+        }
+
+        public long getStartupMillis() {
+            return startupMillis;
+        }
+
+        public void setStartupMillis(long startupMillis) {
+            this.startupMillis = startupMillis;
+        }
+    }
+}
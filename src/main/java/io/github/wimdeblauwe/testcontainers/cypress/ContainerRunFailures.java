@@ -0,0 +1,44 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Collects the failures of containers that ran in parallel, so they can be rethrown as a single exception once all
+ * containers are done.
+ */
+final class ContainerRunFailures {
+    private ContainerRunFailures() {
+    }
+
+    /**
+     * @return the given cause of an execution failure as an exception. Errors are thrown right away.
+     */
+    static Exception asException(Throwable throwable) {
+        if (throwable instanceof Exception) {
+            return (Exception) throwable;
+        }
+        throw (Error) throwable;
+    }
+
+    /**
+     * Throws the first failure, with the other failures added as suppressed exceptions.
+     */
+    static void rethrow(List<Exception> failures) throws InterruptedException, TimeoutException, IOException {
+        Exception first = failures.get(0);
+        for (Exception other : failures.subList(1, failures.size())) {
+            first.addSuppressed(other);
+        }
+        if (first instanceof InterruptedException) {
+            throw (InterruptedException) first;
+        } else if (first instanceof TimeoutException) {
+            throw (TimeoutException) first;
+        } else if (first instanceof IOException) {
+            throw (IOException) first;
+        } else if (first instanceof RuntimeException) {
+            throw (RuntimeException) first;
+        }
+        throw new IllegalStateException(first);
+    }
+}
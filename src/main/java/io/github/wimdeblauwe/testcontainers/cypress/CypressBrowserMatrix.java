@@ -0,0 +1,128 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs the same Cypress tests on multiple browsers, using one container per browser. The containers run in parallel,
+ * so the total duration is close to the duration of the slowest browser.
+ * <p>
+ * Each container gets its sources {@link CypressContainer#withCopiedSources() copied} into it, and the reports of each
+ * browser are copied back into a subdirectory (named after the browser) of the reports path.
+ * <p>
+ * Example usage:
+ * <pre>
+ * CypressBrowserMatrixResults results = new CypressBrowserMatrix(() -&gt; new CypressContainer().withLocalServerPort(port))
+ *         .withBrowsers("electron", "chrome", "firefox")
+ *         .run();
+ * </pre>
+ */
+public class CypressBrowserMatrix {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CypressBrowserMatrix.class);
+
+    private final Supplier<CypressContainer> containerFactory;
+    private final Set<String> browsers = new LinkedHashSet<>();
+
+    /**
+     * @param containerFactory creates a new (not started) container for each browser. The browser is set by the matrix.
+     */
+    public CypressBrowserMatrix(Supplier<CypressContainer> containerFactory) {
+        if (containerFactory == null) {
+            throw new IllegalArgumentException("containerFactory should not be null");
+        }
+        this.containerFactory = containerFactory;
+    }
+
+    /**
+     * Sets the browsers to run the tests on.
+     *
+     * @param browsers the names of the browsers (e.g. chrome, firefox, electron, ...)
+     * @return the current instance
+     */
+    public CypressBrowserMatrix withBrowsers(String... browsers) {
+        if (browsers == null || browsers.length == 0) {
+            throw new IllegalArgumentException("browsers should not be empty");
+        }
+        for (String browser : browsers) {
+            if (browser == null || browser.trim().isEmpty()) {
+                throw new IllegalArgumentException("browser should not be blank");
+            }
+        }
+        this.browsers.clear();
+        this.browsers.addAll(Arrays.asList(browsers));
+        return this;
+    }
+
+    /**
+     * Runs the tests on all browsers in parallel and waits until they are all done.
+     *
+     * @return the results per browser
+     * @throws InterruptedException When the current thread was interrupted waiting on the Cypress tests to finish
+     * @throws TimeoutException     When the tests of a browser did not finish within the maximum total test duration
+     * @throws IOException          When there was a problem parsing the Cypress test reports
+     */
+    public CypressBrowserMatrixResults run() throws InterruptedException, TimeoutException, IOException {
+        if (browsers.isEmpty()) {
+            throw new IllegalStateException("No browsers configured, use withBrowsers() to set them");
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(browsers.size(), runnable -> {
+            Thread thread = new Thread(runnable, "cypress-browser-matrix");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Map<String, Future<CypressTestResults>> futures = new LinkedHashMap<>();
+            for (String browser : browsers) {
+                futures.put(browser, executorService.submit(() -> runOnBrowser(browser)));
+            }
+
+            Map<String, CypressTestResults> resultsByBrowser = new LinkedHashMap<>();
+            List<Exception> failures = new ArrayList<>();
+            for (Map.Entry<String, Future<CypressTestResults>> entry : futures.entrySet()) {
+                try {
+                    resultsByBrowser.put(entry.getKey(), entry.getValue().get());
+                } catch (ExecutionException e) {
+                    LOGGER.warn("Running the Cypress tests on {} failed", entry.getKey(), e.getCause());
+                    failures.add(ContainerRunFailures.asException(e.getCause()));
+                }
+            }
+            if (!failures.isEmpty()) {
+                ContainerRunFailures.rethrow(failures);
+            }
+            return new CypressBrowserMatrixResults(resultsByBrowser);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private CypressTestResults runOnBrowser(String browser) throws InterruptedException, TimeoutException, IOException {
+        try (CypressContainer container = containerFactory.get()) {
+            Path reportsPath = container.getGatherTestResultsStrategy().getReportsPath().resolve(browser);
+            container.withBrowser(browser)
+                     .withReportsCopiedTo(reportsPath);
+            LOGGER.info("Starting Cypress tests on {}", browser);
+            container.start();
+            if (container.isDeferredRun()) {
+                container.runTests();
+            }
+            return container.getTestResults();
+        }
+    }
+}
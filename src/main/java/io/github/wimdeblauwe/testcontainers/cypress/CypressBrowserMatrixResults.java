@@ -0,0 +1,92 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The results of running the Cypress tests with a {@link CypressBrowserMatrix}.
+ */
+public class CypressBrowserMatrixResults {
+    private final Map<String, CypressTestResults> resultsByBrowser;
+
+    CypressBrowserMatrixResults(Map<String, CypressTestResults> resultsByBrowser) {
+        this.resultsByBrowser = Collections.unmodifiableMap(new LinkedHashMap<>(resultsByBrowser));
+    }
+
+    /**
+     * @return the browsers, in the order they were configured
+     */
+    public Set<String> getBrowsers() {
+        return resultsByBrowser.keySet();
+    }
+
+    /**
+     * @return the test results, keyed by browser
+     */
+    public Map<String, CypressTestResults> getResultsByBrowser() {
+        return resultsByBrowser;
+    }
+
+    /**
+     * @param browser the name of the browser
+     * @return the test results of the given browser
+     */
+    public CypressTestResults getResults(String browser) {
+        CypressTestResults results = resultsByBrowser.get(browser);
+        if (results == null) {
+            throw new IllegalArgumentException("No results for browser " + browser + ", available browsers are " + getBrowsers());
+        }
+        return results;
+    }
+
+    public int getNumberOfFailingTests() {
+        return resultsByBrowser.values().stream()
+                               .mapToInt(CypressTestResults::getNumberOfFailingTests)
+                               .sum();
+    }
+
+    /**
+     * Returns the tests that failed on at least one browser, together with the browsers they failed on.
+     * The key of the map is the suite title and the test description, separated by <code>" &gt; "</code>.
+     *
+     * @return the browsers each failing test failed on
+     */
+    public Map<String, Set<String>> getFailingBrowsersByTest() {
+        Map<String, Set<String>> failingBrowsersByTest = new LinkedHashMap<>();
+        for (Map.Entry<String, CypressTestResults> entry : resultsByBrowser.entrySet()) {
+            for (CypressTestSuite suite : entry.getValue().getSuites()) {
+                for (CypressTest test : suite.getTests()) {
+                    if (!test.isSuccess()) {
+                        failingBrowsersByTest.computeIfAbsent(CypressTestResults.getTestKey(suite.getTitle(), test.getDescription()), key -> new LinkedHashSet<>())
+                                             .add(entry.getKey());
+                    }
+                }
+            }
+        }
+        return failingBrowsersByTest;
+    }
+
+    @Override
+    public String toString() {
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, CypressTestResults> entry : resultsByBrowser.entrySet()) {
+            CypressTestResults results = entry.getValue();
+            lines.add(String.format("%s: %s run, %s passing, %s failing",
+                                    entry.getKey(),
+                                    results.getNumberOfTests(),
+                                    results.getNumberOfPassingTests(),
+                                    results.getNumberOfFailingTests()));
+        }
+        Map<String, Set<String>> failingBrowsersByTest = getFailingBrowsersByTest();
+        if (!failingBrowsersByTest.isEmpty()) {
+            lines.add("Failing tests:");
+            failingBrowsersByTest.forEach((test, browsers) -> lines.add("  " + test + " failed on " + browsers));
+        }
+        return String.join("\n", lines);
+    }
+}
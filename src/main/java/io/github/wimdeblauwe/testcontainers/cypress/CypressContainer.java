@@ -1,27 +1,60 @@
 package io.github.wimdeblauwe.testcontainers.cypress;
 
+import com.github.dockerjava.api.command.ExecCreateCmdResponse;
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.exception.NotFoundException;
 import com.github.dockerjava.api.model.Bind;
+import com.github.dockerjava.api.model.HostConfig;
+import com.github.dockerjava.api.model.Volume;
 import io.github.wimdeblauwe.testcontainers.cypress.util.FilenameUtils;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.testcontainers.Testcontainers;
 import org.testcontainers.containers.BindMode;
 import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.output.FrameConsumerResultCallback;
 import org.testcontainers.containers.output.OutputFrame;
+import org.testcontainers.containers.wait.strategy.Wait;
 import org.testcontainers.images.RemoteDockerImage;
 import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.MountableFile;
 
 import javax.annotation.Nonnull;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 public class CypressContainer extends GenericContainer<CypressContainer> {
     private static final Logger LOGGER = LoggerFactory.getLogger(CypressContainer.class);
@@ -33,22 +66,67 @@ public class CypressContainer extends GenericContainer<CypressContainer> {
     private static final String DEFAULT_BASE_URL = "http://host.testcontainers.internal";
     private static final String DEFAULT_URL = DEFAULT_BASE_URL + ":" + DEFAULT_PORT;
     private static final String DEFAULT_CLASSPATH_RESOURCE_PATH = "e2e";
+    private static final String WORKING_DIRECTORY = "/e2e";
     private static final Duration DEFAULT_MAX_TOTAL_TEST_DURATION = Duration.ofMinutes(10);
     private static final GatherTestResultsStrategy DEFAULT_GATHER_TEST_RESULTS_STRATEGY = new MochawesomeGatherTestResultsStrategy();
     private static final boolean DEFAULT_AUTO_CLEAN_REPORTS = true;
+    private static final int DEFAULT_REPORTS_RETENTION = 10;
+    private static final String READY_MESSAGE = "testcontainers-cypress: ready to run tests";
+    private static final Duration DEFAULT_STARTUP_TIMEOUT = Duration.ofMinutes(5);
+    private static final long WATCHDOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final String CYPRESS_CACHE_FOLDER = "/root/.cache/Cypress";
+    private static final String CYPRESS_CACHE_VOLUME_PREFIX = "testcontainers-cypress-cache-";
+    private static final int SHORT_IMAGE_ID_LENGTH = 12;
+    private static final String PAGE_METRICS_SUPPORT_FILE = "testcontainers-page-metrics.js";
+    private static final String BACKEND_LATENCY_SUPPORT_FILE = "testcontainers-backend-latency.js";
+    static final String WORKER_REPORTS_PREFIX = "worker-";
+    private static final int WORKER_FIRST_DISPLAY = 100;
+    private static final String SCREENSHOTS_FOLDER = "cypress/screenshots";
+    private static final String VIDEOS_FOLDER = "cypress/videos";
+    static final String CONFIG_HASH_LABEL = "io.github.wimdeblauwe.testcontainers-cypress.config-hash";
+    private static final String REUSED_REPORTS_PREFIX = "reused-";
+    private static final List<String> DEPENDENCY_FILES = Arrays.asList("package.json", "package-lock.json", "npm-shrinkwrap.json", "yarn.lock", "pnpm-lock.yaml");
 
-    private final CountDownLatch countDownLatch = new CountDownLatch(1);
+    private final String imageName;
+    private volatile CountDownLatch countDownLatch = new CountDownLatch(1);
+    private volatile CypressContainerOutputFollower outputFollower;
+    private final List<CypressOutputListener> outputListeners = new CopyOnWriteArrayList<>();
 
     private String baseUrl = DEFAULT_URL;
     private String browser;
     private String spec;
+    private List<String> specs;
+    private SpecOrderingStrategy specOrderingStrategy;
+    private volatile List<String> orderedSpecs;
+    private int workers = 1;
+    private volatile List<List<String>> workerSpecs;
     private boolean record; // https://docs.cypress.io/guides/guides/command-line.html#cypress-run-record-key-lt-record-key-gt
     private String recordKey; // Optional key for recordings, can also use CYPRESS_RECORD_KEY environment variable instead
     private String classpathResourcePath = DEFAULT_CLASSPATH_RESOURCE_PATH;
     private Duration maximumTotalTestDuration = DEFAULT_MAX_TOTAL_TEST_DURATION;
     private GatherTestResultsStrategy gatherTestResultsStrategy = DEFAULT_GATHER_TEST_RESULTS_STRATEGY;
     private boolean autoCleanReports = DEFAULT_AUTO_CLEAN_REPORTS;
+    private int reportsRetention = DEFAULT_REPORTS_RETENTION;
+    private volatile Path runReportsPath;
     private String npmRunArguments = "";
+    private boolean copySources;
+    private List<String> copySourcesExcludes = SourcesArchive.defaultExcludes();
+    private boolean deferredRun;
+    private boolean localReuse;
+    private String configHash;
+    private Path reportsCopyPath;
+    private boolean directHostAccess;
+    private String directHost;
+    private boolean persistentCypressCache;
+    private boolean pageMetrics;
+    private boolean backendLatency;
+    private BackendLatencyProxy backendLatencyProxy;
+    private boolean componentTesting;
+    private BrowserRuntimeProfile browserRuntimeProfile;
+    private RunTimeline.TrackRecorder timelineRecorder;
+    private DockerEndpoint dockerEndpoint;
+    private Duration outputStallTimeout;
+    private Duration maximumSpecDuration;
 
     public CypressContainer() {
         this(CYPRESS_IMAGE + ":" + CYPRESS_VERSION);
@@ -56,37 +134,217 @@ public class CypressContainer extends GenericContainer<CypressContainer> {
 
     public CypressContainer(String dockerImageName) {
         super(dockerImageName);
-        setWorkingDirectory("/e2e");
+        this.imageName = dockerImageName;
+        setWorkingDirectory(WORKING_DIRECTORY);
     }
 
     public CypressContainer(Future<String> dockerImageName) {
         super(dockerImageName);
-        setWorkingDirectory("/e2e");
+        this.imageName = null;
+        setWorkingDirectory(WORKING_DIRECTORY);
     }
 
     public CypressContainer(RemoteDockerImage remoteDockerImage) {
         super(remoteDockerImage);
-        setWorkingDirectory("/e2e");
+        this.imageName = null;
+        setWorkingDirectory(WORKING_DIRECTORY);
     }
 
     public CypressContainer(DockerImageName dockerImageName) {
         super(dockerImageName);
-        setWorkingDirectory("/e2e");
+        this.imageName = dockerImageName.asCanonicalNameString();
+        setWorkingDirectory(WORKING_DIRECTORY);
     }
 
     @Override
     protected void configure() {
-        addEnv("CYPRESS_baseUrl", baseUrl);
-        withClasspathResourceMapping(classpathResourcePath, "/e2e", BindMode.READ_WRITE);
+        if (workers > 1) {
+            checkReportsPathSupported("Running multiple workers");
+        }
+        if (reportsCopyPath != null) {
+            checkReportsPathSupported("Copying the reports");
+        }
+        if (!deferredRun) {
+            orderSpecs();
+        }
+        if (directHostAccess && !componentTesting && directHost == null) {
+            configureDirectHostAccess();
+        }
+        if (backendLatency && !componentTesting) {
+            startBackendLatencyProxy();
+        }
+        if (!deferredRun && !componentTesting) {
+            checkBaseUrlReachableFromDockerEndpoint();
+            addEnv("CYPRESS_baseUrl", getEffectiveBaseUrl());
+        }
+        if (!copySources) {
+            withClasspathResourceMapping(classpathResourcePath, WORKING_DIRECTORY, BindMode.READ_WRITE);
+        }
+        if (localReuse) {
+            // The reports directory of a reused container is named after the hash, so it is bound afterwards
+            configHash = calculateConfigHash();
+            withLabel(CONFIG_HASH_LABEL, configHash);
+        }
+        if (!copySources && useRunDirectories()) {
+            bindRunDirectory();
+        }
+        if (browserRuntimeProfile != null) {
+            configureBrowserRuntimeProfile(browserRuntimeProfile);
+        }
+        if (pageMetrics) {
+            copySupportFile(PAGE_METRICS_SUPPORT_FILE);
+        }
+        if (backendLatencyProxy != null) {
+            copySupportFile(BACKEND_LATENCY_SUPPORT_FILE);
+        }
+        if (deferredRun) {
+            waitingFor(Wait.forLogMessage(".*" + READY_MESSAGE + ".*", 1)
+                           .withStartupTimeout(DEFAULT_STARTUP_TIMEOUT));
+        }
         withCreateContainerCmdModifier(cmd -> cmd.withEntrypoint("bash", "-c", buildEntryPoint()));
+        if (persistentCypressCache) {
+            addEnv("CYPRESS_CACHE_FOLDER", CYPRESS_CACHE_FOLDER);
+            withCreateContainerCmdModifier(cmd -> {
+                String volumeName = getCypressCacheVolumeName(cmd.getImage(), getImageId(cmd.getImage()));
+                LOGGER.debug("Using volume {} as Cypress cache folder", volumeName);
+                HostConfig hostConfig = cmd.getHostConfig();
+                List<Bind> binds = new ArrayList<>();
+                if (hostConfig.getBinds() != null) {
+                    Collections.addAll(binds, hostConfig.getBinds());
+                }
+                binds.add(new Bind(volumeName, new Volume(CYPRESS_CACHE_FOLDER)));
+                hostConfig.withBinds(binds);
+            });
+        }
+    }
+
+    @Override
+    protected void containerIsCreated(String containerId) {
+        super.containerIsCreated(containerId);
+        if (copySources) {
+            copySourcesToContainer(containerId);
+        }
+    }
+
+    @Override
+    protected void containerIsStarting(InspectContainerResponse containerInfo, boolean reused) {
+        super.containerIsStarting(containerInfo, reused);
+        if (localReuse) {
+            if (reused) {
+                LOGGER.info("Reusing Cypress container {} with configuration hash {}", containerInfo.getId(), configHash);
+            } else {
+                LOGGER.info("Created Cypress container {} for reuse with configuration hash {}", containerInfo.getId(), configHash);
+            }
+        }
     }
 
     @Override
     public void start() {
-        super.start();
+        if (dockerEndpoint != null) {
+            dockerClient = dockerEndpoint.getDockerClient();
+            pullImageOnDockerEndpoint();
+        }
+        if (backendLatency && !componentTesting) {
+            if (directHostAccess) {
+                // The proxy only listens on the address that the container uses to reach the host
+                configureDirectHostAccess();
+            }
+            startBackendLatencyProxy();
+            if (directHost == null) {
+                Testcontainers.exposeHostPorts(backendLatencyProxy.getPort());
+            }
+        }
+        if (timelineRecorder != null) {
+            timelineRecorder.beginPhase(deferredRun ? "start container and npm install" : "start container");
+        }
+        try {
+            super.start();
+        } finally {
+            if (timelineRecorder != null) {
+                timelineRecorder.endPhase();
+            }
+        }
+
+        if (!deferredRun) {
+            if (timelineRecorder != null) {
+                timelineRecorder.beginPhase("npm install and Cypress start");
+            }
+            CypressContainerOutputFollower follower = new CypressContainerOutputFollower(new CountDownLatch(getNumberOfCypressRuns()), outputListeners);
+            useOutputFollower(follower);
+            followOutput(follower);
+        }
+    }
+
+    /**
+     * Runs the Cypress tests in a container that was started {@link #withDeferredRun() with a deferred run}.
+     * <br>
+     * The tests are started in the background using the current base URL, browser and spec settings.
+     * Use {@link #getTestResults()} to wait for the results.
+     */
+    public void runTests() {
+        if (!deferredRun) {
+            throw new IllegalStateException("Tests can only be run explicitly when the container uses a deferred run");
+        }
+        if (!isRunning()) {
+            throw new IllegalStateException("The container should be started before running the tests");
+        }
 
-        CypressContainerOutputFollower follower = new CypressContainerOutputFollower(countDownLatch);
-        followOutput(follower);
+        if (!componentTesting) {
+            checkBaseUrlReachableFromDockerEndpoint();
+        }
+        orderSpecs();
+        if (backendLatencyProxy != null) {
+            backendLatencyProxy.reset();
+        }
+        CountDownLatch latch = new CountDownLatch(getNumberOfCypressRuns());
+        if (timelineRecorder != null) {
+            timelineRecorder.beginPhase("Cypress start");
+        }
+
+        String command = buildRunCommand();
+        LOGGER.debug("Running Cypress tests with '{}'", command);
+        ExecCreateCmdResponse exec = dockerClient.execCreateCmd(getContainerId())
+                                                 .withCmd("bash", "-c", command)
+                                                 .withEnv(componentTesting ? Collections.emptyList() : Collections.singletonList("CYPRESS_baseUrl=" + getEffectiveBaseUrl()))
+                                                 .withAttachStdout(true)
+                                                 .withAttachStderr(true)
+                                                 .exec();
+        FrameConsumerResultCallback callback = new FrameConsumerResultCallback() {
+            @Override
+            public void onComplete() {
+                super.onComplete();
+                while (latch.getCount() > 0) {
+                    latch.countDown();
+                }
+            }
+        };
+        CypressContainerOutputFollower follower = new CypressContainerOutputFollower(latch, outputListeners);
+        useOutputFollower(follower);
+        callback.addConsumer(OutputFrame.OutputType.STDOUT, follower);
+        callback.addConsumer(OutputFrame.OutputType.STDERR, follower);
+        dockerClient.execStartCmd(exec.getId()).exec(callback);
+    }
+
+    @Override
+    public void stop() {
+        String containerId = getContainerId();
+        if (dockerEndpoint != null && containerId != null) {
+            // The resource reaper of Testcontainers only knows the Docker daemon of Testcontainers
+            try {
+                dockerClient.removeContainerCmd(containerId).withForce(true).withRemoveVolumes(true).exec();
+            } catch (NotFoundException e) {
+                LOGGER.debug("Container {} was already removed from Docker endpoint {}", containerId, dockerEndpoint);
+            }
+        }
+        super.stop();
+        Path runDirectory = runReportsPath;
+        if (runDirectory != null) {
+            ReportRunDirectories.release(runDirectory);
+        }
+        if (backendLatencyProxy != null) {
+            backendLatencyProxy.stop();
+            backendLatencyProxy = null;
+        }
     }
 
     /**
@@ -119,6 +377,237 @@ public class CypressContainer extends GenericContainer<CypressContainer> {
         return self();
     }
 
+    /**
+     * Run the tests against an application that runs in a container on the given network. The Cypress container joins
+     * the network and uses <code>http://&lt;networkAlias&gt;:&lt;port&gt;</code> as base URL, so the traffic stays on the
+     * Docker network and no port forwarding is needed.
+     *
+     * @param network      the network the application container is attached to
+     * @param networkAlias the network alias of the application container
+     * @param port         the port the application listens on inside its container
+     * @return the current instance
+     */
+    public CypressContainer withApplicationInNetwork(Network network, String networkAlias, int port) {
+        if (network == null) {
+            throw new IllegalArgumentException("network should not be null");
+        }
+        if (networkAlias == null || networkAlias.trim().isEmpty()) {
+            throw new IllegalArgumentException("networkAlias should not be blank");
+        }
+        if (port <= 0) {
+            throw new IllegalArgumentException("port should be a positive integer, but was " + port);
+        }
+        withNetwork(network);
+        this.baseUrl = "http://" + networkAlias + ":" + port;
+        return self();
+    }
+
+    /**
+     * Run the tests against the given application container. The Cypress container joins the network of the
+     * application container and uses its first network alias to build the base URL.
+     *
+     * @param application the container of the application, which should be attached to a network and have a network alias
+     * @param port        the port the application listens on inside its container
+     * @return the current instance
+     * @see #withApplicationInNetwork(Network, String, int)
+     */
+    public CypressContainer withApplication(GenericContainer<?> application, int port) {
+        if (application == null) {
+            throw new IllegalArgumentException("application should not be null");
+        }
+        if (application.getNetwork() == null) {
+            throw new IllegalArgumentException("application should be attached to a network");
+        }
+        List<String> networkAliases = application.getNetworkAliases();
+        if (networkAliases == null || networkAliases.isEmpty()) {
+            throw new IllegalArgumentException("application should have a network alias");
+        }
+        return withApplicationInNetwork(application.getNetwork(), networkAliases.get(0), port);
+    }
+
+    /**
+     * Reach the server on the host directly instead of through <code>http://host.testcontainers.internal</code>, which
+     * sends every request through the port forwarding container of Testcontainers.
+     * <br>
+     * This is only possible with a native Docker daemon on Linux, when the JVM does not run in a container itself.
+     * The container uses the host network and connects
+     * to <code>localhost</code>, or, if the container is attached to a network, connects to the gateway IP address of
+     * the Docker bridge network (this requires the server to listen on all interfaces). In all other cases, this
+     * falls back to <code>http://host.testcontainers.internal</code>.
+     * <br>
+     * This only applies when the base URL is set via {@link #withLocalServerPort(int)} (or the default is used).
+     *
+     * @return the current instance
+     */
+    public CypressContainer withDirectHostAccess() {
+        this.directHostAccess = true;
+        return self();
+    }
+
+    /**
+     * Keep the Cypress cache folder (which contains the Cypress binary and its verification state) on a named Docker
+     * volume that is shared by all containers using the same Cypress version. The volume is named after the tag of the
+     * Docker image (e.g. <code>testcontainers-cypress-cache-15.10.0</code>) and is initialized from the image on first
+     * use. Later containers find a verified binary and skip the verification that Cypress does on first start.
+     * <br>
+     * The volume is not removed after the tests. Use <code>docker volume rm</code> to remove it.
+     *
+     * @return the current instance
+     */
+    public CypressContainer withPersistentCypressCache() {
+        this.persistentCypressCache = true;
+        return self();
+    }
+
+    /**
+     * Collect the performance metrics of every page that is loaded during a test in the browser: Navigation Timing
+     * (time to first byte, DOM content loaded, load), first contentful paint, largest contentful paint, cumulative
+     * layout shift and interaction to next paint. The metrics are available via {@link CypressTest#getPageMetrics()}.
+     * <br>
+     * This copies the support file <code>cypress/support/testcontainers-page-metrics.js</code> into the container.
+     * It should be imported from the support file of the tests (e.g. <code>cypress/support/e2e.js</code>) with
+     * <code>import './testcontainers-page-metrics'</code>. The metrics are stored in the context of the tests in the
+     * Mochawesome reports.
+     * <br>
+     * Not all browsers support all metrics. Metrics that are not supported are <code>null</code>.
+     *
+     * @return the current instance
+     */
+    public CypressContainer withPageMetrics() {
+        this.pageMetrics = true;
+        return self();
+    }
+
+    /**
+     * Measure the latency and payload sizes of the requests that the browser makes to the application, per test. The
+     * requests go through a proxy in this JVM, which forwards them to the base URL. The latency is available via
+     * {@link CypressTest#getBackendLatency()}, so a test that got slower can be attributed to the browser or to the
+     * application.
+     * <br>
+     * This copies the support file <code>cypress/support/testcontainers-backend-latency.js</code> into the container.
+     * It should be imported from the support file of the tests (e.g. <code>cypress/support/e2e.js</code>) with
+     * <code>import './testcontainers-backend-latency'</code>. It adds the titles of the running test to the requests
+     * in headers, which the proxy removes again.
+     * <br>
+     * The application should be reachable from this JVM: a base URL of
+     * {@link #withApplicationInNetwork(Network, String, int) an application in a Docker network} does not work.
+     * Requests made with <code>cy.request()</code> do not go through the browser and are not attributed to a test.
+     *
+     * @return the current instance
+     */
+    public CypressContainer withBackendLatency() {
+        this.backendLatency = true;
+        return self();
+    }
+
+    /**
+     * Run the component tests with <code>cypress run --component</code> instead of the end-to-end tests. Component tests
+     * mount the components in the browser with the dev server of the project (e.g. Vite or webpack), so no application
+     * needs to be running: no base URL is passed to Cypress and the base URL, port and host access settings are
+     * ignored.
+     * <br>
+     * The results are gathered with the {@link GatherTestResultsStrategy} like for end-to-end tests. When the specs are
+     * not set explicitly for {@link #withWorkers(int) workers}, the specs are found with the default component spec
+     * pattern of Cypress (<code>**&#47;*.cy.{js,jsx,ts,tsx}</code>, outside of <code>cypress/e2e</code>).
+     *
+     * @return the current instance
+     */
+    public CypressContainer withComponentTesting() {
+        this.componentTesting = true;
+        return self();
+    }
+
+    /**
+     * Runs the container on the given Docker daemon instead of on the Docker daemon of Testcontainers. The image is
+     * pulled on that daemon when it is not there yet, and the sources are {@link #withCopiedSources() copied} into the
+     * container, since the daemon can not bind mount directories of this machine.
+     * <br>
+     * The port forwarding of Testcontainers (<code>host.testcontainers.internal</code>) is not available on another
+     * daemon, so the base URL should be set with {@link #withBaseUrl(String)} to an address that the Docker host can
+     * reach. The container is removed when it is stopped, but is not removed by the resource reaper of Testcontainers
+     * when the JVM crashes.
+     *
+     * @param dockerEndpoint the Docker daemon to run the container on
+     * @return the current instance
+     */
+    public CypressContainer withDockerEndpoint(DockerEndpoint dockerEndpoint) {
+        if (dockerEndpoint == null) {
+            throw new IllegalArgumentException("dockerEndpoint should not be null");
+        }
+        this.dockerEndpoint = dockerEndpoint;
+        if (!copySources) {
+            withCopiedSources();
+        }
+        // The image is pulled on the Docker endpoint, not on the Docker daemon of Testcontainers
+        withImagePullPolicy(imageName -> false);
+        return self();
+    }
+
+    /**
+     * Sets the runtime settings of the browser: the shared memory and IPC mode of the container, extra launch flags of
+     * the browser and the video recording settings. Use {@link BrowserRuntimeProfile#ciThroughput()} for settings that
+     * are tuned for running the tests on CI.
+     *
+     * @param profile the browser runtime profile
+     * @return the current instance
+     */
+    public CypressContainer withBrowserRuntimeProfile(BrowserRuntimeProfile profile) {
+        if (profile == null) {
+            throw new IllegalArgumentException("profile should not be null");
+        }
+        this.browserRuntimeProfile = profile;
+        return self();
+    }
+
+    /**
+     * Records the setup phases, specs and tests of the runs of this container on a track of the given timeline.
+     *
+     * @param timeline the timeline to record on
+     * @return the current instance
+     * @see #withRunTimeline(RunTimeline, String)
+     */
+    public CypressContainer withRunTimeline(RunTimeline timeline) {
+        return withRunTimeline(timeline, "cypress");
+    }
+
+    /**
+     * Records the setup phases, specs and tests of the runs of this container on a track of the given timeline, so the
+     * time spent in each of them can be seen in <code>chrome://tracing</code> or Perfetto.
+     *
+     * @param timeline the timeline to record on
+     * @param track    the name of the track of this container
+     * @return the current instance
+     */
+    public CypressContainer withRunTimeline(RunTimeline timeline, String track) {
+        if (timeline == null) {
+            throw new IllegalArgumentException("timeline should not be null");
+        }
+        if (track == null || track.trim().isEmpty()) {
+            throw new IllegalArgumentException("track should not be blank");
+        }
+        if (timelineRecorder != null) {
+            outputListeners.remove(timelineRecorder);
+        }
+        timelineRecorder = timeline.newTrack(track);
+        outputListeners.add(timelineRecorder);
+        return self();
+    }
+
+    /**
+     * Adds a listener that receives the output of the Cypress run line by line, together with the start of every
+     * spec and the end of every run.
+     *
+     * @param listener the listener to add
+     * @return the current instance
+     */
+    public CypressContainer withOutputListener(CypressOutputListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("listener should not be null");
+        }
+        this.outputListeners.add(listener);
+        return self();
+    }
+
     /**
      * Sets the browser to use when running the tests.
      *
@@ -150,6 +639,79 @@ public class CypressContainer extends GenericContainer<CypressContainer> {
         }
 
         this.spec = spec;
+        this.specs = null;
+        return self();
+    }
+
+    /**
+     * Sets the specs to run, in the given order. This replaces the spec set with {@link #withSpec(String)}.
+     * <p>
+     * Cypress itself always runs the specs it finds in alphabetical order. To keep the given order, every spec is run
+     * with its own <code>cypress run</code>, one after the other, which adds the start up time of Cypress per spec.
+     *
+     * @param specs the paths of the specs (e.g. <code>cypress/e2e/todos.cy.js</code>), relative to the project
+     * @return the current instance
+     * @see #withSpecOrderingStrategy(SpecOrderingStrategy)
+     */
+    public CypressContainer withSpecs(List<String> specs) {
+        if (specs == null || specs.isEmpty()) {
+            throw new IllegalArgumentException("specs should not be empty");
+        }
+        for (String spec : specs) {
+            if (spec == null || spec.trim().isEmpty()) {
+                throw new IllegalArgumentException("spec should not be blank");
+            }
+        }
+
+        this.specs = new ArrayList<>(specs);
+        this.spec = null;
+        return self();
+    }
+
+    /**
+     * Runs the specs with the given number of <code>cypress run</code> processes at the same time, inside this single
+     * container. This gives more parallelism per GB of memory than running multiple containers, since the image, the
+     * Node runtime and the container overhead are shared.
+     * <p>
+     * The specs of {@link #withSpecs(List)}, or the specs found with the default spec pattern
+     * (<code>cypress/e2e/**&#47;*.cy.{js,jsx,ts,tsx}</code>) in the sources, are split over the workers so each worker
+     * gets about the same total duration, based on the reports of earlier runs. Every worker gets its own X display
+     * and writes its Mochawesome reports into its own <code>worker-&lt;n&gt;</code> subdirectory of the reports. The
+     * results of the workers are merged. The screenshots and videos in the default <code>cypress/screenshots</code>
+     * and <code>cypress/videos</code> folders are removed once before the workers start, instead of by every worker.
+     * <p>
+     * This requires the Mochawesome reporter and a {@link GatherTestResultsStrategy} that
+     * {@link GatherTestResultsStrategy#supportsReportsPath() supports a reports path}, otherwise the container fails
+     * to start. Each browser needs shared memory, so a larger
+     * <code>/dev/shm</code> may be needed for more than a few workers.
+     *
+     * @param workers the number of <code>cypress run</code> processes
+     * @return the current instance
+     */
+    public CypressContainer withWorkers(int workers) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("workers should be a positive integer, but was " + workers);
+        }
+        this.workers = workers;
+        return self();
+    }
+
+    /**
+     * Sets the strategy that orders the specs of {@link #withSpecs(List)} before each run. Use a
+     * {@link HistoricalSpecOrderingStrategy} to run the specs that failed in an earlier run first, followed by the
+     * slowest specs, so failures are known as early as possible.
+     * <br>
+     * Each spec is run with its own <code>cypress run</code>, as Cypress sorts the specs of a single run. For the
+     * same reason, the strategy can not be combined with {@link #withWorkers(int) multiple workers}.
+     *
+     * @param specOrderingStrategy the strategy to order the specs with
+     * @return the current instance
+     */
+    public CypressContainer withSpecOrderingStrategy(SpecOrderingStrategy specOrderingStrategy) {
+        if (specOrderingStrategy == null) {
+            throw new IllegalArgumentException("specOrderingStrategy should not be null");
+        }
+        this.specOrderingStrategy = specOrderingStrategy;
         return self();
     }
 
@@ -217,6 +779,45 @@ public class CypressContainer extends GenericContainer<CypressContainer> {
         return self();
     }
 
+    /**
+     * Set the maximum time without any output from Cypress. When no output arrives for that long, the run is
+     * considered hung: the container is stopped, the results of the specs that did finish are gathered and a
+     * {@link CypressRunStalledException} is thrown from the {@link #getTestResults()} method.
+     * <br>
+     * The timeout only applies once Cypress started running the first spec, so <code>npm install</code> and the
+     * startup of Cypress are only limited by the {@link #withMaximumTotalTestDuration(Duration) maximumTotalTestDuration}.
+     * <br>
+     * By default, only the {@link #withMaximumTotalTestDuration(Duration) maximumTotalTestDuration} applies.
+     *
+     * @param duration the maximum duration without output
+     * @return the current instance
+     */
+    public CypressContainer withOutputStallTimeout(Duration duration) {
+        if (duration == null || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("duration should be a positive duration, but was " + duration);
+        }
+        outputStallTimeout = duration;
+        return self();
+    }
+
+    /**
+     * Set the maximum duration of a single spec. When a spec runs longer, the container is stopped, the results of
+     * the specs that did finish are gathered and a {@link CypressRunStalledException} is thrown from the
+     * {@link #getTestResults()} method.
+     * <br>
+     * By default, only the {@link #withMaximumTotalTestDuration(Duration) maximumTotalTestDuration} applies.
+     *
+     * @param duration the maximum duration of a spec
+     * @return the current instance
+     */
+    public CypressContainer withMaximumSpecDuration(Duration duration) {
+        if (duration == null || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("duration should be a positive duration, but was " + duration);
+        }
+        maximumSpecDuration = duration;
+        return self();
+    }
+
     /**
      * Set the {@link GatherTestResultsStrategy} object that should be used for gathering information
      * on the Cypress tests results.
@@ -243,11 +844,23 @@ public class CypressContainer extends GenericContainer<CypressContainer> {
     }
 
     /**
-     * Set if the Cypress test reports should be automatically cleaned before each run or not.
+     * Set if the Cypress test reports of earlier runs should be kept out of the test results or not.
+     * <br>
+     * When <code>true</code>, every run writes its reports into its own directory below the reports path (e.g.
+     * <code>mochawesome/run-20240101-120000-000-1a2b</code>) and only the reports of that directory are gathered.
+     * Nothing is deleted before the run, so containers that share the reports path do not remove each other's
+     * reports. The directories of old runs are removed in the background, see {@link #withReportsRetention(int)}.
+     * <br>
+     * This requires a {@link GatherTestResultsStrategy} that
+     * {@link GatherTestResultsStrategy#supportsReportsPath() supports a reports path}. For other strategies, the
+     * reports path is deleted before each run instead.
+     * <br>
+     * When <code>false</code>, the reports are written directly into the reports path and the reports of earlier runs
+     * are gathered as well.
      * <br>
      * The default is <code>true</code>.
      *
-     * @param autoCleanReports true if the report directory should be deleted, false otherwise.
+     * @param autoCleanReports true if the reports of earlier runs should be left out, false otherwise.
      * @return the current instance
      */
     public CypressContainer withAutoCleanReports(boolean autoCleanReports) {
@@ -255,6 +868,38 @@ public class CypressContainer extends GenericContainer<CypressContainer> {
         return self();
     }
 
+    /**
+     * Set the number of run directories to keep below the reports path when {@link #withAutoCleanReports(boolean)
+     * auto clean reports} is enabled. Older run directories are removed in the background.
+     * <br>
+     * The default is <code>10</code>.
+     *
+     * @param retention the number of run directories to keep, including the one of the current run
+     * @return the current instance
+     */
+    public CypressContainer withReportsRetention(int retention) {
+        if (retention <= 0) {
+            throw new IllegalArgumentException("retention should be a positive integer, but was " + retention);
+        }
+        this.reportsRetention = retention;
+        return self();
+    }
+
+    /**
+     * Returns the directory on the host with the reports of the current (or last) run. This is a directory below the
+     * reports path when {@link #withAutoCleanReports(boolean) auto clean reports} is enabled, or the reports path
+     * itself otherwise.
+     *
+     * @return the directory with the reports of the run
+     */
+    public Path getRunReportsPath() {
+        Path path = runReportsPath;
+        if (path != null) {
+            return path;
+        }
+        return reportsCopyPath != null ? reportsCopyPath : gatherTestResultsStrategy.getReportsPath();
+    }
+
     /**
      * Set additional run arguments for npm install.
      * <br>
@@ -267,36 +912,502 @@ public class CypressContainer extends GenericContainer<CypressContainer> {
     }
 
     /**
-     * Waits until the Cypress tests are done and returns the results of the tests.
+     * Copy the Cypress sources into the container instead of bind mounting the classpath resource directory.
+     * <br>
+     * The sources are put in a tar archive that is built once per content hash and reused by all containers
+     * in the same JVM. The <code>node_modules</code>, <code>cypress/reports</code>, <code>cypress/videos</code>
+     * and <code>cypress/screenshots</code> directories are excluded. After the run, the reports are copied back to the
+     * reports path of the {@link GatherTestResultsStrategy}.
      *
-     * @return the Cypress test results
-     * @throws InterruptedException When the current thread was interrupted waiting on the Cypress tests to finish
-     * @throws TimeoutException     When the tests did not finished within the configured {@link #withMaximumTotalTestDuration(Duration) maximumTotalTestDuration}
-     * @throws IOException          When there was a problem parsing the Cypress test reports
+     * @return the current instance
      */
-    public CypressTestResults getTestResults() throws InterruptedException, TimeoutException, IOException {
-        boolean success = countDownLatch.await(maximumTotalTestDuration.toMillis(), TimeUnit.MILLISECONDS);
-        if (success) {
-
-            CypressTestResults results = gatherTestResultsStrategy.gatherTestResults();
-            LOGGER.info("{}", results);
-            if (results.getNumberOfFailingTests() > 0) {
-                LOGGER.warn("There was a failure running the Cypress tests!\n\n{}", results);
-            }
+    public CypressContainer withCopiedSources() {
+        return withCopiedSources(SourcesArchive.defaultExcludes());
+    }
 
-            return results;
-        } else {
-            LOGGER.warn("Cypress tests did not finish within {} duration", maximumTotalTestDuration);
-            throw new TimeoutException(String.format("Cypress tests did not finish within %s duration", maximumTotalTestDuration));
+    /**
+     * Copy the Cypress sources into the container instead of bind mounting the classpath resource directory,
+     * leaving out the files that match any of the given excludes.
+     * <br>
+     * Excludes are glob patterns relative to the classpath resource directory (e.g. <code>node_modules</code>
+     * or <code>cypress/fixtures/*.mp4</code>). When a directory matches, everything below it is excluded.
+     *
+     * @param excludes the glob patterns of the files to leave out
+     * @return the current instance
+     * @see #withCopiedSources()
+     */
+    public CypressContainer withCopiedSources(Collection<String> excludes) {
+        if (excludes == null) {
+            throw new IllegalArgumentException("excludes should not be null");
         }
+        this.copySources = true;
+        this.copySourcesExcludes = new ArrayList<>(excludes);
+        return self();
     }
 
-    @Nonnull
-    private String buildCypressRunArguments() {
-        StringBuilder builder = new StringBuilder();
-        builder.append("--headless");
-        if (browser != null) {
-            builder.append(" --browser ")
+    /**
+     * Start the container without running the Cypress tests. The container only runs <code>npm install</code>
+     * and then stays idle until {@link #runTests()} is called. The tests are run with <code>docker exec</code>,
+     * which allows to run them multiple times in the same container.
+     * <br>
+     * The base URL is passed along with every run, so it can still be changed after the container is started.
+     *
+     * @return the current instance
+     */
+    public CypressContainer withDeferredRun() {
+        this.deferredRun = true;
+        return self();
+    }
+
+    /**
+     * Keep the container alive after the tests, so later runs (e.g. of the same test from the IDE) skip the container
+     * start and <code>npm install</code>. This implies {@link #withDeferredRun()}: start the container and use
+     * {@link #runTests()} to run the tests with <code>docker exec</code>.
+     * <br>
+     * The container is identified by a hash of the Docker image, the dependency files (<code>package.json</code> and
+     * the lockfile of npm, Yarn or pnpm), the mount configuration and the other settings that are fixed once the
+     * container is created. With {@link #withCopiedSources() copied sources}, the content of the sources is part of
+     * the hash as well. When any of them changes, a new container is created. The reports are written to a
+     * <code>reused-&lt;hash&gt;</code> directory below the reports path, which is cleaned before each run.
+     * <br>
+     * This uses the reuse support of Testcontainers, which needs <code>testcontainers.reuse.enable=true</code> in
+     * <code>~/.testcontainers.properties</code>. Without it, the container is not kept alive. The container should
+     * not be stopped at the end of the tests, so do not use it in a try-with-resources block or with the
+     * <code>@Container</code> annotation. Containers on a {@link Network#newNetwork() new network} are never reused,
+     * since the network is different every time. Remove the container with <code>docker rm -f</code> when done.
+     *
+     * @return the current instance
+     */
+    public CypressContainer withLocalReuse() {
+        this.localReuse = true;
+        withDeferredRun();
+        withReuse(true);
+        return self();
+    }
+
+    /**
+     * Waits until the Cypress tests are done and returns the results of the tests.
+     *
+     * @return the Cypress test results
+     * @throws InterruptedException When the current thread was interrupted waiting on the Cypress tests to finish
+     * @throws TimeoutException     When the tests did not finished within the configured {@link #withMaximumTotalTestDuration(Duration) maximumTotalTestDuration}
+     *                              or a {@link CypressRunStalledException} when the run stalled
+     * @throws IOException          When there was a problem parsing the Cypress test reports
+     */
+    public CypressTestResults getTestResults() throws InterruptedException, TimeoutException, IOException {
+        boolean success = awaitRunFinished();
+        if (success) {
+            CypressTestResults results;
+            if (timelineRecorder != null) {
+                timelineRecorder.beginPhase("gather results");
+            }
+            try {
+                results = gatherResults();
+                if (backendLatencyProxy != null) {
+                    backendLatencyProxy.attachTo(results);
+                }
+            } finally {
+                if (timelineRecorder != null) {
+                    timelineRecorder.endPhase();
+                }
+            }
+
+            LOGGER.info("{}", results);
+            if (results.getNumberOfFailingTests() > 0) {
+                LOGGER.warn("There was a failure running the Cypress tests!\n\n{}", results);
+            }
+
+            return results;
+        } else {
+            LOGGER.warn("Cypress tests did not finish within {} duration", maximumTotalTestDuration);
+            throw new TimeoutException(String.format("Cypress tests did not finish within %s duration", maximumTotalTestDuration));
+        }
+    }
+
+    /**
+     * Uses the given follower to wait for the run to finish and to detect a stalled run.
+     */
+    void useOutputFollower(CypressContainerOutputFollower follower) {
+        countDownLatch = follower.getCountDownLatch();
+        outputFollower = follower;
+    }
+
+    private boolean awaitRunFinished() throws InterruptedException, CypressRunStalledException {
+        CountDownLatch latch = countDownLatch;
+        if (outputStallTimeout == null && maximumSpecDuration == null) {
+            return latch.await(maximumTotalTestDuration.toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        long deadline = System.nanoTime() + maximumTotalTestDuration.toNanos();
+        while (true) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            if (latch.await(Math.min(remaining, WATCHDOG_INTERVAL_NANOS), TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+            CypressContainerOutputFollower follower = outputFollower;
+            if (follower != null) {
+                CypressContainerOutputFollower.Stall stall = follower.detectStall(outputStallTimeout, maximumSpecDuration);
+                if (stall != null) {
+                    throw handleStall(stall.getReason(), stall.getSpec());
+                }
+            }
+        }
+    }
+
+    private CypressRunStalledException handleStall(String reason, String stalledSpec) {
+        LOGGER.warn("Cypress run stalled: {}. Stopping the container.", reason);
+        String containerId = getContainerId();
+        if (containerId != null) {
+            try {
+                dockerClient.killContainerCmd(containerId).exec();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Unable to stop the stalled Cypress container", e);
+            }
+        }
+
+        CypressTestResults partialResults = null;
+        try {
+            partialResults = gatherResults();
+            LOGGER.info("Partial results of the stalled run: {}", partialResults);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Unable to gather the partial results of the stalled Cypress run", e);
+        }
+        return new CypressRunStalledException(reason, stalledSpec, partialResults);
+    }
+
+    @Nonnull
+    private CypressTestResults gatherResults() throws IOException {
+        if (copySources) {
+            Path reportsPath = reportsCopyPath != null ? reportsCopyPath : gatherTestResultsStrategy.getReportsPath();
+            if (useRunDirectories()) {
+                Path runDirectory = ReportRunDirectories.createRunDirectory(reportsPath);
+                useRunDirectory(runDirectory);
+                copyReportsFromContainer(runDirectory);
+                ReportRunDirectories.pruneAsync(reportsPath, reportsRetention);
+                return gatherResults(runDirectory);
+            }
+            copyReportsFromContainer(reportsPath);
+            return gatherResults(reportsCopyPath);
+        }
+        if (useRunDirectories()) {
+            return gatherResults(runReportsPath);
+        }
+        return gatherResults(null);
+    }
+
+    /**
+     * Gathers the results from the given path, or from the reports path of the strategy if it is <code>null</code>.
+     * With multiple workers, the results of the worker subdirectories are merged.
+     */
+    @Nonnull
+    private CypressTestResults gatherResults(Path reportsPath) throws IOException {
+        List<List<String>> partitions = workerSpecs;
+        if (partitions == null) {
+            return reportsPath != null
+                    ? gatherTestResultsStrategy.gatherTestResults(reportsPath)
+                    : gatherTestResultsStrategy.gatherTestResults();
+        }
+
+        Path basePath = reportsPath != null ? reportsPath : gatherTestResultsStrategy.getReportsPath();
+        CypressTestResults results = null;
+        for (int i = 0; i < partitions.size(); i++) {
+            Path workerReportsPath = basePath.resolve(WORKER_REPORTS_PREFIX + (i + 1));
+            if (!Files.isDirectory(workerReportsPath)) {
+                LOGGER.warn("Worker {} did not write any reports to {}", i + 1, workerReportsPath);
+                continue;
+            }
+            CypressTestResults workerResults = gatherTestResultsStrategy.gatherTestResults(workerReportsPath);
+            if (results == null) {
+                results = workerResults;
+            } else {
+                results.addResults(workerResults);
+            }
+        }
+        return results != null ? results : new CypressTestResults();
+    }
+
+    /**
+     * Uses the given run directory for the reports of this container instead of the previous one. The run directory
+     * stays live until the next run directory is used or the container is stopped, so it is not pruned.
+     */
+    private void useRunDirectory(Path runDirectory) {
+        Path previous = runReportsPath;
+        if (previous != null) {
+            ReportRunDirectories.release(previous);
+        }
+        ReportRunDirectories.markLive(runDirectory);
+        runReportsPath = runDirectory;
+    }
+
+    /**
+     * Mounts a new run directory on the host over the reports path in the container, so the run does not see (or
+     * remove) the reports of other runs.
+     */
+    private void bindRunDirectory() {
+        Path reportsPath = gatherTestResultsStrategy.getReportsPath();
+        String reportsPathInContainer = WORKING_DIRECTORY + "/" + getReportsPathInContainer();
+        try {
+            if (localReuse) {
+                // The binds are part of the identity of a reused container, so the directory can not change per run
+                runReportsPath = Files.createDirectories(reportsPath.toAbsolutePath().resolve(REUSED_REPORTS_PREFIX + configHash.substring(0, 12)));
+            } else {
+                useRunDirectory(ReportRunDirectories.createRunDirectory(reportsPath));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to create a run directory for the reports in " + reportsPath, e);
+        }
+        LOGGER.debug("Writing reports of this run to {}", runReportsPath);
+        withFileSystemBind(runReportsPath.toString(), reportsPathInContainer, BindMode.READ_WRITE);
+        ReportRunDirectories.pruneAsync(reportsPath, reportsRetention);
+    }
+
+    /**
+     * Calculates the hash that identifies a reused container: the image, the dependency files, the mount
+     * configuration and the other settings that are fixed once the container is created. The mount configuration
+     * is taken from the binds, so the sources should be bound before the hash is calculated.
+     */
+    @Nonnull
+    String calculateConfigHash() {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        digest.update(getConfigurationKey().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(String.valueOf(getBinds()).getBytes(StandardCharsets.UTF_8));
+        Path sourcesDirectory = getSourcesDirectory();
+        try {
+            for (String dependencyFile : DEPENDENCY_FILES) {
+                Path path = sourcesDirectory.resolve(dependencyFile);
+                if (Files.isRegularFile(path)) {
+                    digest.update((byte) 0);
+                    digest.update(dependencyFile.getBytes(StandardCharsets.UTF_8));
+                    digest.update((byte) 0);
+                    digest.update(Files.readAllBytes(path));
+                }
+            }
+            if (copySources) {
+                // A reused container keeps the sources that were copied when it was created
+                SourcesArchive sourcesArchive = new SourcesArchive(sourcesDirectory, copySourcesExcludes);
+                digest.update((byte) 0);
+                digest.update(sourcesArchive.calculateHash(sourcesArchive.listFiles()).getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to calculate the configuration hash of the sources in " + sourcesDirectory, e);
+        }
+        StringBuilder builder = new StringBuilder();
+        for (byte b : digest.digest()) {
+            builder.append(String.format("%02x", b));
+        }
+        return builder.toString();
+    }
+
+    private boolean useRunDirectories() {
+        return autoCleanReports && gatherTestResultsStrategy.supportsReportsPath();
+    }
+
+    private void checkBaseUrlReachableFromDockerEndpoint() {
+        if (dockerEndpoint != null && baseUrl.startsWith(DEFAULT_BASE_URL + ":")) {
+            throw new IllegalStateException("The port forwarding of Testcontainers is not available on Docker endpoint " + dockerEndpoint
+                                                    + ", use withBaseUrl() with an address that the Docker host can reach");
+        }
+    }
+
+    private void pullImageOnDockerEndpoint() {
+        String image = getDockerImageName();
+        try {
+            dockerClient.inspectImageCmd(image).exec();
+        } catch (NotFoundException e) {
+            LOGGER.info("Pulling image {} on Docker endpoint {}", image, dockerEndpoint);
+            try {
+                dockerClient.pullImageCmd(image).start().awaitCompletion();
+            } catch (InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while pulling image " + image + " on Docker endpoint " + dockerEndpoint, interruptedException);
+            }
+        }
+    }
+
+    private void configureBrowserRuntimeProfile(BrowserRuntimeProfile profile) {
+        profile.getEnvironment().forEach(this::addEnv);
+        if (profile.getSharedMemorySize() != null || profile.getIpcMode() != null) {
+            withCreateContainerCmdModifier(cmd -> {
+                HostConfig hostConfig = cmd.getHostConfig();
+                if (profile.getSharedMemorySize() != null) {
+                    hostConfig.withShmSize(profile.getSharedMemorySize());
+                }
+                if (profile.getIpcMode() != null) {
+                    hostConfig.withIpcMode(profile.getIpcMode());
+                }
+            });
+        }
+    }
+
+    private void configureDirectHostAccess() {
+        if (!baseUrl.startsWith(DEFAULT_BASE_URL + ":") && !backendLatency) {
+            LOGGER.debug("Not using direct host access since a custom base URL {} is used", baseUrl);
+            return;
+        }
+        DirectHostAccess access = DirectHostAccess.resolve(getNetwork() != null || getNetworkMode() != null);
+        switch (access.getMode()) {
+            case HOST_NETWORK:
+                withNetworkMode("host");
+                directHost = access.getHost();
+                break;
+            case BRIDGE_GATEWAY:
+                directHost = access.getHost();
+                break;
+            default:
+                directHost = null;
+        }
+        LOGGER.info("Cypress reaches the host using {}", access.getMode());
+    }
+
+    /**
+     * Returns the name of the volume with the Cypress cache for the given image. The name contains the full image
+     * name, so images with the same tag from different repositories do not share a cache, and the short image id
+     * (if known), so a tag that is pushed again with a different Cypress binary gets a new cache.
+     */
+    @Nonnull
+    static String getCypressCacheVolumeName(String image, String imageId) {
+        StringBuilder builder = new StringBuilder(CYPRESS_CACHE_VOLUME_PREFIX)
+                .append(DockerImageName.parse(image).asCanonicalNameString().replaceAll("[^a-zA-Z0-9_.-]", "_"));
+        if (imageId != null) {
+            String id = imageId.substring(imageId.indexOf(':') + 1);
+            builder.append('-')
+                    .append(id, 0, Math.min(id.length(), SHORT_IMAGE_ID_LENGTH));
+        }
+        return builder.toString();
+    }
+
+    private String getImageId(String image) {
+        try {
+            return dockerClient.inspectImageCmd(image).exec().getId();
+        } catch (RuntimeException e) {
+            LOGGER.debug("Unable to get the id of image {}", image, e);
+            return null;
+        }
+    }
+
+    /**
+     * Returns the base URL that Cypress uses. With the backend latency proxy, this also points the proxy to the
+     * current base URL.
+     */
+    @Nonnull
+    private String getEffectiveBaseUrl() {
+        String url = baseUrl;
+        if (backendLatencyProxy != null) {
+            URI uri = URI.create(getBaseUrlFromHost());
+            backendLatencyProxy.setTarget(URI.create(uri.getScheme() + "://" + uri.getRawAuthority()));
+            url = DEFAULT_BASE_URL + ":" + backendLatencyProxy.getPort() + (uri.getRawPath() != null ? uri.getRawPath() : "");
+        }
+        if (directHost != null && url.startsWith(DEFAULT_BASE_URL + ":")) {
+            return "http://" + directHost + url.substring(DEFAULT_BASE_URL.length());
+        }
+        return url;
+    }
+
+    /**
+     * Returns the base URL as seen from this JVM: the port forwarding of Testcontainers forwards
+     * <code>host.testcontainers.internal</code> to <code>localhost</code>.
+     */
+    @Nonnull
+    String getBaseUrlFromHost() {
+        if (baseUrl.startsWith(DEFAULT_BASE_URL + ":")) {
+            return "http://localhost" + baseUrl.substring(DEFAULT_BASE_URL.length());
+        }
+        return baseUrl;
+    }
+
+    private void startBackendLatencyProxy() {
+        if (dockerEndpoint != null) {
+            throw new IllegalStateException("The backend latency proxy runs in this JVM, which Docker endpoint " + dockerEndpoint + " can not reach");
+        }
+        if (backendLatencyProxy != null) {
+            return;
+        }
+        BackendLatencyProxy proxy = new BackendLatencyProxy();
+        InetAddress bindAddress;
+        try {
+            // The port forwarding of Testcontainers and the host network connect to localhost, the Docker bridge
+            // network connects to its gateway
+            bindAddress = directHost != null && !directHost.equals("localhost")
+                    ? InetAddress.getByName(directHost)
+                    : InetAddress.getLoopbackAddress();
+            proxy.start(bindAddress);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to start the backend latency proxy", e);
+        }
+        backendLatencyProxy = proxy;
+        LOGGER.info("Measuring the backend latency with a proxy on {}:{}", bindAddress.getHostAddress(), proxy.getPort());
+    }
+
+    private void copySupportFile(String fileName) {
+        withCopyToContainer(MountableFile.forClasspathResource(getClass().getPackage().getName().replace('.', '/') + "/" + fileName),
+                            WORKING_DIRECTORY + "/cypress/support/" + fileName);
+    }
+
+    private void orderSpecs() {
+        if (workers > 1) {
+            if (spec != null) {
+                throw new IllegalStateException("Use withSpecs() instead of withSpec() to run multiple workers");
+            }
+            if (specOrderingStrategy != null) {
+                throw new IllegalStateException("A SpecOrderingStrategy can not be used with multiple workers, the specs are partitioned by their duration and Cypress runs the specs of a worker in alphabetical order");
+            }
+            List<String> workerSpecList = specs != null ? specs : discoverSpecs();
+            List<List<String>> partitions = SpecPartitioner.partition(workerSpecList, workers, SpecHistory.read(gatherTestResultsStrategy.getReportsPath()));
+            LOGGER.info("Running specs with {} worker(s): {}", partitions.size(), partitions);
+            orderedSpecs = null;
+            workerSpecs = partitions;
+            return;
+        }
+        workerSpecs = null;
+        if (specs == null) {
+            orderedSpecs = null;
+            return;
+        }
+        List<String> ordered = specOrderingStrategy != null ? specOrderingStrategy.order(specs) : specs;
+        LOGGER.info("Running specs in order {}", ordered);
+        orderedSpecs = new ArrayList<>(ordered);
+    }
+
+    @Nonnull
+    private List<String> discoverSpecs() {
+        try {
+            List<String> discovered = SpecDiscovery.discover(getSourcesDirectory(), componentTesting);
+            if (discovered.isEmpty()) {
+                throw new IllegalStateException("No specs found in " + getSourcesDirectory() + ", use withSpecs() to set them");
+            }
+            return discovered;
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to find the specs in " + getSourcesDirectory(), e);
+        }
+    }
+
+    private int getNumberOfCypressRuns() {
+        List<List<String>> partitions = workerSpecs;
+        if (partitions != null) {
+            return partitions.size();
+        }
+        List<String> ordered = orderedSpecs;
+        return ordered != null ? ordered.size() : 1;
+    }
+
+    @Nonnull
+    String buildCypressRunArguments() {
+        StringBuilder builder = new StringBuilder();
+        if (componentTesting) {
+            builder.append("--component ");
+        }
+        builder.append("--headless");
+        if (browser != null) {
+            builder.append(" --browser ")
                     .append(browser);
         }
         if (spec != null) {
@@ -316,31 +1427,245 @@ public class CypressContainer extends GenericContainer<CypressContainer> {
 
     @Nonnull
     private String buildEntryPoint() {
+        if (deferredRun) {
+            return buildNpmInstallCommand() + "&& echo '" + READY_MESSAGE + "' && tail -f /dev/null";
+        }
+        return buildCleanReportsCommand() + buildNpmInstallCommand() + "&& " + buildCypressRunCommand();
+    }
+
+    @Nonnull
+    private String buildRunCommand() {
+        return buildCleanReportsCommand() + buildCypressRunCommand();
+    }
+
+    @Nonnull
+    private String buildCleanReportsCommand() {
         StringBuilder builder = new StringBuilder();
-        if (autoCleanReports) {
-            String reportsPathInContainer = getReportsPathInContainer();
-            if (reportsPathInContainer.equals("/")) {
-                throw new IllegalArgumentException("Reports path was /, not allowing to delete everything");
+        if (!autoCleanReports) {
+            return builder.toString();
+        }
+        String reportsPathInContainer = getReportsPathInContainer();
+        if (reportsPathInContainer.equals("/")) {
+            throw new IllegalArgumentException("Reports path was /, not allowing to delete everything");
+        }
+        if (useRunDirectories() && !copySources) {
+            // The mounted run directory is only used by this container. It is empty for the first run.
+            if (deferredRun) {
+                builder.append("find ")
+                        .append(reportsPathInContainer)
+                        .append(" -mindepth 1 -delete && ");
             }
-            LOGGER.debug("Removing reports from {}", reportsPathInContainer);
-            builder.append("rm -rf ")
-                    .append(reportsPathInContainer)
-                    .append(" && ");
+            return builder.toString();
         }
+        LOGGER.debug("Removing reports from {}", reportsPathInContainer);
+        builder.append("rm -rf ")
+                .append(reportsPathInContainer)
+                .append(" && ");
+        return builder.toString();
+    }
+
+    @Nonnull
+    private String buildNpmInstallCommand() {
+        StringBuilder builder = new StringBuilder();
         builder.append("npm install ");
         if (StringUtils.isNotBlank(npmRunArguments)) {
             builder.append(npmRunArguments)
                     .append(' ');
         }
-        builder.append("&& ");
-        builder.append("cypress run ")
-                .append(buildCypressRunArguments());
         return builder.toString();
     }
 
+    @Nonnull
+    private String buildCypressRunCommand() {
+        List<List<String>> partitions = workerSpecs;
+        if (partitions != null) {
+            return buildWorkersRunCommand(partitions);
+        }
+        List<String> ordered = orderedSpecs;
+        if (ordered == null) {
+            return "cypress run " + buildCypressRunArguments();
+        }
+        if (ordered.size() == 1) {
+            return "cypress run " + buildCypressRunArguments() + " --spec \"" + ordered.get(0) + '\"';
+        }
+        StringBuilder builder = new StringBuilder("{ ").append(buildTrashAssetsCommand());
+        for (String orderedSpec : ordered) {
+            builder.append("cypress run ")
+                    .append(buildCypressRunArguments())
+                    .append(" --spec \"")
+                    .append(orderedSpec)
+                    .append("\" --config trashAssetsBeforeRuns=false; ");
+        }
+        return builder.append('}').toString();
+    }
+
+    /**
+     * Cypress trashes the screenshots and videos at the start of every run, which would remove the assets of the
+     * earlier (or concurrently running) runs when the specs are split over multiple runs. So the assets are trashed
+     * once with this command, and the runs are started with <code>trashAssetsBeforeRuns=false</code>.
+     */
+    @Nonnull
+    private static String buildTrashAssetsCommand() {
+        return "rm -rf " + SCREENSHOTS_FOLDER + ' ' + VIDEOS_FOLDER + "; ";
+    }
+
+    /**
+     * Starts one <code>cypress run</code> per worker in the background, each with its own Xvfb display and reports
+     * directory, and waits for all of them. The output of each worker is prefixed with the worker, so the output
+     * follower can tell the running specs of the workers apart.
+     * <br>
+     * The assets are trashed once before the workers start (see {@link #buildTrashAssetsCommand()}), and each worker
+     * stops its Xvfb display when its run is done.
+     */
+    @Nonnull
+    private String buildWorkersRunCommand(List<List<String>> partitions) {
+        String reportsPathInContainer = getReportsPathInContainer();
+        StringBuilder builder = new StringBuilder("{ ").append(buildTrashAssetsCommand());
+        for (int i = 0; i < partitions.size(); i++) {
+            int display = WORKER_FIRST_DISPLAY + i + 1;
+            builder.append("(Xvfb :").append(display).append(" -screen 0 1280x1024x24 >/dev/null 2>&1 & ")
+                    .append("for i in $(seq 100); do [ -e /tmp/.X11-unix/X").append(display).append(" ] && break; sleep 0.1; done; ")
+                    .append("DISPLAY=:").append(display).append(" cypress run ")
+                    .append(buildCypressRunArguments())
+                    .append(" --spec \"").append(String.join(",", partitions.get(i))).append('\"')
+                    .append(" --config trashAssetsBeforeRuns=false")
+                    .append(" --reporter mochawesome --reporter-options \"reportDir=")
+                    .append(reportsPathInContainer).append('/').append(WORKER_REPORTS_PREFIX).append(i + 1)
+                    .append(",overwrite=false,html=false,json=true\"; kill $!) 2>&1 | sed -u \"s/^/[").append(WORKER_REPORTS_PREFIX).append(i + 1).append("] /\" & ");
+        }
+        return builder.append("wait; }").toString();
+    }
+
+    /**
+     * Copies the settings that only apply when the tests are run (base URL, browser, specs, workers, recording, time
+     * limits, output listeners, run timeline and the {@link GatherTestResultsStrategy} instance) from the given
+     * container. They are not part of the {@link #getConfigurationKey() configuration key}, so a pooled container takes
+     * them over from the container that the lessee asked for, and drops the ones of the previous lessee.
+     */
+    void copyRunSettingsFrom(CypressContainer other) {
+        baseUrl = other.baseUrl;
+        browser = other.browser;
+        spec = other.spec;
+        specs = other.specs != null ? new ArrayList<>(other.specs) : null;
+        specOrderingStrategy = other.specOrderingStrategy;
+        workers = other.workers;
+        record = other.record;
+        recordKey = other.recordKey;
+        maximumTotalTestDuration = other.maximumTotalTestDuration;
+        outputStallTimeout = other.outputStallTimeout;
+        maximumSpecDuration = other.maximumSpecDuration;
+        // The configuration key guarantees that the strategy uses the same reports path
+        gatherTestResultsStrategy = other.gatherTestResultsStrategy;
+        reportsCopyPath = other.reportsCopyPath;
+        outputListeners.clear();
+        outputListeners.addAll(other.outputListeners);
+        timelineRecorder = other.timelineRecorder;
+    }
+
+    /**
+     * Prepares a container with a deferred run for the next run by removing the reports of the previous run and
+     * resetting the base URL to the default.
+     */
+    void resetForNextRun() throws IOException, InterruptedException {
+        baseUrl = DEFAULT_URL;
+        countDownLatch = new CountDownLatch(1);
+        outputFollower = null;
+        if (autoCleanReports) {
+            String reportsPathInContainer = getReportsPathInContainer();
+            if (reportsPathInContainer.equals("/")) {
+                throw new IllegalArgumentException("Reports path was /, not allowing to delete everything");
+            }
+            // The mounted run directory itself can not be removed, only its contents
+            ExecResult result = useRunDirectories() && !copySources
+                    ? execInContainer("find", reportsPathInContainer, "-mindepth", "1", "-delete")
+                    : execInContainer("rm", "-rf", reportsPathInContainer);
+            if (result.getExitCode() != 0) {
+                throw new IOException("Unable to remove the reports from the container: " + result.getStderr());
+            }
+        }
+    }
+
+    /**
+     * Copies the reports to the given directory instead of the reports path of the {@link GatherTestResultsStrategy},
+     * so containers that run in parallel do not overwrite each other's reports. Enables {@link #withCopiedSources()}
+     * if the sources are not copied yet.
+     *
+     * @throws IllegalStateException if the {@link GatherTestResultsStrategy} does not support a reports path
+     */
+    CypressContainer withReportsCopiedTo(Path path) {
+        checkReportsPathSupported("Copying the reports");
+        if (!copySources) {
+            withCopiedSources();
+        }
+        this.reportsCopyPath = path;
+        return self();
+    }
+
+    private void checkReportsPathSupported(String feature) {
+        if (!gatherTestResultsStrategy.supportsReportsPath()) {
+            throw new IllegalStateException(feature + " requires a GatherTestResultsStrategy that supports a reports path");
+        }
+    }
+
+    boolean isDeferredRun() {
+        return deferredRun;
+    }
+
+    boolean isComponentTesting() {
+        return componentTesting;
+    }
+
+    GatherTestResultsStrategy getGatherTestResultsStrategy() {
+        return gatherTestResultsStrategy;
+    }
+
+    List<CypressOutputListener> getOutputListeners() {
+        return outputListeners;
+    }
+
+    /**
+     * Returns a key that identifies the configuration that is fixed once the container is started. Containers with
+     * the same key can be used interchangeably for a run.
+     */
+    @Nonnull
+    String getConfigurationKey() {
+        Map<String, String> env = new TreeMap<>(getEnvMap());
+        env.remove("CYPRESS_baseUrl");
+        return new StringBuilder()
+                .append("image=").append(imageName != null ? imageName : getDockerImageName())
+                .append(";classpathResourcePath=").append(classpathResourcePath)
+                .append(";copySources=").append(copySources ? copySourcesExcludes : "false")
+                .append(";npmRunArguments=").append(npmRunArguments)
+                .append(";directHostAccess=").append(directHostAccess)
+                .append(";persistentCypressCache=").append(persistentCypressCache)
+                .append(";autoCleanReports=").append(autoCleanReports)
+                .append(";pageMetrics=").append(pageMetrics)
+                .append(";backendLatency=").append(backendLatency)
+                .append(";componentTesting=").append(componentTesting)
+                .append(";browserRuntimeProfile=").append(browserRuntimeProfile)
+                .append(";dockerEndpoint=").append(dockerEndpoint)
+                .append(";localReuse=").append(localReuse)
+                // The identity of the network, as its id would create the network
+                .append(";network=").append(getNetwork() != null ? "@" + Integer.toHexString(System.identityHashCode(getNetwork())) : getNetworkMode())
+                .append(";reportsPath=").append(gatherTestResultsStrategy.getReportsPath().toAbsolutePath())
+                .append(";env=").append(env)
+                .toString();
+    }
+
     @Nonnull
     private String getReportsPathInContainer() {
         Path pathOnHost = gatherTestResultsStrategy.getReportsPath().toAbsolutePath();
+        if (copySources) {
+            Path sourcesDirectory = getSourcesDirectory();
+            if (!pathOnHost.startsWith(sourcesDirectory)) {
+                throw new IllegalArgumentException("Reports path " + pathOnHost + " is not inside the copied sources at " + sourcesDirectory);
+            }
+            if (pathOnHost.equals(sourcesDirectory)) {
+                throw new IllegalArgumentException("Reports path should be a subdirectory of the copied sources at " + sourcesDirectory);
+            }
+            return FilenameUtils.separatorsToUnix(sourcesDirectory.relativize(pathOnHost).toString());
+        }
+
         String pathInContainer = null;
         List<Bind> binds = getBinds();
         for (Bind bind : binds) {
@@ -356,21 +1681,291 @@ public class CypressContainer extends GenericContainer<CypressContainer> {
         return pathInContainer;
     }
 
-    private static class CypressContainerOutputFollower implements Consumer<OutputFrame> {
+    @Nonnull
+    Path getSourcesDirectory() {
+        return Paths.get(MountableFile.forClasspathResource(classpathResourcePath).getResolvedPath()).toAbsolutePath();
+    }
+
+    private void copySourcesToContainer(String containerId) {
+        try {
+            Path archive = new SourcesArchive(getSourcesDirectory(), copySourcesExcludes).getArchive(WORKING_DIRECTORY.substring(1));
+            try (InputStream inputStream = Files.newInputStream(archive)) {
+                dockerClient.copyArchiveToContainerCmd(containerId)
+                            .withTarInputStream(inputStream)
+                            .withRemotePath("/")
+                            .exec();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to copy the Cypress sources into the container", e);
+        }
+    }
+
+    private void copyReportsFromContainer(Path targetPath) throws IOException {
+        Path reportsPath = targetPath.toAbsolutePath();
+        String reportsPathInContainer = WORKING_DIRECTORY + "/" + getReportsPathInContainer();
+        if (autoCleanReports && !useRunDirectories() && Files.exists(reportsPath)) {
+            LOGGER.debug("Removing reports from {}", reportsPath);
+            try (Stream<Path> paths = Files.walk(reportsPath)) {
+                for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.delete(path);
+                }
+            }
+        }
+        Files.createDirectories(reportsPath);
+
+        LOGGER.debug("Copying reports from {} in the container to {}", reportsPathInContainer, reportsPath);
+        try (InputStream inputStream = dockerClient.copyArchiveFromContainerCmd(getContainerId(), reportsPathInContainer).exec();
+             TarArchiveInputStream tar = new TarArchiveInputStream(inputStream)) {
+            TarArchiveEntry entry;
+            while ((entry = tar.getNextTarEntry()) != null) {
+                // Entries are prefixed with the name of the reports directory itself
+                String name = entry.getName();
+                int separatorIndex = name.indexOf('/');
+                if (separatorIndex < 0 || separatorIndex == name.length() - 1) {
+                    continue;
+                }
+                Path target = reportsPath.resolve(name.substring(separatorIndex + 1)).normalize();
+                if (!target.startsWith(reportsPath)) {
+                    throw new IOException("Refusing to extract " + name + " outside of " + reportsPath);
+                }
+                if (entry.isDirectory()) {
+                    Files.createDirectories(target);
+                } else {
+                    Files.createDirectories(target.getParent());
+                    Files.copy(tar, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+    }
+
+    /**
+     * Follows the output of a Cypress run. The output frames are reassembled into lines at the byte level, since a
+     * frame can end in the middle of a line. Lines are only decoded when they are logged, when a listener is
+     * registered, or when they contain the start of a spec.
+     * <br>
+     * With multiple workers, each line is prefixed with the worker that wrote it (e.g. <code>[worker-2] </code>), so
+     * the running spec is tracked per worker.
+     */
+    static class CypressContainerOutputFollower implements Consumer<OutputFrame> {
+        static final Pattern RUNNING_SPEC_PATTERN = Pattern.compile("Running:\\s+(\\S+)\\s+\\(\\d+ of \\d+\\)");
+        private static final byte[] RUNNING_SPEC_MARKER = "Running:".getBytes(StandardCharsets.UTF_8);
+        private static final byte[] RUN_FINISHED_MARKER = "Run Finished".getBytes(StandardCharsets.UTF_8);
+        private static final byte[] WORKER_PREFIX = ("[" + WORKER_REPORTS_PREFIX).getBytes(StandardCharsets.UTF_8);
+        private static final int NO_WORKER = 0;
 
         private final CountDownLatch countDownLatch;
+        private final List<CypressOutputListener> listeners;
+        private final LongSupplier clock;
+        private final LineAssembler stdout = new LineAssembler((bytes, offset, length) -> onLine(OutputFrame.OutputType.STDOUT, bytes, offset, length));
+        private final LineAssembler stderr = new LineAssembler((bytes, offset, length) -> onLine(OutputFrame.OutputType.STDERR, bytes, offset, length));
+        private final Map<Integer, RunningSpec> runningSpecs = new ConcurrentSkipListMap<>();
+        private volatile long lastOutputTime;
+        private volatile boolean runStarted;
+
+        CypressContainerOutputFollower(CountDownLatch countDownLatch, List<CypressOutputListener> listeners) {
+            this(countDownLatch, listeners, System::nanoTime);
+        }
 
-        CypressContainerOutputFollower(CountDownLatch countDownLatch) {
+        CypressContainerOutputFollower(CountDownLatch countDownLatch, List<CypressOutputListener> listeners, LongSupplier clock) {
             this.countDownLatch = countDownLatch;
+            this.listeners = listeners;
+            this.clock = clock;
+            this.lastOutputTime = clock.getAsLong();
+        }
+
+        CountDownLatch getCountDownLatch() {
+            return countDownLatch;
         }
 
         @Override
         public void accept(OutputFrame outputFrame) {
-            String logLine = StringUtils.strip(outputFrame.getUtf8String());
-            LOGGER.debug(logLine);
-            if (logLine.contains("Run Finished")) {
+            lastOutputTime = clock.getAsLong();
+            if (outputFrame.getType() == OutputFrame.OutputType.END) {
+                stdout.flush();
+                stderr.flush();
+                return;
+            }
+            byte[] bytes = outputFrame.getBytes();
+            if (bytes == null) {
+                return;
+            }
+            if (outputFrame.getType() == OutputFrame.OutputType.STDERR) {
+                stderr.accept(bytes);
+            } else {
+                stdout.accept(bytes);
+            }
+        }
+
+        private void onLine(OutputFrame.OutputType type, byte[] bytes, int offset, int length) {
+            int end = trimEnd(bytes, offset, offset + length);
+            int start = trimStart(bytes, offset, end);
+            int worker = NO_WORKER;
+            String prefix = "";
+            int prefixEnd = workerPrefixEnd(bytes, start, end);
+            if (prefixEnd > 0) {
+                worker = parseWorker(bytes, start + WORKER_PREFIX.length, prefixEnd - 1);
+                prefix = new String(bytes, start, prefixEnd - start, StandardCharsets.UTF_8) + " ";
+                start = trimStart(bytes, prefixEnd, end);
+            }
+            if (start == end) {
+                return;
+            }
+
+            String line = null;
+            if (LOGGER.isDebugEnabled() || !listeners.isEmpty()) {
+                line = prefix + new String(bytes, start, end - start, StandardCharsets.UTF_8);
+                LOGGER.debug(line);
+                for (CypressOutputListener listener : listeners) {
+                    notifyListener(listener, type, line);
+                }
+            }
+            if (indexOf(bytes, start, end, RUNNING_SPEC_MARKER) >= 0) {
+                if (line == null) {
+                    line = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+                }
+                Matcher matcher = RUNNING_SPEC_PATTERN.matcher(line);
+                if (matcher.find()) {
+                    String spec = matcher.group(1);
+                    runningSpecs.put(worker, new RunningSpec(spec, lastOutputTime));
+                    runStarted = true;
+                    for (CypressOutputListener listener : listeners) {
+                        notifyListener(() -> listener.onSpecStarted(spec));
+                    }
+                }
+            }
+            if (indexOf(bytes, start, end, RUN_FINISHED_MARKER) >= 0) {
+                runningSpecs.remove(worker);
+                for (CypressOutputListener listener : listeners) {
+                    notifyListener(listener::onRunFinished);
+                }
                 countDownLatch.countDown();
             }
         }
+
+        private static int trimStart(byte[] bytes, int start, int end) {
+            while (start < end && (bytes[start] & 0xff) <= ' ') {
+                start++;
+            }
+            return start;
+        }
+
+        private static int trimEnd(byte[] bytes, int start, int end) {
+            while (end > start && (bytes[end - 1] & 0xff) <= ' ') {
+                end--;
+            }
+            return end;
+        }
+
+        /**
+         * @return the index after the closing bracket of the worker prefix at the start of the line, or -1 if the
+         * line does not start with a worker prefix
+         */
+        private static int workerPrefixEnd(byte[] bytes, int start, int end) {
+            if (end - start <= WORKER_PREFIX.length || indexOf(bytes, start, start + WORKER_PREFIX.length, WORKER_PREFIX) != start) {
+                return -1;
+            }
+            int i = start + WORKER_PREFIX.length;
+            while (i < end && bytes[i] >= '0' && bytes[i] <= '9') {
+                i++;
+            }
+            return i > start + WORKER_PREFIX.length && i < end && bytes[i] == ']' ? i + 1 : -1;
+        }
+
+        private static int parseWorker(byte[] bytes, int start, int end) {
+            int worker = 0;
+            for (int i = start; i < end; i++) {
+                worker = worker * 10 + (bytes[i] - '0');
+            }
+            return worker;
+        }
+
+        private static void notifyListener(CypressOutputListener listener, OutputFrame.OutputType type, String line) {
+            notifyListener(() -> listener.onLine(type, line));
+        }
+
+        private static void notifyListener(Runnable notification) {
+            try {
+                notification.run();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Cypress output listener failed", e);
+            }
+        }
+
+        static int indexOf(byte[] bytes, int start, int end, byte[] marker) {
+            outer:
+            for (int i = start; i <= end - marker.length; i++) {
+                for (int j = 0; j < marker.length; j++) {
+                    if (bytes[i + j] != marker[j]) {
+                        continue outer;
+                    }
+                }
+                return i;
+            }
+            return -1;
+        }
+
+        /**
+         * @return the specs that are currently running, separated by commas if multiple workers are running a spec,
+         * or <code>null</code> if no spec is running
+         */
+        String getCurrentSpec() {
+            List<String> specs = new ArrayList<>();
+            for (RunningSpec runningSpec : runningSpecs.values()) {
+                specs.add(runningSpec.spec);
+            }
+            return specs.isEmpty() ? null : String.join(",", specs);
+        }
+
+        /**
+         * The output stall timeout only applies once Cypress started running the first spec, so a quiet
+         * <code>npm install</code> or Cypress startup is not considered a stall.
+         *
+         * @return the stall of the run, or <code>null</code> if it is not stalled
+         */
+        Stall detectStall(Duration outputStallTimeout, Duration maximumSpecDuration) {
+            long now = clock.getAsLong();
+            if (outputStallTimeout != null && runStarted && now - lastOutputTime > outputStallTimeout.toNanos()) {
+                String spec = getCurrentSpec();
+                return new Stall(String.format("no output for %s while running %s", outputStallTimeout, spec != null ? "spec " + spec : "no spec"),
+                                 spec);
+            }
+            if (maximumSpecDuration != null) {
+                for (RunningSpec runningSpec : runningSpecs.values()) {
+                    if (now - runningSpec.startTime > maximumSpecDuration.toNanos()) {
+                        return new Stall(String.format("spec %s is running longer than %s", runningSpec.spec, maximumSpecDuration),
+                                         runningSpec.spec);
+                    }
+                }
+            }
+            return null;
+        }
+
+        private static final class RunningSpec {
+            private final String spec;
+            private final long startTime;
+
+            private RunningSpec(String spec, long startTime) {
+                this.spec = spec;
+                this.startTime = startTime;
+            }
+        }
+
+        static final class Stall {
+            private final String reason;
+            private final String spec;
+
+            private Stall(String reason, String spec) {
+                this.reason = reason;
+                this.spec = spec;
+            }
+
+            String getReason() {
+                return reason;
+            }
+
+            String getSpec() {
+                return spec;
+            }
+        }
     }
 }
@@ -0,0 +1,41 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+/**
+ * A {@link CypressContainer} that is leased from a {@link CypressContainerPool}. Closing the lease returns the
+ * container to the pool.
+ */
+public class CypressContainerLease implements AutoCloseable {
+    private final CypressContainerPool pool;
+    private final String key;
+    private final CypressContainer container;
+    private boolean returned;
+
+    CypressContainerLease(CypressContainerPool pool, String key, CypressContainer container) {
+        this.pool = pool;
+        this.key = key;
+        this.container = container;
+    }
+
+    /**
+     * Returns the leased container. It is started and ready to run the tests with {@link CypressContainer#runTests()}.
+     *
+     * @return the leased container
+     */
+    public CypressContainer getContainer() {
+        if (returned) {
+            throw new IllegalStateException("The container was already returned to the pool");
+        }
+        return container;
+    }
+
+    /**
+     * Returns the container to the pool.
+     */
+    @Override
+    public synchronized void close() {
+        if (!returned) {
+            returned = true;
+            pool.release(key, container);
+        }
+    }
+}
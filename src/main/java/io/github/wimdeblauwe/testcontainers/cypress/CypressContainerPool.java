@@ -0,0 +1,285 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * A pool of started {@link CypressContainer} instances that can be shared between test classes.
+ * <p>
+ * Containers are started {@link CypressContainer#withDeferredRun() with a deferred run}, so they are ready to run
+ * tests as soon as they are leased. Containers are keyed by their image and configuration: a lease only gets a
+ * container that was created with the same configuration. The settings that only apply when the tests are run (base
+ * URL, browser, specs, workers, recording and time limits) are taken over from the container that the factory created.
+ * When a lease is closed, the reports are removed and the base URL is reset so the container can be handed out again.
+ * <p>
+ * Example usage:
+ * <pre>
+ * try (CypressContainerLease lease = CypressContainerPool.shared().lease(CypressContainer::new)) {
+ *     CypressContainer container = lease.getContainer().withLocalServerPort(port);
+ *     container.runTests();
+ *     CypressTestResults results = container.getTestResults();
+ * }
+ * </pre>
+ */
+public class CypressContainerPool implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CypressContainerPool.class);
+
+    private static final int DEFAULT_MAXIMUM_SIZE = 2;
+    private static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(5);
+    private static final Duration DEFAULT_LEASE_TIMEOUT = Duration.ofMinutes(10);
+
+    private static volatile CypressContainerPool sharedPool;
+
+    private final int maximumSize;
+    private final Duration idleTimeout;
+    private final Map<String, Deque<IdleContainer>> idleContainers = new HashMap<>();
+    private final ScheduledExecutorService evictionExecutor;
+    private final Thread shutdownHook;
+    private int size;
+    private boolean closed;
+
+    /**
+     * Creates a new pool. A JVM shutdown hook is registered that stops all containers of the pool, and that is removed
+     * again when the pool is {@link #close() closed}.
+     *
+     * @param maximumSize the maximum number of containers (leased and idle) in the pool
+     * @param idleTimeout the time after which an idle container is stopped
+     */
+    public CypressContainerPool(int maximumSize, Duration idleTimeout) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize should be a positive integer, but was " + maximumSize);
+        }
+        if (idleTimeout == null || idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("idleTimeout should be a positive duration, but was " + idleTimeout);
+        }
+        this.maximumSize = maximumSize;
+        this.idleTimeout = idleTimeout;
+        this.evictionExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cypress-container-pool-eviction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long evictionInterval = Math.max(1, idleTimeout.toMillis() / 2);
+        evictionExecutor.scheduleWithFixedDelay(this::evictIdleContainers, evictionInterval, evictionInterval, TimeUnit.MILLISECONDS);
+        this.shutdownHook = new Thread(this::close, "cypress-container-pool-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Returns the pool that is shared by all tests in the JVM. It can hold 2 containers that are stopped after
+     * being idle for 5 minutes.
+     *
+     * @return the shared pool
+     */
+    public static CypressContainerPool shared() {
+        if (sharedPool == null) {
+            synchronized (CypressContainerPool.class) {
+                if (sharedPool == null) {
+                    sharedPool = new CypressContainerPool(DEFAULT_MAXIMUM_SIZE, DEFAULT_IDLE_TIMEOUT);
+                }
+            }
+        }
+        return sharedPool;
+    }
+
+    /**
+     * Leases a started container that matches the configuration of the container created by the given factory,
+     * waiting at most 10 minutes for a container to become available.
+     *
+     * @param containerFactory creates a new (not started) container. Its configuration is used to find a matching
+     *                         idle container. The factory result is only started if no matching container is idle.
+     * @return the lease, which should be closed to return the container to the pool
+     * @throws InterruptedException when the current thread was interrupted waiting on a container
+     * @throws TimeoutException     when no container became available in time
+     */
+    public CypressContainerLease lease(Supplier<CypressContainer> containerFactory) throws InterruptedException, TimeoutException {
+        return lease(containerFactory, DEFAULT_LEASE_TIMEOUT);
+    }
+
+    /**
+     * Leases a started container that matches the configuration of the container created by the given factory.
+     *
+     * @param containerFactory creates a new (not started) container. Its configuration is used to find a matching
+     *                         idle container. The factory result is only started if no matching container is idle.
+     * @param timeout          the maximum time to wait for a container to become available
+     * @return the lease, which should be closed to return the container to the pool
+     * @throws InterruptedException when the current thread was interrupted waiting on a container
+     * @throws TimeoutException     when no container became available in time
+     */
+    public CypressContainerLease lease(Supplier<CypressContainer> containerFactory, Duration timeout) throws InterruptedException, TimeoutException {
+        if (containerFactory == null) {
+            throw new IllegalArgumentException("containerFactory should not be null");
+        }
+        if (timeout == null) {
+            throw new IllegalArgumentException("timeout should not be null");
+        }
+
+        CypressContainer candidate = containerFactory.get().withDeferredRun();
+        String key = candidate.getConfigurationKey();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        List<CypressContainer> containersToStop = new ArrayList<>();
+        try {
+            synchronized (this) {
+                while (true) {
+                    if (closed) {
+                        throw new IllegalStateException("The pool is closed");
+                    }
+                    Deque<IdleContainer> idle = idleContainers.get(key);
+                    if (idle != null && !idle.isEmpty()) {
+                        LOGGER.debug("Leasing idle Cypress container for {}", key);
+                        CypressContainer container = idle.pollFirst().container;
+                        container.copyRunSettingsFrom(candidate);
+                        return new CypressContainerLease(this, key, container);
+                    }
+                    if (size < maximumSize) {
+                        size++;
+                        break;
+                    }
+                    IdleContainer oldest = removeOldestIdleContainer();
+                    if (oldest != null) {
+                        LOGGER.debug("Stopping idle Cypress container to make room for {}", key);
+                        containersToStop.add(oldest.container);
+                        break;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new TimeoutException(String.format("No Cypress container became available within %s", timeout));
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                }
+            }
+        } finally {
+            containersToStop.forEach(CypressContainer::stop);
+        }
+
+        LOGGER.debug("Starting new Cypress container for {}", key);
+        try {
+            candidate.start();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                size--;
+                notifyAll();
+            }
+            throw e;
+        }
+        return new CypressContainerLease(this, key, candidate);
+    }
+
+    /**
+     * Stops all containers in the pool. Containers that are leased at this moment are stopped when they are returned.
+     */
+    @Override
+    public void close() {
+        List<IdleContainer> containersToStop = new ArrayList<>();
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            idleContainers.values().forEach(containersToStop::addAll);
+            idleContainers.clear();
+            size -= containersToStop.size();
+            notifyAll();
+        }
+        evictionExecutor.shutdownNow();
+        if (Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // The JVM is shutting down already, the hook is running or has run
+            }
+        }
+        containersToStop.forEach(idleContainer -> idleContainer.container.stop());
+    }
+
+    void release(String key, CypressContainer container) {
+        boolean reusable = container.isRunning();
+        if (reusable) {
+            try {
+                container.resetForNextRun();
+            } catch (Exception e) {
+                LOGGER.warn("Unable to reset Cypress container for the next lease, it will be stopped", e);
+                reusable = false;
+            }
+        }
+
+        synchronized (this) {
+            if (reusable && !closed) {
+                idleContainers.computeIfAbsent(key, k -> new ArrayDeque<>())
+                              .addFirst(new IdleContainer(container, System.nanoTime()));
+                notifyAll();
+                return;
+            }
+            size--;
+            notifyAll();
+        }
+        container.stop();
+    }
+
+    private void evictIdleContainers() {
+        List<CypressContainer> containersToStop = new ArrayList<>();
+        long now = System.nanoTime();
+        synchronized (this) {
+            for (Iterator<Deque<IdleContainer>> iterator = idleContainers.values().iterator(); iterator.hasNext(); ) {
+                Deque<IdleContainer> idle = iterator.next();
+                idle.removeIf(idleContainer -> {
+                    boolean expired = now - idleContainer.idleSince >= idleTimeout.toNanos();
+                    if (expired) {
+                        containersToStop.add(idleContainer.container);
+                    }
+                    return expired;
+                });
+                if (idle.isEmpty()) {
+                    iterator.remove();
+                }
+            }
+            size -= containersToStop.size();
+            if (!containersToStop.isEmpty()) {
+                notifyAll();
+            }
+        }
+        if (!containersToStop.isEmpty()) {
+            LOGGER.debug("Stopping {} idle Cypress container(s)", containersToStop.size());
+        }
+        containersToStop.forEach(CypressContainer::stop);
+    }
+
+    private IdleContainer removeOldestIdleContainer() {
+        Deque<IdleContainer> oldestDeque = null;
+        for (Deque<IdleContainer> idle : idleContainers.values()) {
+            if (!idle.isEmpty() && (oldestDeque == null || idle.peekLast().idleSince < oldestDeque.peekLast().idleSince)) {
+                oldestDeque = idle;
+            }
+        }
+        if (oldestDeque == null) {
+            return null;
+        }
+        IdleContainer oldest = oldestDeque.pollLast();
+        idleContainers.values().removeIf(Deque::isEmpty);
+        return oldest;
+    }
+
+    private static class IdleContainer {
+        private final CypressContainer container;
+        private final long idleSince;
+
+        IdleContainer(CypressContainer container, long idleSince) {
+            this.container = container;
+            this.idleSince = idleSince;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Generates load on an application with real browsers: the same specs are run over and over in multiple Cypress
+ * containers at the same time, for a number of iterations or for a fixed duration.
+ * <p>
+ * All containers are started first, with a {@link CypressContainer#withDeferredRun() deferred run}, so the start up
+ * time is not part of the measurements. Then every container runs the specs in a loop through <code>docker exec</code>.
+ * The durations of the tests and of the iterations are collected into a {@link CypressLoadTestResults}. The reports of
+ * each container are copied into a <code>load-&lt;n&gt;</code> subdirectory of the reports path.
+ * <p>
+ * Example usage:
+ * <pre>
+ * CypressLoadTestResults results = new CypressLoadTest(() -&gt; new CypressContainer().withBaseUrl(url).withSpec("cypress/e2e/checkout.cy.js"))
+ *         .withConcurrency(20)
+ *         .withDuration(Duration.ofMinutes(5))
+ *         .run();
+ * </pre>
+ */
+public class CypressLoadTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CypressLoadTest.class);
+    private static final String LOAD_REPORTS_PREFIX = "load-";
+
+    private final Supplier<CypressContainer> containerFactory;
+    private int concurrency = 1;
+    private int iterations = 1;
+    private Duration duration;
+
+    /**
+     * @param containerFactory creates a new (not started) container for each concurrent browser. All containers
+     *                         should run the same specs against the same base URL.
+     */
+    public CypressLoadTest(Supplier<CypressContainer> containerFactory) {
+        if (containerFactory == null) {
+            throw new IllegalArgumentException("containerFactory should not be null");
+        }
+        this.containerFactory = containerFactory;
+    }
+
+    /**
+     * Sets the number of containers that run the specs at the same time.
+     * <br>
+     * The default is <code>1</code>.
+     *
+     * @param concurrency the number of containers
+     * @return the current instance
+     */
+    public CypressLoadTest withConcurrency(int concurrency) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("concurrency should be a positive integer, but was " + concurrency);
+        }
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    /**
+     * Sets the number of times each container runs the specs. This replaces the duration set with
+     * {@link #withDuration(Duration)}.
+     * <br>
+     * The default is <code>1</code>.
+     *
+     * @param iterations the number of runs per container
+     * @return the current instance
+     */
+    public CypressLoadTest withIterations(int iterations) {
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("iterations should be a positive integer, but was " + iterations);
+        }
+        this.iterations = iterations;
+        this.duration = null;
+        return this;
+    }
+
+    /**
+     * Runs the specs over and over until the given duration has passed. An iteration that is running when the
+     * duration has passed is finished, so the load test takes a bit longer. This replaces the number of iterations set
+     * with {@link #withIterations(int)}.
+     *
+     * @param duration the duration of the load
+     * @return the current instance
+     */
+    public CypressLoadTest withDuration(Duration duration) {
+        if (duration == null || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("duration should be a positive duration, but was " + duration);
+        }
+        this.duration = duration;
+        return this;
+    }
+
+    /**
+     * Starts the containers, runs the load and stops the containers.
+     *
+     * @return the latency distribution and throughput of the tests
+     * @throws InterruptedException When the current thread was interrupted waiting on the Cypress tests to finish
+     * @throws TimeoutException     When an iteration did not finish within the maximum total test duration
+     * @throws IOException          When there was a problem parsing the Cypress test reports
+     */
+    public CypressLoadTestResults run() throws InterruptedException, TimeoutException, IOException {
+        ExecutorService executorService = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "cypress-load-test");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<CypressContainer> containers = new ArrayList<>();
+        try {
+            List<Future<CypressContainer>> starts = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                CypressContainer container = containerFactory.get();
+                Path reportsPath = container.getGatherTestResultsStrategy().getReportsPath();
+                if (!container.isDeferredRun()) {
+                    container.withDeferredRun();
+                }
+                container.withReportsCopiedTo(reportsPath.resolve(LOAD_REPORTS_PREFIX + (i + 1)));
+                containers.add(container);
+                starts.add(executorService.submit(() -> {
+                    container.start();
+                    return container;
+                }));
+            }
+            awaitAll(starts, "Starting the Cypress container");
+            LOGGER.info("Started {} Cypress container(s), starting the load", concurrency);
+
+            long startTime = System.nanoTime();
+            long deadline = duration != null ? startTime + duration.toNanos() : Long.MAX_VALUE;
+            List<Future<LoadSamples>> futures = new ArrayList<>();
+            for (CypressContainer container : containers) {
+                futures.add(executorService.submit(() -> runIterations(container, deadline)));
+            }
+            List<LoadSamples> samples = awaitAll(futures, "Running the Cypress load");
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - startTime);
+
+            CypressLoadTestResults results = merge(samples, elapsed);
+            LOGGER.info("{}", results);
+            return results;
+        } finally {
+            executorService.shutdownNow();
+            for (CypressContainer container : containers) {
+                container.stop();
+            }
+        }
+    }
+
+    private LoadSamples runIterations(CypressContainer container, long deadline) throws InterruptedException, TimeoutException, IOException {
+        LoadSamples samples = new LoadSamples();
+        int iteration = 0;
+        while (duration != null ? System.nanoTime() < deadline : iteration < iterations) {
+            long iterationStartTime = System.nanoTime();
+            container.runTests();
+            CypressTestResults results = container.getTestResults();
+            samples.add(results, Duration.ofNanos(System.nanoTime() - iterationStartTime));
+            iteration++;
+        }
+        return samples;
+    }
+
+    private CypressLoadTestResults merge(List<LoadSamples> samples, Duration elapsed) {
+        int numberOfTests = 0;
+        int numberOfFailingTests = 0;
+        List<Long> testDurations = new ArrayList<>();
+        List<Long> iterationDurations = new ArrayList<>();
+        for (LoadSamples sample : samples) {
+            numberOfTests += sample.numberOfTests;
+            numberOfFailingTests += sample.numberOfFailingTests;
+            testDurations.addAll(sample.testDurations);
+            iterationDurations.addAll(sample.iterationDurations);
+        }
+        return new CypressLoadTestResults(concurrency,
+                                          numberOfTests,
+                                          numberOfFailingTests,
+                                          testDurations.stream().mapToLong(Long::longValue).toArray(),
+                                          iterationDurations.stream().mapToLong(Long::longValue).toArray(),
+                                          elapsed);
+    }
+
+    private static <T> List<T> awaitAll(List<Future<T>> futures, String description) throws InterruptedException, TimeoutException, IOException {
+        List<T> values = new ArrayList<>();
+        List<Exception> failures = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                values.add(futures.get(i).get());
+            } catch (ExecutionException e) {
+                LOGGER.warn("{} {} failed", description, i + 1, e.getCause());
+                failures.add(ContainerRunFailures.asException(e.getCause()));
+            }
+        }
+        if (!failures.isEmpty()) {
+            ContainerRunFailures.rethrow(failures);
+        }
+        return values;
+    }
+
+    /**
+     * The durations measured by a single container. Tests without a duration in the reports (and the passing tests
+     * when only the details of failures are kept) are counted, but have no duration.
+     */
+    private static class LoadSamples {
+        private final List<Long> testDurations = new ArrayList<>();
+        private final List<Long> iterationDurations = new ArrayList<>();
+        private int numberOfTests;
+        private int numberOfFailingTests;
+
+        void add(CypressTestResults results, Duration iterationDuration) {
+            numberOfTests += results.getNumberOfTests();
+            numberOfFailingTests += results.getNumberOfFailingTests();
+            iterationDurations.add(iterationDuration.toMillis());
+            for (CypressTestSuite suite : results.getSuites()) {
+                for (CypressTest test : suite.getTests()) {
+                    if (test.getDuration() != null) {
+                        testDurations.add(test.getDuration().toMillis());
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * The results of a {@link CypressLoadTest}: the latency distribution of the test durations and of the iterations, and
+ * the throughput over all containers.
+ * <p>
+ * Percentiles use the nearest-rank method over all recorded durations.
+ */
+public class CypressLoadTestResults {
+    private final int concurrency;
+    private final int numberOfIterations;
+    private final int numberOfTests;
+    private final int numberOfFailingTests;
+    private final long[] testDurations;
+    private final long[] iterationDurations;
+    private final Duration elapsed;
+
+    /**
+     * @param testDurations      the durations of all tests in milliseconds
+     * @param iterationDurations the durations of all iterations in milliseconds
+     */
+    CypressLoadTestResults(int concurrency, int numberOfTests, int numberOfFailingTests, long[] testDurations, long[] iterationDurations, Duration elapsed) {
+        this.concurrency = concurrency;
+        this.numberOfIterations = iterationDurations.length;
+        this.numberOfTests = numberOfTests;
+        this.numberOfFailingTests = numberOfFailingTests;
+        this.testDurations = testDurations.clone();
+        this.iterationDurations = iterationDurations.clone();
+        this.elapsed = elapsed;
+        Arrays.sort(this.testDurations);
+        Arrays.sort(this.iterationDurations);
+    }
+
+    /**
+     * @return the number of containers that ran the tests at the same time
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * @return the number of runs of the specs, over all containers
+     */
+    public int getNumberOfIterations() {
+        return numberOfIterations;
+    }
+
+    /**
+     * @return the number of tests that were run, over all iterations
+     */
+    public int getNumberOfTests() {
+        return numberOfTests;
+    }
+
+    public int getNumberOfFailingTests() {
+        return numberOfFailingTests;
+    }
+
+    /**
+     * @return the time between the start of the first iteration and the end of the last one
+     */
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * @param percentile the percentile, between 0 (exclusive) and 100 (inclusive)
+     * @return the duration of a test at the given percentile, or <code>null</code> if no test durations were recorded
+     */
+    public Duration getTestDurationPercentile(double percentile) {
+        return percentile(testDurations, percentile);
+    }
+
+    public Duration getTestDurationP50() {
+        return getTestDurationPercentile(50);
+    }
+
+    public Duration getTestDurationP95() {
+        return getTestDurationPercentile(95);
+    }
+
+    public Duration getTestDurationP99() {
+        return getTestDurationPercentile(99);
+    }
+
+    /**
+     * @param percentile the percentile, between 0 (exclusive) and 100 (inclusive)
+     * @return the duration of an iteration at the given percentile, or <code>null</code> if there were no iterations
+     */
+    public Duration getIterationDurationPercentile(double percentile) {
+        return percentile(iterationDurations, percentile);
+    }
+
+    /**
+     * @return the number of tests that were run per second, over all containers
+     */
+    public double getTestsPerSecond() {
+        return perSecond(numberOfTests);
+    }
+
+    /**
+     * @return the number of iterations that were run per second, over all containers
+     */
+    public double getIterationsPerSecond() {
+        return perSecond(numberOfIterations);
+    }
+
+    private double perSecond(int count) {
+        long elapsedMillis = elapsed.toMillis();
+        return elapsedMillis > 0 ? count * 1000.0 / elapsedMillis : 0;
+    }
+
+    private static Duration percentile(long[] sortedDurations, double percentile) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile should be between 0 (exclusive) and 100 (inclusive), but was " + percentile);
+        }
+        if (sortedDurations.length == 0) {
+            return null;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sortedDurations.length);
+        return Duration.ofMillis(sortedDurations[Math.max(0, rank - 1)]);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Cypress load test with %s container(s): %s iteration(s) in %s\n" +
+                                     "Cypress tests run: %s (%.2f/s)\n" +
+                                     "Cypress tests failing: %s\n" +
+                                     "Cypress test duration p50: %s, p95: %s, p99: %s",
+                             concurrency,
+                             numberOfIterations,
+                             elapsed,
+                             numberOfTests,
+                             getTestsPerSecond(),
+                             numberOfFailingTests,
+                             getTestDurationP50(),
+                             getTestDurationP95(),
+                             getTestDurationP99());
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import org.testcontainers.containers.output.OutputFrame;
+
+/**
+ * Receives the output of the Cypress run, line by line, together with the events that are parsed from it. Register
+ * a listener with {@link CypressContainer#withOutputListener(CypressOutputListener)}, e.g. to track the progress of a
+ * run or to collect metrics.
+ * <p>
+ * The methods are called on the thread that follows the container output, so they should return quickly.
+ */
+public interface CypressOutputListener {
+    /**
+     * Called for every complete line of output.
+     *
+     * @param type the stream the line was written to
+     * @param line the line, without the line terminator and surrounding whitespace
+     */
+    default void onLine(OutputFrame.OutputType type, String line) {
+    }
+
+    /**
+     * Called when Cypress starts running a spec.
+     *
+     * @param spec the spec as printed by Cypress (e.g. <code>todos.cy.js</code>)
+     */
+    default void onSpecStarted(String spec) {
+    }
+
+    /**
+     * Called when a <code>cypress run</code> has finished all its specs.
+     */
+    default void onRunFinished() {
+    }
+}
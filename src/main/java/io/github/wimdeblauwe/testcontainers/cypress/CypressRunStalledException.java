@@ -0,0 +1,38 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Thrown when a Cypress run stalled, because there was no output for longer than the
+ * {@link CypressContainer#withOutputStallTimeout(Duration) output stall timeout}, or a spec took longer than the
+ * {@link CypressContainer#withMaximumSpecDuration(Duration) maximum spec duration}.
+ */
+public class CypressRunStalledException extends TimeoutException {
+    private static final long serialVersionUID = 1L;
+
+    private final String stalledSpec;
+    private final transient CypressTestResults partialResults;
+
+    CypressRunStalledException(String reason, String stalledSpec, CypressTestResults partialResults) {
+        super("Cypress run stalled: " + reason);
+        this.stalledSpec = stalledSpec;
+        this.partialResults = partialResults;
+    }
+
+    /**
+     * @return the spec that was running when the run stalled (separated by commas if multiple workers were running a
+     * spec), or <code>null</code> if no spec was running
+     */
+    public String getStalledSpec() {
+        return stalledSpec;
+    }
+
+    /**
+     * @return the results of the specs that finished before the run stalled, or <code>null</code> if they could
+     * not be gathered
+     */
+    public CypressTestResults getPartialResults() {
+        return partialResults;
+    }
+}
@@ -0,0 +1,227 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Splits the specs over multiple Cypress containers that run in parallel, and merges their results. The number of
+ * containers is chosen by a {@link ShardPlanner}.
+ * <p>
+ * Each container gets its sources {@link CypressContainer#withCopiedSources() copied} into it, and the reports of each
+ * shard are copied back into a <code>shard-&lt;n&gt;</code> subdirectory of the reports path. While the containers run,
+ * their CPU and memory usage is measured and stored next to the reports, so the planner can use it for the next run.
+ * <p>
+ * With a planner that has {@link ShardPlanner#withDockerEndpoints(DockerEndpoint...) multiple Docker endpoints}, each
+ * container runs on the endpoint the plan assigned it to, and the results of all endpoints are merged.
+ * <p>
+ * Example usage:
+ * <pre>
+ * CypressTestResults results = new CypressShards(() -&gt; new CypressContainer().withLocalServerPort(port))
+ *         .run();
+ * </pre>
+ */
+public class CypressShards {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CypressShards.class);
+    private static final String SHARD_REPORTS_PREFIX = "shard-";
+
+    private final Supplier<CypressContainer> containerFactory;
+    private List<String> specs;
+    private ShardPlanner shardPlanner;
+    private ShardPlan lastPlan;
+    private RunTimeline runTimeline;
+
+    /**
+     * @param containerFactory creates a new (not started) container for each shard. The specs are set by the shards,
+     *                         replacing the specs of the factory. A shard can run its specs with
+     *                         {@link CypressContainer#withWorkers(int) multiple workers}.
+     */
+    public CypressShards(Supplier<CypressContainer> containerFactory) {
+        if (containerFactory == null) {
+            throw new IllegalArgumentException("containerFactory should not be null");
+        }
+        this.containerFactory = containerFactory;
+    }
+
+    /**
+     * Sets the specs to run. By default, the specs are found with the default spec pattern of Cypress
+     * (<code>cypress/e2e/**&#47;*.cy.{js,jsx,ts,tsx}</code>) in the sources.
+     *
+     * @param specs the paths of the specs (e.g. <code>cypress/e2e/todos.cy.js</code>), relative to the project
+     * @return the current instance
+     */
+    public CypressShards withSpecs(List<String> specs) {
+        if (specs == null || specs.isEmpty()) {
+            throw new IllegalArgumentException("specs should not be empty");
+        }
+        this.specs = new ArrayList<>(specs);
+        return this;
+    }
+
+    /**
+     * Sets the planner that chooses the number of containers. By default, a planner is used that reads the reports of
+     * earlier runs from the reports path of the containers.
+     *
+     * @param shardPlanner the planner
+     * @return the current instance
+     */
+    public CypressShards withShardPlanner(ShardPlanner shardPlanner) {
+        if (shardPlanner == null) {
+            throw new IllegalArgumentException("shardPlanner should not be null");
+        }
+        this.shardPlanner = shardPlanner;
+        return this;
+    }
+
+    /**
+     * Records the setup phases, specs and tests of every shard on its own track of the given timeline.
+     *
+     * @param runTimeline the timeline to record on
+     * @return the current instance
+     */
+    public CypressShards withRunTimeline(RunTimeline runTimeline) {
+        if (runTimeline == null) {
+            throw new IllegalArgumentException("runTimeline should not be null");
+        }
+        this.runTimeline = runTimeline;
+        return this;
+    }
+
+    /**
+     * @return the plan of the last run, or <code>null</code> if there was no run yet
+     */
+    public ShardPlan getLastPlan() {
+        return lastPlan;
+    }
+
+    /**
+     * Plans the shards, runs them in parallel and waits until they are all done.
+     *
+     * @return the merged results of all shards
+     * @throws InterruptedException When the current thread was interrupted waiting on the Cypress tests to finish
+     * @throws TimeoutException     When the tests of a shard did not finish within the maximum total test duration
+     * @throws IOException          When there was a problem parsing the Cypress test reports
+     */
+    public CypressTestResults run() throws InterruptedException, TimeoutException, IOException {
+        Path reportsPath;
+        List<String> specsToRun = specs;
+        try (CypressContainer probe = containerFactory.get()) {
+            reportsPath = probe.getGatherTestResultsStrategy().getReportsPath();
+            if (specsToRun == null) {
+                specsToRun = SpecDiscovery.discover(probe.getSourcesDirectory(), probe.isComponentTesting());
+                if (specsToRun.isEmpty()) {
+                    throw new IllegalStateException("No specs found in " + probe.getSourcesDirectory() + ", use withSpecs() to set them");
+                }
+            }
+        }
+        ShardPlanner planner = shardPlanner != null ? shardPlanner : new ShardPlanner(reportsPath);
+        ShardPlan plan = planner.plan(specsToRun);
+        lastPlan = plan;
+
+        List<List<String>> shards = plan.getShards();
+        ExecutorService executorService = Executors.newFixedThreadPool(shards.size(), runnable -> {
+            Thread thread = new Thread(runnable, "cypress-shards");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<ShardResult>> futures = new ArrayList<>();
+            for (int i = 0; i < shards.size(); i++) {
+                int shard = i + 1;
+                List<String> shardSpecs = shards.get(i);
+                DockerEndpoint dockerEndpoint = plan.getDockerEndpoints().isEmpty() ? null : plan.getDockerEndpoints().get(i);
+                futures.add(executorService.submit(() -> runShard(shard, shardSpecs, dockerEndpoint, reportsPath)));
+            }
+
+            CypressTestResults results = new CypressTestResults();
+            ContainerResourceUsage usage = null;
+            List<Exception> failures = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    ShardResult shardResult = futures.get(i).get();
+                    results.addResults(shardResult.results);
+                    if (shardResult.usage != null) {
+                        usage = usage == null ? shardResult.usage : usage.max(shardResult.usage);
+                    }
+                } catch (ExecutionException e) {
+                    LOGGER.warn("Running the Cypress tests of shard {} failed", i + 1, e.getCause());
+                    failures.add(ContainerRunFailures.asException(e.getCause()));
+                }
+            }
+            if (usage != null) {
+                writeUsage(usage, planner.getReportsPath());
+            }
+            if (!failures.isEmpty()) {
+                ContainerRunFailures.rethrow(failures);
+            }
+            LOGGER.info("{}", results);
+            return results;
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private ShardResult runShard(int shard, List<String> shardSpecs, DockerEndpoint dockerEndpoint, Path reportsPath) throws InterruptedException, TimeoutException, IOException {
+        try (CypressContainer container = containerFactory.get();
+             ContainerResourceMonitor monitor = new ContainerResourceMonitor()) {
+            long startTime = System.nanoTime();
+            AtomicLong firstSpecTime = new AtomicLong();
+            container.withSpecs(shardSpecs)
+                     .withReportsCopiedTo(reportsPath.resolve(SHARD_REPORTS_PREFIX + shard))
+                     .withOutputListener(new CypressOutputListener() {
+                         @Override
+                         public void onSpecStarted(String spec) {
+                             firstSpecTime.compareAndSet(0, System.nanoTime());
+                         }
+                     });
+            if (runTimeline != null) {
+                container.withRunTimeline(runTimeline, SHARD_REPORTS_PREFIX + shard);
+            }
+            if (dockerEndpoint != null) {
+                container.withDockerEndpoint(dockerEndpoint);
+            }
+            LOGGER.info("Starting shard {} with {} spec(s){}", shard, shardSpecs.size(), dockerEndpoint != null ? " on " + dockerEndpoint : "");
+            container.start();
+            container.getDockerClient().statsCmd(container.getContainerId()).exec(monitor);
+            if (container.isDeferredRun()) {
+                container.runTests();
+            }
+            CypressTestResults results = container.getTestResults();
+            ContainerResourceUsage usage = null;
+            if (monitor.hasSamples() && firstSpecTime.get() != 0) {
+                usage = monitor.getUsage(Duration.ofNanos(firstSpecTime.get() - startTime));
+            }
+            return new ShardResult(results, usage);
+        }
+    }
+
+    private static void writeUsage(ContainerResourceUsage usage, Path reportsPath) {
+        try {
+            usage.write(reportsPath);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to store the resource usage of the Cypress containers", e);
+        }
+    }
+
+    private static class ShardResult {
+        private final CypressTestResults results;
+        private final ContainerResourceUsage usage;
+
+        ShardResult(CypressTestResults results, ContainerResourceUsage usage) {
+            this.results = results;
+            this.usage = usage;
+        }
+    }
+}
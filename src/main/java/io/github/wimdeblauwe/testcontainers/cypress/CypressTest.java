@@ -1,10 +1,17 @@
 package io.github.wimdeblauwe.testcontainers.cypress;
 
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
 public class CypressTest {
     private String description;
     private boolean success;
     private String errorMessage;
     private String stackTrace;
+    private Duration duration;
+    private List<PageMetrics> pageMetrics = Collections.emptyList();
+    private BackendLatency backendLatency;
 
     public CypressTest(String description, boolean success) {
         this.description = description;
@@ -18,6 +25,11 @@ public class CypressTest {
         this.stackTrace = stackTrace;
     }
 
+    public CypressTest(String description, boolean success, String errorMessage, String stackTrace, Duration duration) {
+        this(description, success, errorMessage, stackTrace);
+        this.duration = duration;
+    }
+
     public String getDescription() {
         return description;
     }
@@ -41,4 +53,35 @@ public class CypressTest {
     public void setStackTrace(String stackTrace) {
         this.stackTrace = stackTrace;
     }
+
+    /**
+     * @return the duration of the test as reported by Cypress, or <code>null</code> if it is unknown
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return the performance metrics of the pages that were loaded during the test. This is only filled in when
+     * the container runs {@link CypressContainer#withPageMetrics() with page metrics}.
+     */
+    public List<PageMetrics> getPageMetrics() {
+        return pageMetrics;
+    }
+
+    void setPageMetrics(List<PageMetrics> pageMetrics) {
+        this.pageMetrics = Collections.unmodifiableList(pageMetrics);
+    }
+
+    /**
+     * @return the latency of the requests to the application during the test, or <code>null</code> if the test made
+     * no requests or the container does not run {@link CypressContainer#withBackendLatency() with backend latency}
+     */
+    public BackendLatency getBackendLatency() {
+        return backendLatency;
+    }
+
+    void setBackendLatency(BackendLatency backendLatency) {
+        this.backendLatency = backendLatency;
+    }
 }
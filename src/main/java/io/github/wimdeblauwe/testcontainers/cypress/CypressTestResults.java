@@ -1,13 +1,51 @@
 package io.github.wimdeblauwe.testcontainers.cypress;
 
-import java.util.ArrayList;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+/**
+ * The results of a Cypress run.
+ * <p>
+ * Repeated titles, descriptions and error messages, and identical stack traces, are only stored once. With
+ * {@link MochawesomeGatherTestResultsStrategy#MochawesomeGatherTestResultsStrategy(Path, boolean) failures detail only},
+ * the passing tests are only counted.
+ * <p>
+ * The suites and tests are indexed on the first lookup, so looking them up by spec file, suite title or test
+ * description does not scan all results. When the suites or their tests are changed, the index is rebuilt on the next
+ * lookup. A suite is a top-level <code>describe</code> block of a spec: the tests of nested blocks are part of the
+ * suite of their top-level block, with the titles of the nested blocks in front of their description (separated by
+ * <code>" &gt; "</code>).
+ */
 public class CypressTestResults {
     private int numberOfTests;
     private int numberOfPassingTests;
     private int numberOfFailingTests;
-    private List<CypressTestSuite> suites = new ArrayList<>();
+    private final ModificationCountingList<CypressTestSuite> suites = new ModificationCountingList<>();
+    private final boolean failuresDetailOnly;
+    private final Map<String, String> strings = new HashMap<>();
+    private TestResultsIndex index;
+    private long indexedModificationCount = -1;
+
+    public CypressTestResults() {
+        this(false);
+    }
+
+    /**
+     * @param failuresDetailOnly true to only keep the failing tests of each suite. The passing tests are still
+     *                           counted in {@link #getNumberOfPassingTests()}, but are not part of
+     *                           {@link CypressTestSuite#getTests()}.
+     */
+    CypressTestResults(boolean failuresDetailOnly) {
+        this.failuresDetailOnly = failuresDetailOnly;
+    }
 
     public int getNumberOfTests() {
         return numberOfTests;
@@ -49,10 +87,195 @@ public class CypressTestResults {
         return suites;
     }
 
+    /**
+     * @return the suites that are defined in the given spec file (e.g. <code>cypress/e2e/todos.cy.js</code>), in the
+     * order they were read
+     */
+    public List<CypressTestSuite> getSuitesBySpecFile(String specFile) {
+        return Collections.unmodifiableList(getIndex().suitesBySpecFile(specFile));
+    }
+
+    /**
+     * @return the suites with the given title. Different spec files can have suites with the same title.
+     */
+    public List<CypressTestSuite> getSuitesByTitle(String title) {
+        return Collections.unmodifiableList(getIndex().suitesByTitle(title));
+    }
+
+    /**
+     * @return the spec files of all suites, in the order they were read
+     */
+    public Set<String> getSpecFiles() {
+        Set<String> specFiles = new LinkedHashSet<>();
+        for (CypressTestSuite suite : suites) {
+            if (suite.getSpecFile() != null) {
+                specFiles.add(suite.getSpecFile());
+            }
+        }
+        return Collections.unmodifiableSet(specFiles);
+    }
+
+    /**
+     * @param suiteTitle  the title of the suite
+     * @param description the description of the test
+     * @return the first test with the given description in a suite with the given title
+     */
+    public Optional<CypressTest> getTest(String suiteTitle, String description) {
+        return Optional.ofNullable(getIndex().findTest(suiteTitle, description));
+    }
+
+    /**
+     * @return the tests with the given description, over all suites
+     */
+    public List<CypressTest> getTestsByDescription(String description) {
+        return Collections.unmodifiableList(getIndex().testsByDescription(description));
+    }
+
+    /**
+     * @return the failing tests of all suites
+     */
+    public List<CypressTest> getFailingTests() {
+        return Collections.unmodifiableList(getIndex().failingTests());
+    }
+
+    public Stream<CypressTestSuite> suites() {
+        return getSuites().stream();
+    }
+
+    public Stream<CypressTest> tests() {
+        return suites().flatMap(suite -> suite.getTests().stream());
+    }
+
+    public Stream<CypressTest> failingTests() {
+        return getFailingTests().stream();
+    }
+
+    /**
+     * @return true if only the failing tests are kept in the suites
+     */
+    public boolean isFailuresDetailOnly() {
+        return failuresDetailOnly;
+    }
+
     void addSuites(List<CypressTestSuite> suites) {
         this.suites.addAll(suites);
     }
 
+    /**
+     * Adds the counts and suites of the given results, e.g. to merge the results of runs that ran in parallel.
+     */
+    void addResults(CypressTestResults results) {
+        addNumberOfTests(results.getNumberOfTests());
+        addNumberOfPassingTests(results.getNumberOfPassingTests());
+        addNumberOfFailingTests(results.getNumberOfFailingTests());
+        addSuites(results.getSuites());
+    }
+
+    int addSuite(String title) {
+        return addSuite(title, null, null);
+    }
+
+    /**
+     * @param specFile   the spec file the suite is defined in, or <code>null</code> if it is not known
+     * @param reportFile the report file the suite was read from, or <code>null</code> if it is not known
+     * @return the index of the added suite
+     */
+    int addSuite(String title, String specFile, Path reportFile) {
+        suites.add(new CypressTestSuite(intern(title), intern(specFile), reportFile));
+        return suites.size() - 1;
+    }
+
+    /**
+     * @return the added test, or <code>null</code> if it passed and only the details of failures are kept
+     */
+    CypressTest addTest(int suite, String description, boolean success, String errorMessage, String stackTrace, Duration duration) {
+        if (success && failuresDetailOnly) {
+            return null;
+        }
+        CypressTest test = new CypressTest(intern(description), success, intern(errorMessage), intern(stackTrace), duration);
+        suites.get(suite).add(test);
+        return test;
+    }
+
+    void setPageMetrics(CypressTest test, List<PageMetrics> pageMetrics) {
+        if (test != null && !pageMetrics.isEmpty()) {
+            test.setPageMetrics(pageMetrics);
+        }
+    }
+
+    /**
+     * Attaches the backend latency to the first test with the given description in a suite with the given title.
+     *
+     * @return true if the test was found. Passing tests are not found when only the details of failures are kept.
+     */
+    boolean setBackendLatency(String suiteTitle, String description, BackendLatency backendLatency) {
+        CypressTest test = getIndex().findTest(suiteTitle, description);
+        if (test == null) {
+            return false;
+        }
+        test.setBackendLatency(backendLatency);
+        return true;
+    }
+
+    private String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String interned = strings.putIfAbsent(value, value);
+        return interned != null ? interned : value;
+    }
+
+    /**
+     * @return the index of the suites and tests, rebuilt if they changed since it was built
+     */
+    private TestResultsIndex getIndex() {
+        long modificationCount = getModificationCount();
+        TestResultsIndex current = index;
+        if (current == null || modificationCount != indexedModificationCount) {
+            current = new TestResultsIndex(suites);
+            index = current;
+            indexedModificationCount = modificationCount;
+        }
+        return current;
+    }
+
+    /**
+     * The changes of the suite list are kept in the high bits, so removing a suite with its tests can not bring the
+     * count back to an earlier value.
+     */
+    private long getModificationCount() {
+        long testsModificationCount = 0;
+        for (CypressTestSuite suite : suites) {
+            testsModificationCount += suite.getModificationCount();
+        }
+        return ((long) suites.getModificationCount() << 32) + testsModificationCount;
+    }
+
+    /**
+     * Compares the duration of each test with the given baseline.
+     *
+     * @param baseline the durations of an earlier run
+     * @param budget   how much slower than the baseline a test is allowed to be
+     * @return the report with the tests that went over budget
+     */
+    public PerformanceBudgetReport compareWith(PerformanceBaseline baseline, PerformanceBudget budget) {
+        if (baseline == null) {
+            throw new IllegalArgumentException("baseline should not be null");
+        }
+        if (budget == null) {
+            throw new IllegalArgumentException("budget should not be null");
+        }
+        return budget.check(this, baseline);
+    }
+
+    /**
+     * Returns the key that identifies a test across runs: the suite title and the test description, separated
+     * by <code>" &gt; "</code>.
+     */
+    static String getTestKey(String suiteTitle, String description) {
+        return suiteTitle + " > " + description;
+    }
+
     @Override
     public String toString() {
         return String.format("Cypress tests run: %s\n" +
@@ -1,22 +1,44 @@
 package io.github.wimdeblauwe.testcontainers.cypress;
 
-import java.util.ArrayList;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.StringJoiner;
 
 public class CypressTestSuite {
-    private List<CypressTest> tests = new ArrayList<>();
-    private String title;
+    private final ModificationCountingList<CypressTest> tests = new ModificationCountingList<>();
+    private final String title;
+    private final String specFile;
+    private final Path reportFile;
 
     public CypressTestSuite(String title) {
+        this(title, null, null);
+    }
 
+    CypressTestSuite(String title, String specFile, Path reportFile) {
         this.title = title;
+        this.specFile = specFile;
+        this.reportFile = reportFile;
     }
 
     public String getTitle() {
         return title;
     }
 
+    /**
+     * @return the spec file the suite is defined in (e.g. <code>cypress/e2e/todos.cy.js</code>), or <code>null</code>
+     * if the report does not mention it
+     */
+    public String getSpecFile() {
+        return specFile;
+    }
+
+    /**
+     * @return the report file the suite was read from, or <code>null</code> if it is not known
+     */
+    public Path getReportFile() {
+        return reportFile;
+    }
+
     public List<CypressTest> getTests() {
         return tests;
     }
@@ -25,10 +47,15 @@ public class CypressTestSuite {
         tests.add(cypressTest);
     }
 
+    int getModificationCount() {
+        return tests.getModificationCount();
+    }
+
     @Override
     public String toString() {
         return new StringJoiner(", ", CypressTestSuite.class.getSimpleName() + "[", "]")
                 .add("title='" + title + "'")
+                .add("specFile='" + specFile + "'")
                 .add("tests=" + tests.size())
                 .toString();
     }
@@ -0,0 +1,149 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import com.github.dockerjava.api.model.Network;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.DockerClientFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Decides how a Cypress container can reach a server on the host without going through the Testcontainers
+ * port forwarding container.
+ * <p>
+ * This is only possible with a native Docker daemon on Linux, when the JVM itself does not run in a container (as the
+ * host network then is not the network of the JVM). The container then either uses the host network (and
+ * reaches the server on <code>localhost</code>), or, when the container is attached to another network, connects to the
+ * gateway IP address of the Docker bridge network. In all other cases, <code>host.testcontainers.internal</code> is used.
+ */
+final class DirectHostAccess {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DirectHostAccess.class);
+    private static final String[] CONTAINER_MARKER_FILES = {"/.dockerenv", "/run/.containerenv"};
+    private static final String[] CONTAINER_CGROUP_MARKERS = {"docker", "kubepods", "containerd", "libpod", "lxc"};
+
+    enum Mode {
+        HOST_NETWORK,
+        BRIDGE_GATEWAY,
+        PORT_FORWARDING
+    }
+
+    private final Mode mode;
+    private final String host;
+
+    private DirectHostAccess(Mode mode, String host) {
+        this.mode = mode;
+        this.host = host;
+    }
+
+    Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return the host name or IP address to use in the base URL, or <code>null</code> for {@link Mode#PORT_FORWARDING}
+     */
+    String getHost() {
+        return host;
+    }
+
+    static DirectHostAccess resolve(boolean customNetwork) {
+        try {
+            DockerClientFactory factory = DockerClientFactory.instance();
+            return decide(System.getProperty("os.name"),
+                          factory.getTransportConfig().getDockerHost().getScheme(),
+                          factory.getInfo().getOperatingSystem(),
+                          isJvmInContainer(),
+                          customNetwork,
+                          () -> findBridgeGateway(factory));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Unable to determine if the host can be reached directly, falling back to host.testcontainers.internal", e);
+            return portForwarding();
+        }
+    }
+
+    static DirectHostAccess decide(String osName,
+                                   String dockerHostScheme,
+                                   String dockerOperatingSystem,
+                                   boolean jvmInContainer,
+                                   boolean customNetwork,
+                                   Supplier<String> bridgeGateway) {
+        if (osName == null || !osName.toLowerCase(Locale.ROOT).startsWith("linux")) {
+            LOGGER.debug("Not running on Linux ({}), using host.testcontainers.internal", osName);
+            return portForwarding();
+        }
+        if (!"unix".equals(dockerHostScheme)) {
+            LOGGER.debug("Docker daemon is not local ({}), using host.testcontainers.internal", dockerHostScheme);
+            return portForwarding();
+        }
+        if (dockerOperatingSystem != null && dockerOperatingSystem.contains("Docker Desktop")) {
+            LOGGER.debug("Docker daemon runs in a virtual machine ({}), using host.testcontainers.internal", dockerOperatingSystem);
+            return portForwarding();
+        }
+        if (jvmInContainer) {
+            LOGGER.debug("The JVM runs in a container, using host.testcontainers.internal");
+            return portForwarding();
+        }
+        if (!customNetwork) {
+            return new DirectHostAccess(Mode.HOST_NETWORK, "localhost");
+        }
+        String gateway = bridgeGateway.get();
+        if (gateway == null) {
+            LOGGER.debug("Unable to find the gateway of the Docker bridge network, using host.testcontainers.internal");
+            return portForwarding();
+        }
+        return new DirectHostAccess(Mode.BRIDGE_GATEWAY, gateway);
+    }
+
+    /**
+     * Detects a JVM that runs in a container in the same way as Testcontainers: by the marker files of Docker and Podman,
+     * or by the control groups of the init process.
+     */
+    private static boolean isJvmInContainer() {
+        for (String markerFile : CONTAINER_MARKER_FILES) {
+            if (Files.exists(Paths.get(markerFile))) {
+                return true;
+            }
+        }
+        Path cgroup = Paths.get("/proc/1/cgroup");
+        if (!Files.isReadable(cgroup)) {
+            return false;
+        }
+        try {
+            for (String line : Files.readAllLines(cgroup, StandardCharsets.UTF_8)) {
+                for (String marker : CONTAINER_CGROUP_MARKERS) {
+                    if (line.contains(marker)) {
+                        return true;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Unable to read {}", cgroup, e);
+        }
+        return false;
+    }
+
+    private static DirectHostAccess portForwarding() {
+        return new DirectHostAccess(Mode.PORT_FORWARDING, null);
+    }
+
+    private static String findBridgeGateway(DockerClientFactory factory) {
+        Network bridge = factory.client().inspectNetworkCmd().withNetworkId("bridge").exec();
+        if (bridge.getIpam() == null || bridge.getIpam().getConfig() == null) {
+            return null;
+        }
+        List<Network.Ipam.Config> configs = bridge.getIpam().getConfig();
+        for (Network.Ipam.Config config : configs) {
+            if (config.getGateway() != null) {
+                return config.getGateway();
+            }
+        }
+        return null;
+    }
+}
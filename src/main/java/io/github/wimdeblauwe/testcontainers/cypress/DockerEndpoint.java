@@ -0,0 +1,129 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.model.Info;
+import org.testcontainers.dockerclient.DockerClientProviderStrategy;
+import org.testcontainers.dockerclient.TransportConfig;
+
+import javax.net.ssl.SSLContext;
+import java.net.URI;
+
+/**
+ * A Docker daemon to run Cypress containers on, other than the one Testcontainers uses (e.g.
+ * <code>tcp://build-2.example.com:2376</code> or <code>unix:///var/run/docker-2.sock</code>).
+ * <p>
+ * The capacity of the daemon (CPUs and memory) is asked from the daemon, unless it is set with
+ * {@link #withCapacity(int, long)}.
+ */
+public class DockerEndpoint {
+    private final URI dockerHost;
+    private SSLContext sslContext;
+    private int cpus;
+    private long memoryBytes;
+    private volatile DockerClient dockerClient;
+
+    private DockerEndpoint(URI dockerHost) {
+        this.dockerHost = dockerHost;
+    }
+
+    /**
+     * @param dockerHost the address of the Docker daemon, in the format of <code>DOCKER_HOST</code>
+     * @return a new endpoint
+     */
+    public static DockerEndpoint of(String dockerHost) {
+        if (dockerHost == null || dockerHost.trim().isEmpty()) {
+            throw new IllegalArgumentException("dockerHost should not be blank");
+        }
+        return new DockerEndpoint(URI.create(dockerHost));
+    }
+
+    /**
+     * Connects to the daemon with TLS, using the given SSL context. It should hold the client certificate and key,
+     * and trust the certificate authority of the daemon.
+     *
+     * @param sslContext the SSL context
+     * @return the current instance
+     */
+    public DockerEndpoint withSslContext(SSLContext sslContext) {
+        if (sslContext == null) {
+            throw new IllegalArgumentException("sslContext should not be null");
+        }
+        this.sslContext = sslContext;
+        return this;
+    }
+
+    /**
+     * Sets the capacity of the daemon instead of asking the daemon for it, e.g. to only use part of a shared host.
+     *
+     * @param cpus        the number of CPUs
+     * @param memoryBytes the memory in bytes
+     * @return the current instance
+     */
+    public DockerEndpoint withCapacity(int cpus, long memoryBytes) {
+        if (cpus <= 0) {
+            throw new IllegalArgumentException("cpus should be a positive integer, but was " + cpus);
+        }
+        if (memoryBytes <= 0) {
+            throw new IllegalArgumentException("memoryBytes should be positive, but was " + memoryBytes);
+        }
+        this.cpus = cpus;
+        this.memoryBytes = memoryBytes;
+        return this;
+    }
+
+    public URI getDockerHost() {
+        return dockerHost;
+    }
+
+    /**
+     * @return the number of CPUs of the daemon
+     */
+    public int getCpus() {
+        resolveCapacity();
+        return cpus;
+    }
+
+    /**
+     * @return the memory of the daemon in bytes
+     */
+    public long getMemoryBytes() {
+        resolveCapacity();
+        return memoryBytes;
+    }
+
+    DockerClient getDockerClient() {
+        DockerClient client = dockerClient;
+        if (client == null) {
+            synchronized (this) {
+                client = dockerClient;
+                if (client == null) {
+                    TransportConfig.TransportConfigBuilder config = TransportConfig.builder().dockerHost(dockerHost);
+                    if (sslContext != null) {
+                        SSLContext context = sslContext;
+                        config.sslConfig(() -> context);
+                    }
+                    client = DockerClientProviderStrategy.getClientForConfig(config.build());
+                    dockerClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    private synchronized void resolveCapacity() {
+        if (cpus > 0) {
+            return;
+        }
+        Info info = getDockerClient().infoCmd().exec();
+        if (info.getNCPU() == null || info.getNCPU() <= 0 || info.getMemTotal() == null || info.getMemTotal() <= 0) {
+            throw new IllegalStateException("Docker daemon " + dockerHost + " did not report its capacity, use withCapacity() to set it");
+        }
+        cpus = info.getNCPU();
+        memoryBytes = info.getMemTotal();
+    }
+
+    @Override
+    public String toString() {
+        return dockerHost.toString();
+    }
+}
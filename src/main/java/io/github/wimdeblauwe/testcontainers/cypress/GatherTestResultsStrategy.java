@@ -7,4 +7,29 @@ public interface GatherTestResultsStrategy {
     CypressTestResults gatherTestResults() throws IOException;
 
     Path getReportsPath();
+
+    /**
+     * Tells if this strategy can gather the test results from another directory than the
+     * {@link #getReportsPath() reports path}, with {@link #gatherTestResults(Path)}. Separate run directories and
+     * multiple workers require this.
+     *
+     * @return <code>true</code> if {@link #gatherTestResults(Path)} is implemented, <code>false</code> by default
+     */
+    default boolean supportsReportsPath() {
+        return false;
+    }
+
+    /**
+     * Gathers the test results from the given directory instead of the {@link #getReportsPath() reports path}.
+     * This is used when the reports of a run are put in a separate directory, for example to keep the reports
+     * of containers that run in parallel apart. It is only called if {@link #supportsReportsPath()} returns
+     * <code>true</code>.
+     *
+     * @param reportsPath the directory to read the reports from
+     * @return the test results
+     * @throws IOException when there was a problem reading the reports
+     */
+    default CypressTestResults gatherTestResults(Path reportsPath) throws IOException {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support gathering test results from " + reportsPath);
+    }
 }
@@ -0,0 +1,73 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Orders the specs so failures surface as early as possible, using the Mochawesome reports of earlier runs:
+ * <ol>
+ *     <li>specs that failed in their last run, slowest first</li>
+ *     <li>specs without an earlier run, in the given order</li>
+ *     <li>the other specs, slowest first</li>
+ * </ol>
+ * The reports are read from the reports path and the run directories below it (see
+ * {@link CypressContainer#withAutoCleanReports(boolean)}).
+ */
+public class HistoricalSpecOrderingStrategy implements SpecOrderingStrategy {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HistoricalSpecOrderingStrategy.class);
+
+    private final Path reportsPath;
+
+    public HistoricalSpecOrderingStrategy() {
+        this(FileSystems.getDefault().getPath("target", "test-classes", "e2e", "cypress", "reports", "mochawesome"));
+    }
+
+    /**
+     * @param reportsPath the path where the Mochawesome JSON reports of earlier runs are
+     */
+    public HistoricalSpecOrderingStrategy(Path reportsPath) {
+        if (reportsPath == null) {
+            throw new IllegalArgumentException("reportsPath should not be null");
+        }
+        this.reportsPath = reportsPath;
+    }
+
+    @Override
+    public List<String> order(List<String> specs) {
+        SpecHistory history = SpecHistory.read(reportsPath);
+        List<String> failing = new ArrayList<>();
+        List<String> unknown = new ArrayList<>();
+        List<String> passing = new ArrayList<>();
+        for (String spec : specs) {
+            Optional<SpecHistory.SpecRun> lastRun = history.getLastRun(spec);
+            if (!lastRun.isPresent()) {
+                unknown.add(spec);
+            } else if (lastRun.get().isFailed()) {
+                failing.add(spec);
+            } else {
+                passing.add(spec);
+            }
+        }
+        Comparator<String> slowestFirst = Comparator.comparing((String spec) -> history.getLastRun(spec)
+                                                                                       .map(SpecHistory.SpecRun::getDuration)
+                                                                                       .orElse(Duration.ZERO))
+                                                    .reversed();
+        failing.sort(slowestFirst);
+        passing.sort(slowestFirst);
+
+        List<String> ordered = new ArrayList<>(specs.size());
+        ordered.addAll(failing);
+        ordered.addAll(unknown);
+        ordered.addAll(passing);
+        LOGGER.debug("Ordered specs using {} earlier spec runs: {}", history.size(), ordered);
+        return ordered;
+    }
+}
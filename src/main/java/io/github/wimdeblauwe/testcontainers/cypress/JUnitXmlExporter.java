@@ -0,0 +1,200 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Writes {@link CypressTestResults} as JUnit XML reports in the format of the Maven Surefire plugin, so CI tools
+ * that understand Surefire reports can show the Cypress tests.
+ * <p>
+ * Every suite is written to its own <code>TEST-&lt;suite title&gt;.xml</code> file with a streaming XML writer, one
+ * test at a time, so the memory usage does not depend on the size of a suite. Suites can also be exported one by one
+ * with {@link #exportSuite(CypressTestSuite)}, e.g. as soon as the results of a spec are available.
+ * <p>
+ * Example usage:
+ * <pre>
+ * new JUnitXmlExporter(Paths.get("target", "surefire-reports")).export(testResults);
+ * </pre>
+ */
+public class JUnitXmlExporter {
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    private final Path outputDirectory;
+    private final Set<String> fileNames = new HashSet<>();
+
+    /**
+     * @param outputDirectory the directory to write the XML files to. It is created if it does not exist.
+     */
+    public JUnitXmlExporter(Path outputDirectory) {
+        if (outputDirectory == null) {
+            throw new IllegalArgumentException("outputDirectory should not be null");
+        }
+        this.outputDirectory = outputDirectory;
+    }
+
+    /**
+     * Writes every suite of the given results to its own XML file.
+     *
+     * @param results the test results
+     * @throws IOException when a file could not be written
+     */
+    public void export(CypressTestResults results) throws IOException {
+        if (results == null) {
+            throw new IllegalArgumentException("results should not be null");
+        }
+        for (CypressTestSuite suite : results.getSuites()) {
+            exportSuite(suite);
+        }
+    }
+
+    /**
+     * Writes the given suite to its own XML file. If a suite with the same title was already exported by this
+     * exporter, a number is added to the file name.
+     *
+     * @param suite the suite
+     * @return the written file
+     * @throws IOException when the file could not be written
+     */
+    public Path exportSuite(CypressTestSuite suite) throws IOException {
+        if (suite == null) {
+            throw new IllegalArgumentException("suite should not be null");
+        }
+        Files.createDirectories(outputDirectory);
+        Path file = outputDirectory.resolve(nextFileName(suite.getTitle()));
+        try (OutputStream outputStream = Files.newOutputStream(file)) {
+            XMLStreamWriter writer = XML_OUTPUT_FACTORY.createXMLStreamWriter(outputStream, "UTF-8");
+            try {
+                writeSuite(writer, suite);
+            } finally {
+                writer.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Unable to write the JUnit XML report of suite " + suite.getTitle() + " to " + file, e);
+        }
+        return file;
+    }
+
+    private void writeSuite(XMLStreamWriter writer, CypressTestSuite suite) throws XMLStreamException {
+        // The totals are needed up front for the attributes of the testsuite element
+        List<CypressTest> tests = suite.getTests();
+        int failures = 0;
+        long totalMillis = 0;
+        for (CypressTest test : tests) {
+            if (!test.isSuccess()) {
+                failures++;
+            }
+            if (test.getDuration() != null) {
+                totalMillis += test.getDuration().toMillis();
+            }
+        }
+
+        String suiteName = sanitize(suite.getTitle());
+        writer.writeStartDocument("UTF-8", "1.0");
+        writer.writeCharacters("\n");
+        writer.writeStartElement("testsuite");
+        writer.writeAttribute("name", suiteName);
+        writer.writeAttribute("tests", String.valueOf(tests.size()));
+        writer.writeAttribute("failures", String.valueOf(failures));
+        writer.writeAttribute("errors", "0");
+        writer.writeAttribute("skipped", "0");
+        writer.writeAttribute("time", formatSeconds(totalMillis));
+        for (CypressTest test : tests) {
+            writer.writeCharacters("\n  ");
+            writeTest(writer, suiteName, test);
+        }
+        writer.writeCharacters("\n");
+        writer.writeEndElement();
+        writer.writeCharacters("\n");
+        writer.writeEndDocument();
+    }
+
+    private static void writeTest(XMLStreamWriter writer, String suiteName, CypressTest test) throws XMLStreamException {
+        Duration duration = test.getDuration();
+        writer.writeStartElement("testcase");
+        writer.writeAttribute("name", sanitize(test.getDescription()));
+        writer.writeAttribute("classname", suiteName);
+        writer.writeAttribute("time", formatSeconds(duration != null ? duration.toMillis() : 0));
+        if (!test.isSuccess()) {
+            writer.writeCharacters("\n    ");
+            writer.writeStartElement("failure");
+            if (test.getErrorMessage() != null) {
+                writer.writeAttribute("message", sanitize(test.getErrorMessage()));
+                String type = getErrorType(test.getErrorMessage());
+                if (type != null) {
+                    writer.writeAttribute("type", type);
+                }
+            }
+            if (test.getStackTrace() != null) {
+                writer.writeCharacters(sanitize(test.getStackTrace()));
+            }
+            writer.writeEndElement();
+            writer.writeCharacters("\n  ");
+        }
+        writer.writeEndElement();
+    }
+
+    /**
+     * Cypress error messages start with the type of the error, e.g. <code>AssertionError: expected ...</code>.
+     */
+    static String getErrorType(String errorMessage) {
+        int separator = errorMessage.indexOf(':');
+        if (separator <= 0) {
+            return null;
+        }
+        String type = errorMessage.substring(0, separator);
+        return type.matches("[A-Za-z_$][\\w$.]*") ? type : null;
+    }
+
+    private String nextFileName(String suiteTitle) {
+        String base = "TEST-" + (suiteTitle == null || suiteTitle.isEmpty() ? "cypress" : suiteTitle.replaceAll("[^A-Za-z0-9._-]", "_"));
+        String fileName = base + ".xml";
+        for (int i = 2; !fileNames.add(fileName); i++) {
+            fileName = base + "-" + i + ".xml";
+        }
+        return fileName;
+    }
+
+    private static String formatSeconds(long millis) {
+        return String.format(Locale.ROOT, "%.3f", millis / 1000.0);
+    }
+
+    /**
+     * Removes the characters that are not allowed in XML 1.0, like the escape character of ANSI color codes. A
+     * surrogate is only kept as part of a valid pair, since a lone surrogate can not be encoded.
+     */
+    static String sanitize(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder builder = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            int length = 1;
+            boolean allowed;
+            if (Character.isHighSurrogate(c)) {
+                allowed = i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1));
+                length = allowed ? 2 : 1;
+            } else {
+                allowed = c == '\t' || c == '\n' || c == '\r' || (c >= 0x20 && c <= 0xD7FF) || (c >= 0xE000 && c <= 0xFFFD);
+            }
+            if (!allowed && builder == null) {
+                builder = new StringBuilder(value.length());
+                builder.append(value, 0, i);
+            } else if (allowed && builder != null) {
+                builder.append(value, i, i + length);
+            }
+            i += length - 1;
+        }
+        return builder != null ? builder.toString() : value;
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import java.util.Arrays;
+
+/**
+ * Reassembles lines from chunks of bytes that can end anywhere, also in the middle of a line or of a multi-byte UTF-8
+ * character.
+ * <p>
+ * Lines that are complete within a chunk are handed to the {@link LineHandler} straight from the chunk. Only the
+ * incomplete line at the end of a chunk is copied, into a buffer that is reused for the next lines. The line
+ * terminator (<code>\n</code> or <code>\r\n</code>) is not part of the line.
+ */
+final class LineAssembler {
+    private static final int INITIAL_BUFFER_SIZE = 256;
+
+    private final LineHandler handler;
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+    private int buffered;
+
+    LineAssembler(LineHandler handler) {
+        this.handler = handler;
+    }
+
+    void accept(byte[] bytes) {
+        accept(bytes, 0, bytes.length);
+    }
+
+    void accept(byte[] bytes, int offset, int length) {
+        int end = offset + length;
+        int lineStart = offset;
+        for (int i = offset; i < end; i++) {
+            if (bytes[i] == '\n') {
+                if (buffered > 0) {
+                    append(bytes, lineStart, i - lineStart);
+                    emit(buffer, 0, buffered);
+                    buffered = 0;
+                } else {
+                    emit(bytes, lineStart, i - lineStart);
+                }
+                lineStart = i + 1;
+            }
+        }
+        if (lineStart < end) {
+            append(bytes, lineStart, end - lineStart);
+        }
+    }
+
+    /**
+     * Hands the incomplete last line, if any, to the handler.
+     */
+    void flush() {
+        if (buffered > 0) {
+            emit(buffer, 0, buffered);
+            buffered = 0;
+        }
+    }
+
+    private void append(byte[] bytes, int offset, int length) {
+        if (buffered + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, buffered + length));
+        }
+        System.arraycopy(bytes, offset, buffer, buffered, length);
+        buffered += length;
+    }
+
+    private void emit(byte[] bytes, int offset, int length) {
+        if (length > 0 && bytes[offset + length - 1] == '\r') {
+            length--;
+        }
+        handler.onLine(bytes, offset, length);
+    }
+
+    /**
+     * Receives the reassembled lines. The bytes are only valid during the call.
+     */
+    interface LineHandler {
+        void onLine(byte[] bytes, int offset, int length);
+    }
+}
@@ -1,6 +1,7 @@
 package io.github.wimdeblauwe.testcontainers.cypress;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,36 +11,61 @@ import java.nio.file.DirectoryStream;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class MochawesomeGatherTestResultsStrategy implements GatherTestResultsStrategy {
     private static final Logger LOGGER = LoggerFactory.getLogger(MochawesomeGatherTestResultsStrategy.class);
+    private static final String PAGE_METRICS_CONTEXT_TITLE = "testcontainers-page-metrics";
+    private static final String NESTED_SUITE_SEPARATOR = " > ";
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
     private final Path jsonReportsPath;
+    private final boolean failuresDetailOnly;
 
     public MochawesomeGatherTestResultsStrategy() {
-        jsonReportsPath = FileSystems.getDefault().getPath("target", "test-classes", "e2e", "cypress", "reports", "mochawesome");
+        this(FileSystems.getDefault().getPath("target", "test-classes", "e2e", "cypress", "reports", "mochawesome"));
     }
 
     public MochawesomeGatherTestResultsStrategy(Path jsonReportsPath) {
+        this(jsonReportsPath, false);
+    }
+
+    /**
+     * @param jsonReportsPath    the path where the Mochawesome JSON reports are
+     * @param failuresDetailOnly true to only keep the failing tests in the suites of the results, which saves memory
+     *                           for very large test suites. The passing tests are still counted.
+     */
+    public MochawesomeGatherTestResultsStrategy(Path jsonReportsPath, boolean failuresDetailOnly) {
         this.jsonReportsPath = jsonReportsPath;
+        this.failuresDetailOnly = failuresDetailOnly;
     }
 
     @Override
     public CypressTestResults gatherTestResults() throws IOException {
+        return gatherTestResults(jsonReportsPath);
+    }
+
+    @Override
+    public boolean supportsReportsPath() {
+        return true;
+    }
+
+    @Override
+    public CypressTestResults gatherTestResults(Path reportsPath) throws IOException {
         if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("Reading Mochawesome report files from {}", jsonReportsPath.toAbsolutePath());
+            LOGGER.debug("Reading Mochawesome report files from {}", reportsPath.toAbsolutePath());
         }
 
-        CypressTestResults results = new CypressTestResults();
+        CypressTestResults results = new CypressTestResults(failuresDetailOnly);
 
-        try (DirectoryStream<Path> paths = Files.newDirectoryStream(jsonReportsPath, "*.json")) {
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(reportsPath, "*.json")) {
             for (Path path : paths) {
                 try {
-                    MochawesomeSpecRunReport specRunReport = objectMapper.readValue(path.toFile(), MochawesomeSpecRunReport.class);
-                    specRunReport.fillInTestResults(results);
+                    MochawesomeSpecRunReport specRunReport = OBJECT_MAPPER.readValue(path.toFile(), MochawesomeSpecRunReport.class);
+                    specRunReport.fillInTestResults(results, path);
                 } catch (IOException e) {
                     LOGGER.error("Unable to read Mochawesome report from " + path.toAbsolutePath(), e);
                 }
@@ -75,29 +101,39 @@ public class MochawesomeGatherTestResultsStrategy implements GatherTestResultsSt
             this.results = results;
         }
 
-        public void fillInTestResults(CypressTestResults results) {
+        public void fillInTestResults(CypressTestResults results, Path reportFile) {
             results.addNumberOfTests(stats.getTests());
             results.addNumberOfPassingTests(stats.getPasses());
             results.addNumberOfFailingTests(stats.getFailures());
 
             for (Result result : getResults()) {
-                List<Suite> suites = result.getSuites();
-
-                List<CypressTestSuite> cypressTestSuites = new ArrayList<>();
-                for (Suite suite : suites) {
-                    CypressTestSuite cypressTestSuite = new CypressTestSuite(suite.getTitle());
-                    List<SuiteTest> tests = suite.getTests();
-                    for (SuiteTest test : tests) {
-                        CypressTest cypressTest = test.isFail()
-                                ? new CypressTest(test.getTitle(), false, test.getErr().getMessage(), test.getErr().getEstack())
-                                : new CypressTest(test.getTitle(), true);
-                        cypressTestSuite.add(cypressTest);
-                    }
-
-                    cypressTestSuites.add(cypressTestSuite);
+                String specFile = result.getFile() != null && !result.getFile().isEmpty() ? result.getFile() : null;
+                for (Suite suite : result.getSuites()) {
+                    int cypressTestSuite = results.addSuite(suite.getTitle(), specFile, reportFile);
+                    addTests(results, cypressTestSuite, suite, "");
                 }
+            }
+        }
 
-                results.addSuites(cypressTestSuites);
+        /**
+         * Adds the tests of the given suite and of its nested suites to the top-level suite. The description of a
+         * test in a nested suite starts with the titles of the nested suites, e.g.
+         * <code>Implicit Assertions &gt; .should() - make an assertion about the current subject</code>.
+         */
+        private static void addTests(CypressTestResults results, int cypressTestSuite, Suite suite, String descriptionPrefix) {
+            for (SuiteTest test : suite.getTests()) {
+                Duration duration = test.getDuration() != null ? Duration.ofMillis(test.getDuration()) : null;
+                String description = descriptionPrefix + test.getTitle();
+                CypressTest cypressTest;
+                if (test.isFail()) {
+                    cypressTest = results.addTest(cypressTestSuite, description, false, test.getErr().getMessage(), test.getErr().getEstack(), duration);
+                } else {
+                    cypressTest = results.addTest(cypressTestSuite, description, true, null, null, duration);
+                }
+                results.setPageMetrics(cypressTest, test.getPageMetrics());
+            }
+            for (Suite nestedSuite : suite.getSuites()) {
+                addTests(results, cypressTestSuite, nestedSuite, descriptionPrefix + nestedSuite.getTitle() + NESTED_SUITE_SEPARATOR);
             }
         }
 
@@ -134,8 +170,17 @@ public class MochawesomeGatherTestResultsStrategy implements GatherTestResultsSt
 
         @JsonIgnoreProperties(ignoreUnknown = true)
         private static class Result {
+            private String file;
             private List<Suite> suites;
 
+            public String getFile() {
+                return file;
+            }
+
+            public void setFile(String file) {
+                this.file = file;
+            }
+
             public List<Suite> getSuites() {
                 return suites;
             }
@@ -149,6 +194,7 @@ public class MochawesomeGatherTestResultsStrategy implements GatherTestResultsSt
         private static class Suite {
             private String title;
             private List<SuiteTest> tests;
+            private List<Suite> suites = Collections.emptyList();
 
             public String getTitle() {
                 return title;
@@ -165,13 +211,23 @@ public class MochawesomeGatherTestResultsStrategy implements GatherTestResultsSt
             public void setTests(List<SuiteTest> tests) {
                 this.tests = tests;
             }
+
+            public List<Suite> getSuites() {
+                return suites;
+            }
+
+            public void setSuites(List<Suite> suites) {
+                this.suites = suites != null ? suites : Collections.<Suite>emptyList();
+            }
         }
 
         @JsonIgnoreProperties(ignoreUnknown = true)
         private static class SuiteTest {
             private String title;
             private boolean fail;
+            private Long duration;
             private SuiteTestError err;
+            private JsonNode context;
 
             public String getTitle() {
                 return title;
@@ -189,6 +245,14 @@ public class MochawesomeGatherTestResultsStrategy implements GatherTestResultsSt
                 this.fail = fail;
             }
 
+            public Long getDuration() {
+                return duration;
+            }
+
+            public void setDuration(Long duration) {
+                this.duration = duration;
+            }
+
             public SuiteTestError getErr() {
                 return err;
             }
@@ -196,6 +260,61 @@ public class MochawesomeGatherTestResultsStrategy implements GatherTestResultsSt
             public void setErr(SuiteTestError err) {
                 this.err = err;
             }
+
+            public JsonNode getContext() {
+                return context;
+            }
+
+            public void setContext(JsonNode context) {
+                this.context = context;
+            }
+
+            /**
+             * Mochawesome stores the context of a test as a JSON string, holding either a single context entry or an
+             * array of them. The page metrics are in the entry with the page metrics title.
+             */
+            List<PageMetrics> getPageMetrics() {
+                if (context == null || context.isNull()) {
+                    return Collections.emptyList();
+                }
+                JsonNode entries = context;
+                if (context.isTextual()) {
+                    try {
+                        entries = OBJECT_MAPPER.readTree(context.asText());
+                    } catch (IOException e) {
+                        // The context is a plain text added by the tests themselves
+                        return Collections.emptyList();
+                    }
+                }
+                List<PageMetrics> pageMetrics = new ArrayList<>();
+                for (JsonNode entry : entries.isArray() ? entries : Collections.singletonList(entries)) {
+                    if (PAGE_METRICS_CONTEXT_TITLE.equals(entry.path("title").asText())) {
+                        for (JsonNode metrics : entry.path("value")) {
+                            pageMetrics.add(toPageMetrics(metrics));
+                        }
+                    }
+                }
+                return pageMetrics;
+            }
+
+            private static PageMetrics toPageMetrics(JsonNode metrics) {
+                JsonNode cumulativeLayoutShift = metrics.path("cumulativeLayoutShift");
+                return new PageMetrics(metrics.path("url").asText(null),
+                                       toDuration(metrics.path("timeToFirstByte")),
+                                       toDuration(metrics.path("domContentLoaded")),
+                                       toDuration(metrics.path("load")),
+                                       toDuration(metrics.path("firstContentfulPaint")),
+                                       toDuration(metrics.path("largestContentfulPaint")),
+                                       cumulativeLayoutShift.isNumber() ? cumulativeLayoutShift.asDouble() : null,
+                                       toDuration(metrics.path("interactionToNextPaint")));
+            }
+
+            private static Duration toDuration(JsonNode milliseconds) {
+                if (!milliseconds.isNumber()) {
+                    return null;
+                }
+                return Duration.ofNanos(Math.round(milliseconds.asDouble() * 1_000_000));
+            }
         }
 
         @JsonIgnoreProperties(ignoreUnknown = true)
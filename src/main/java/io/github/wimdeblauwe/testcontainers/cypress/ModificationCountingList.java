@@ -0,0 +1,21 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import java.util.ArrayList;
+
+/**
+ * An {@link ArrayList} that tells how often it was changed, so an index over its elements knows when to rebuild.
+ * Replacing an element counts as a change as well.
+ */
+final class ModificationCountingList<E> extends ArrayList<E> {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public E set(int index, E element) {
+        modCount++;
+        return super.set(index, element);
+    }
+
+    int getModificationCount() {
+        return modCount;
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import java.time.Duration;
+import java.util.StringJoiner;
+
+/**
+ * The performance metrics of a page that was loaded during a test, as collected in the browser by the
+ * support file that is added with {@link CypressContainer#withPageMetrics()}.
+ * <p>
+ * All timings are relative to the start of the navigation. Metrics that the browser does not support, or that were
+ * not available yet when the page was left, are <code>null</code>.
+ */
+public class PageMetrics {
+    private final String url;
+    private final Duration timeToFirstByte;
+    private final Duration domContentLoaded;
+    private final Duration load;
+    private final Duration firstContentfulPaint;
+    private final Duration largestContentfulPaint;
+    private final Double cumulativeLayoutShift;
+    private final Duration interactionToNextPaint;
+
+    public PageMetrics(String url,
+                       Duration timeToFirstByte,
+                       Duration domContentLoaded,
+                       Duration load,
+                       Duration firstContentfulPaint,
+                       Duration largestContentfulPaint,
+                       Double cumulativeLayoutShift,
+                       Duration interactionToNextPaint) {
+        this.url = url;
+        this.timeToFirstByte = timeToFirstByte;
+        this.domContentLoaded = domContentLoaded;
+        this.load = load;
+        this.firstContentfulPaint = firstContentfulPaint;
+        this.largestContentfulPaint = largestContentfulPaint;
+        this.cumulativeLayoutShift = cumulativeLayoutShift;
+        this.interactionToNextPaint = interactionToNextPaint;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public Duration getTimeToFirstByte() {
+        return timeToFirstByte;
+    }
+
+    public Duration getDomContentLoaded() {
+        return domContentLoaded;
+    }
+
+    public Duration getLoad() {
+        return load;
+    }
+
+    public Duration getFirstContentfulPaint() {
+        return firstContentfulPaint;
+    }
+
+    public Duration getLargestContentfulPaint() {
+        return largestContentfulPaint;
+    }
+
+    public Double getCumulativeLayoutShift() {
+        return cumulativeLayoutShift;
+    }
+
+    public Duration getInteractionToNextPaint() {
+        return interactionToNextPaint;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", PageMetrics.class.getSimpleName() + "[", "]")
+                .add("url='" + url + "'")
+                .add("timeToFirstByte=" + timeToFirstByte)
+                .add("load=" + load)
+                .add("largestContentfulPaint=" + largestContentfulPaint)
+                .add("cumulativeLayoutShift=" + cumulativeLayoutShift)
+                .add("interactionToNextPaint=" + interactionToNextPaint)
+                .toString();
+    }
+}
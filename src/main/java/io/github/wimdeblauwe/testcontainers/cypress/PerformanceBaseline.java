@@ -0,0 +1,104 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * The durations of the tests of an earlier run, used to detect tests that became slower.
+ * <p>
+ * Tests are identified by their suite title and description. A baseline is typically created from the results of a
+ * known good run and stored as a JSON file:
+ * <pre>
+ * PerformanceBaseline.from(results).write(Paths.get("src", "test", "cypress-baseline.json"));
+ * </pre>
+ */
+public class PerformanceBaseline {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Map<String, Long> durationsInMillis;
+
+    PerformanceBaseline(Map<String, Long> durationsInMillis) {
+        this.durationsInMillis = Collections.unmodifiableMap(new TreeMap<>(durationsInMillis));
+    }
+
+    /**
+     * Creates a baseline with the durations of the tests in the given results. Tests without a duration are skipped.
+     *
+     * @param results the test results
+     * @return the baseline
+     */
+    public static PerformanceBaseline from(CypressTestResults results) {
+        Map<String, Long> durations = new TreeMap<>();
+        for (CypressTestSuite suite : results.getSuites()) {
+            for (CypressTest test : suite.getTests()) {
+                if (test.getDuration() != null) {
+                    durations.put(CypressTestResults.getTestKey(suite.getTitle(), test.getDescription()), test.getDuration().toMillis());
+                }
+            }
+        }
+        return new PerformanceBaseline(durations);
+    }
+
+    /**
+     * Reads a baseline that was written with {@link #write(Path)}.
+     *
+     * @param path the JSON file
+     * @return the baseline
+     * @throws IOException when the file could not be read
+     */
+    public static PerformanceBaseline read(Path path) throws IOException {
+        BaselineFile file = OBJECT_MAPPER.readValue(path.toFile(), BaselineFile.class);
+        return new PerformanceBaseline(file.getTests() != null ? file.getTests() : Collections.emptyMap());
+    }
+
+    /**
+     * Writes the baseline as a JSON file.
+     *
+     * @param path the JSON file
+     * @throws IOException when the file could not be written
+     */
+    public void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        BaselineFile file = new BaselineFile();
+        file.setTests(durationsInMillis);
+        OBJECT_MAPPER.writeValue(path.toFile(), file);
+    }
+
+    /**
+     * @param testKey the suite title and the test description, separated by <code>" &gt; "</code>
+     * @return the duration of the test in the baseline
+     */
+    public Optional<Duration> getDuration(String testKey) {
+        Long duration = durationsInMillis.get(testKey);
+        return duration != null ? Optional.of(Duration.ofMillis(duration)) : Optional.empty();
+    }
+
+    public int size() {
+        return durationsInMillis.size();
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private static class BaselineFile {
+        private Map<String, Long> tests;
+
+        public Map<String, Long> getTests() {
+            return tests;
+        }
+
+        public void setTests(Map<String, Long> tests) {
+            this.tests = tests;
+        }
+    }
+}
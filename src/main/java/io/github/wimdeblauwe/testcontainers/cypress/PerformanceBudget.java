@@ -0,0 +1,76 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Defines how much slower than the {@link PerformanceBaseline} a test is allowed to be.
+ * <p>
+ * A test is over budget when its duration exceeds the baseline by more than the absolute threshold <em>and</em> is more
+ * than the relative threshold times the baseline. The absolute threshold avoids that normal jitter on very fast tests
+ * gets reported, the relative threshold scales with the duration of slower tests.
+ * <p>
+ * For example, <code>new PerformanceBudget(Duration.ofMillis(500), 1.5)</code> reports a test that took 1 second
+ * in the baseline when it takes longer than 1.5 seconds, and a test that took 100 milliseconds in the baseline when
+ * it takes longer than 600 milliseconds.
+ */
+public class PerformanceBudget {
+    private final Duration absoluteThreshold;
+    private final double relativeThreshold;
+
+    /**
+     * @param absoluteThreshold the maximum allowed increase compared to the baseline
+     * @param relativeThreshold the maximum allowed ratio compared to the baseline (e.g. <code>1.5</code> for 50% slower)
+     */
+    public PerformanceBudget(Duration absoluteThreshold, double relativeThreshold) {
+        if (absoluteThreshold == null || absoluteThreshold.isNegative()) {
+            throw new IllegalArgumentException("absoluteThreshold should not be null or negative, but was " + absoluteThreshold);
+        }
+        if (relativeThreshold < 1.0) {
+            throw new IllegalArgumentException("relativeThreshold should be at least 1.0, but was " + relativeThreshold);
+        }
+        this.absoluteThreshold = absoluteThreshold;
+        this.relativeThreshold = relativeThreshold;
+    }
+
+    public Duration getAbsoluteThreshold() {
+        return absoluteThreshold;
+    }
+
+    public double getRelativeThreshold() {
+        return relativeThreshold;
+    }
+
+    boolean isOverBudget(Duration baseline, Duration actual) {
+        long baselineMillis = baseline.toMillis();
+        long actualMillis = actual.toMillis();
+        return actualMillis - baselineMillis > absoluteThreshold.toMillis()
+                && actualMillis > baselineMillis * relativeThreshold;
+    }
+
+    PerformanceBudgetReport check(CypressTestResults results, PerformanceBaseline baseline) {
+        List<PerformanceBudgetReport.OverBudgetTest> overBudgetTests = new ArrayList<>();
+        List<String> testsWithoutBaseline = new ArrayList<>();
+        int checkedTests = 0;
+        for (CypressTestSuite suite : results.getSuites()) {
+            for (CypressTest test : suite.getTests()) {
+                if (test.getDuration() == null) {
+                    continue;
+                }
+                String testKey = CypressTestResults.getTestKey(suite.getTitle(), test.getDescription());
+                Optional<Duration> baselineDuration = baseline.getDuration(testKey);
+                if (!baselineDuration.isPresent()) {
+                    testsWithoutBaseline.add(testKey);
+                    continue;
+                }
+                checkedTests++;
+                if (isOverBudget(baselineDuration.get(), test.getDuration())) {
+                    overBudgetTests.add(new PerformanceBudgetReport.OverBudgetTest(testKey, baselineDuration.get(), test.getDuration()));
+                }
+            }
+        }
+        return new PerformanceBudgetReport(this, checkedTests, overBudgetTests, testsWithoutBaseline);
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The result of comparing the durations of the tests with a {@link PerformanceBaseline}.
+ *
+ * @see CypressTestResults#compareWith(PerformanceBaseline, PerformanceBudget)
+ */
+public class PerformanceBudgetReport {
+    private final PerformanceBudget budget;
+    private final int numberOfCheckedTests;
+    private final List<OverBudgetTest> overBudgetTests;
+    private final List<String> testsWithoutBaseline;
+
+    PerformanceBudgetReport(PerformanceBudget budget, int numberOfCheckedTests, List<OverBudgetTest> overBudgetTests, List<String> testsWithoutBaseline) {
+        this.budget = budget;
+        this.numberOfCheckedTests = numberOfCheckedTests;
+        this.overBudgetTests = Collections.unmodifiableList(overBudgetTests.stream()
+                                                                           .sorted(Comparator.comparingDouble(OverBudgetTest::getRatio).reversed())
+                                                                           .collect(Collectors.toList()));
+        this.testsWithoutBaseline = Collections.unmodifiableList(testsWithoutBaseline);
+    }
+
+    public boolean isWithinBudget() {
+        return overBudgetTests.isEmpty();
+    }
+
+    public int getNumberOfCheckedTests() {
+        return numberOfCheckedTests;
+    }
+
+    /**
+     * @return the tests that went over budget, the biggest regression first
+     */
+    public List<OverBudgetTest> getOverBudgetTests() {
+        return overBudgetTests;
+    }
+
+    /**
+     * @return the keys of the tests that are not part of the baseline (e.g. new tests)
+     */
+    public List<String> getTestsWithoutBaseline() {
+        return testsWithoutBaseline;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("Performance budget (+%s ms and x%.2f): %s of %s tests over budget",
+                                     budget.getAbsoluteThreshold().toMillis(),
+                                     budget.getRelativeThreshold(),
+                                     overBudgetTests.size(),
+                                     numberOfCheckedTests));
+        for (OverBudgetTest test : overBudgetTests) {
+            builder.append(String.format("\n  %s: %s ms (baseline %s ms, x%.2f)",
+                                         test.getTestKey(),
+                                         test.getDuration().toMillis(),
+                                         test.getBaselineDuration().toMillis(),
+                                         test.getRatio()));
+        }
+        if (!testsWithoutBaseline.isEmpty()) {
+            builder.append(String.format("\n  %s tests have no baseline", testsWithoutBaseline.size()));
+        }
+        return builder.toString();
+    }
+
+    public static class OverBudgetTest {
+        private final String testKey;
+        private final Duration baselineDuration;
+        private final Duration duration;
+
+        OverBudgetTest(String testKey, Duration baselineDuration, Duration duration) {
+            this.testKey = testKey;
+            this.baselineDuration = baselineDuration;
+            this.duration = duration;
+        }
+
+        /**
+         * @return the suite title and the test description, separated by <code>" &gt; "</code>
+         */
+        public String getTestKey() {
+            return testKey;
+        }
+
+        public Duration getBaselineDuration() {
+            return baselineDuration;
+        }
+
+        public Duration getDuration() {
+            return duration;
+        }
+
+        /**
+         * @return the duration divided by the baseline duration
+         */
+        public double getRatio() {
+            long baselineMillis = baselineDuration.toMillis();
+            return baselineMillis == 0 ? Double.POSITIVE_INFINITY : (double) duration.toMillis() / baselineMillis;
+        }
+    }
+}
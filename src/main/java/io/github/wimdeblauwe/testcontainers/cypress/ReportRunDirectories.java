@@ -0,0 +1,184 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * Creates a unique directory for the reports of every run, below the reports path of the
+ * {@link GatherTestResultsStrategy}, and prunes the directories of old runs in the background.
+ * <p>
+ * Run directories are named <code>run-&lt;timestamp&gt;-&lt;random&gt;</code>, so sorting them by name sorts them by
+ * the time the run started.
+ * <p>
+ * A run directory is live while a container uses it (e.g. it is mounted into a container that is still running or idle
+ * in a pool). Live run directories are never pruned. So other JVMs that share the reports path (e.g. parallel Maven
+ * forks) also see which run directories are live, a live run directory holds a lock on its lock file
+ * <code>run-&lt;timestamp&gt;-&lt;random&gt;.lock</code> next to it. The operating system releases the lock when the
+ * JVM exits, so the run directories of a crashed JVM are pruned again.
+ */
+final class ReportRunDirectories {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReportRunDirectories.class);
+
+    static final String RUN_DIRECTORY_PREFIX = "run-";
+    private static final String LOCK_FILE_SUFFIX = ".lock";
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private static final ExecutorService PRUNE_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cypress-reports-prune");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final Set<Path> LIVE_RUN_DIRECTORIES = ConcurrentHashMap.newKeySet();
+    private static final ConcurrentMap<Path, FileLock> RUN_DIRECTORY_LOCKS = new ConcurrentHashMap<>();
+
+    private ReportRunDirectories() {
+    }
+
+    /**
+     * Marks the given run directory as used by a container, so it is not pruned.
+     */
+    static void markLive(Path runDirectory) {
+        Path directory = normalize(runDirectory);
+        if (LIVE_RUN_DIRECTORIES.add(directory)) {
+            FileLock lock = lock(directory);
+            if (lock != null) {
+                RUN_DIRECTORY_LOCKS.put(directory, lock);
+            }
+        }
+    }
+
+    /**
+     * Marks the given run directory as no longer used, so it can be pruned.
+     */
+    static void release(Path runDirectory) {
+        Path directory = normalize(runDirectory);
+        LIVE_RUN_DIRECTORIES.remove(directory);
+        FileLock lock = RUN_DIRECTORY_LOCKS.remove(directory);
+        if (lock != null) {
+            try {
+                lock.channel().close();
+            } catch (IOException e) {
+                LOGGER.debug("Unable to release the lock of run directory {}", directory, e);
+            }
+        }
+    }
+
+    /**
+     * Creates a new run directory below the given reports path.
+     *
+     * @return the created run directory
+     */
+    static Path createRunDirectory(Path reportsPath) throws IOException {
+        String runId = RUN_DIRECTORY_PREFIX + LocalDateTime.now().format(TIMESTAMP_FORMAT)
+                + "-" + String.format("%04x", ThreadLocalRandom.current().nextInt(0x10000));
+        return Files.createDirectories(reportsPath.toAbsolutePath().resolve(runId));
+    }
+
+    /**
+     * Removes all but the newest <code>retention</code> run directories below the given reports path in the
+     * background. Live run directories are kept and not counted.
+     */
+    static Future<?> pruneAsync(Path reportsPath, int retention) {
+        return PRUNE_EXECUTOR.submit(() -> prune(reportsPath, retention));
+    }
+
+    static void prune(Path reportsPath, int retention) {
+        List<Path> runDirectories = new ArrayList<>();
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(reportsPath, RUN_DIRECTORY_PREFIX + "*")) {
+            for (Path path : paths) {
+                if (Files.isDirectory(path) && !LIVE_RUN_DIRECTORIES.contains(normalize(path)) && !isLockedElsewhere(path)) {
+                    runDirectories.add(path);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Unable to list the run directories in {}", reportsPath, e);
+            return;
+        }
+
+        runDirectories.sort(Comparator.comparing((Path path) -> path.getFileName().toString()).reversed());
+        for (Path runDirectory : runDirectories.subList(Math.min(retention, runDirectories.size()), runDirectories.size())) {
+            LOGGER.debug("Removing reports of old run {}", runDirectory);
+            try (Stream<Path> paths = Files.walk(runDirectory)) {
+                for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.delete(path);
+                }
+                Files.deleteIfExists(getLockFile(runDirectory));
+            } catch (IOException e) {
+                LOGGER.debug("Unable to remove the reports of old run {}", runDirectory, e);
+            }
+        }
+    }
+
+    private static FileLock lock(Path runDirectory) {
+        try {
+            FileChannel channel = FileChannel.open(getLockFile(runDirectory), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            try {
+                FileLock lock = channel.tryLock();
+                if (lock == null) {
+                    channel.close();
+                }
+                return lock;
+            } catch (IOException | OverlappingFileLockException e) {
+                channel.close();
+                throw e;
+            }
+        } catch (IOException | OverlappingFileLockException e) {
+            LOGGER.debug("Unable to lock run directory {}, other JVMs might prune it", runDirectory, e);
+            return null;
+        }
+    }
+
+    /**
+     * @return <code>true</code> if another JVM (or another channel of this JVM) holds the lock of the run directory
+     */
+    private static boolean isLockedElsewhere(Path runDirectory) {
+        Path lockFile = getLockFile(runDirectory);
+        if (!Files.exists(lockFile)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.WRITE)) {
+            FileLock lock = channel.tryLock();
+            if (lock == null) {
+                return true;
+            }
+            lock.release();
+            return false;
+        } catch (OverlappingFileLockException e) {
+            return true;
+        } catch (IOException e) {
+            LOGGER.debug("Unable to check the lock of run directory {}", runDirectory, e);
+            return false;
+        }
+    }
+
+    private static Path getLockFile(Path runDirectory) {
+        return runDirectory.resolveSibling(runDirectory.getFileName() + LOCK_FILE_SUFFIX);
+    }
+
+    private static Path normalize(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+}
@@ -0,0 +1,270 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.testcontainers.containers.output.OutputFrame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Records the timeline of one or more Cypress runs and writes it in the trace event format of Chrome, so it can be
+ * opened in <code>chrome://tracing</code> or <a href="https://ui.perfetto.dev">Perfetto</a>.
+ * <p>
+ * Every container gets its own track, with spans for the setup phases (starting the container, installing the
+ * dependencies and starting Cypress, gathering the results), each spec and each test. The spans are reconstructed from
+ * the output of Cypress: a spec starts at its <code>Running:</code> line, and a test ends at the line that reports its
+ * result and starts where the previous test of the spec ended. With multiple workers, the specs and tests of every
+ * worker are recorded on a track of their own.
+ * <p>
+ * Example usage:
+ * <pre>
+ * RunTimeline timeline = new RunTimeline();
+ * new CypressShards(() -&gt; new CypressContainer().withLocalServerPort(port))
+ *         .withRunTimeline(timeline)
+ *         .run();
+ * timeline.write(Paths.get("target", "cypress-timeline.json"));
+ * </pre>
+ */
+public class RunTimeline {
+    static final String CATEGORY_SETUP = "setup";
+    static final String CATEGORY_SPEC = "spec";
+    static final String CATEGORY_TEST = "test";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String RUN_FINISHED = "Run Finished";
+
+    private final long originNanos = System.nanoTime();
+    private final Map<String, Integer> trackIds = new LinkedHashMap<>();
+    private final List<Span> spans = new ArrayList<>();
+
+    /**
+     * Writes the recorded spans as a trace event JSON file.
+     *
+     * @param file the file to write
+     * @throws IOException When the file could not be written
+     */
+    public void write(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        List<Span> spansToWrite;
+        Map<String, Integer> tracksToWrite;
+        synchronized (this) {
+            spansToWrite = new ArrayList<>(spans);
+            tracksToWrite = new LinkedHashMap<>(trackIds);
+        }
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(file.toFile(), JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("traceEvents");
+            for (Map.Entry<String, Integer> track : tracksToWrite.entrySet()) {
+                generator.writeStartObject();
+                generator.writeStringField("name", "thread_name");
+                generator.writeStringField("ph", "M");
+                generator.writeNumberField("pid", 1);
+                generator.writeNumberField("tid", track.getValue());
+                generator.writeObjectFieldStart("args");
+                generator.writeStringField("name", track.getKey());
+                generator.writeEndObject();
+                generator.writeEndObject();
+            }
+            for (Span span : spansToWrite) {
+                generator.writeStartObject();
+                generator.writeStringField("name", span.name);
+                generator.writeStringField("cat", span.category);
+                generator.writeStringField("ph", "X");
+                generator.writeNumberField("ts", toMicros(span.startNanos));
+                generator.writeNumberField("dur", Math.max(0, TimeUnit.NANOSECONDS.toMicros(span.endNanos - span.startNanos)));
+                generator.writeNumberField("pid", 1);
+                generator.writeNumberField("tid", span.trackId);
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeStringField("displayTimeUnit", "ms");
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Creates the recorder of a new track. When a track with the given name exists already, a number is added to the
+     * name.
+     */
+    synchronized TrackRecorder newTrack(String name) {
+        String trackName = uniqueTrackName(name);
+        return new TrackRecorder(trackName, addTrack(trackName));
+    }
+
+    private synchronized String uniqueTrackName(String name) {
+        String trackName = name;
+        for (int i = 2; trackIds.containsKey(trackName); i++) {
+            trackName = name + " (" + i + ")";
+        }
+        return trackName;
+    }
+
+    private synchronized int addTrack(String trackName) {
+        int trackId = trackIds.size() + 1;
+        trackIds.put(trackName, trackId);
+        return trackId;
+    }
+
+    synchronized void addSpan(int trackId, String category, String name, long startNanos, long endNanos) {
+        spans.add(new Span(trackId, category, name, startNanos, endNanos));
+    }
+
+    synchronized List<Span> getSpans() {
+        return new ArrayList<>(spans);
+    }
+
+    private long toMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos - originNanos);
+    }
+
+    static class Span {
+        final int trackId;
+        final String category;
+        final String name;
+        final long startNanos;
+        final long endNanos;
+
+        Span(int trackId, String category, String name, long startNanos, long endNanos) {
+            this.trackId = trackId;
+            this.category = category;
+            this.name = name;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+        }
+    }
+
+    /**
+     * Records the spans of a single container from its output and from the setup phases that the container reports.
+     * With {@link CypressContainer#withWorkers(int) multiple workers}, every worker gets its own track for its specs and
+     * tests, based on the worker prefix of the output lines.
+     */
+    class TrackRecorder implements CypressOutputListener {
+        private final Pattern workerLinePattern = Pattern.compile("^\\[(" + CypressContainer.WORKER_REPORTS_PREFIX + "\\d+)]\\s*(.*)$");
+
+        private final String name;
+        private final SpecTrack specTrack;
+        private final Map<String, SpecTrack> workerSpecTracks = new LinkedHashMap<>();
+        private String phase;
+        private long phaseStartNanos;
+
+        TrackRecorder(String name, int trackId) {
+            this.name = name;
+            this.specTrack = new SpecTrack(trackId);
+        }
+
+        /**
+         * Ends the current setup phase, if any, and starts a new one.
+         */
+        synchronized void beginPhase(String name) {
+            endPhase();
+            phase = name;
+            phaseStartNanos = System.nanoTime();
+        }
+
+        synchronized void endPhase() {
+            if (phase != null) {
+                addSpan(specTrack.trackId, CATEGORY_SETUP, phase, phaseStartNanos, System.nanoTime());
+                phase = null;
+            }
+        }
+
+        @Override
+        public synchronized void onSpecStarted(String spec) {
+            endPhase();
+            if (workerSpecTracks.isEmpty()) {
+                specTrack.specStarted(spec);
+            }
+        }
+
+        @Override
+        public synchronized void onLine(OutputFrame.OutputType type, String line) {
+            Matcher workerLine = workerLinePattern.matcher(line);
+            if (!workerLine.matches()) {
+                specTrack.line(line);
+                return;
+            }
+            // The worker lines are handled here, as the other notifications do not tell which worker they are for
+            SpecTrack workerSpecTrack = workerSpecTracks.computeIfAbsent(workerLine.group(1),
+                                                                         worker -> new SpecTrack(addTrack(uniqueTrackName(name + " " + worker))));
+            String workerOutput = workerLine.group(2);
+            Matcher runningSpec = CypressContainer.CypressContainerOutputFollower.RUNNING_SPEC_PATTERN.matcher(workerOutput);
+            if (runningSpec.find()) {
+                workerSpecTrack.specStarted(runningSpec.group(1));
+            } else if (workerOutput.contains(RUN_FINISHED)) {
+                workerSpecTrack.endSpec();
+            } else {
+                workerSpecTrack.line(workerOutput);
+            }
+        }
+
+        @Override
+        public synchronized void onRunFinished() {
+            if (workerSpecTracks.isEmpty()) {
+                specTrack.endSpec();
+            }
+        }
+    }
+
+    /**
+     * Reconstructs the spans of the specs and tests of a single <code>cypress run</code> from its output.
+     */
+    private class SpecTrack {
+        // The spec reporter prints a line per test: "✓ title (12ms)" when it passes, "1) title" when it fails
+        private final Pattern testResultPattern = Pattern.compile("^(?:[✓✔√]|\\d+\\))\\s+(.+?)(?:\\s+\\(\\d+ms\\))?$");
+        private final Pattern failuresSummaryPattern = Pattern.compile("^\\d+ failing");
+
+        private final int trackId;
+        private String spec;
+        private long specStartNanos;
+        private long lastTestEndNanos;
+        private boolean inFailuresSummary;
+
+        private SpecTrack(int trackId) {
+            this.trackId = trackId;
+        }
+
+        private void specStarted(String spec) {
+            endSpec();
+            this.spec = spec;
+            this.specStartNanos = System.nanoTime();
+            this.lastTestEndNanos = specStartNanos;
+            this.inFailuresSummary = false;
+        }
+
+        private void line(String line) {
+            if (spec == null || inFailuresSummary) {
+                return;
+            }
+            if (failuresSummaryPattern.matcher(line).find()) {
+                inFailuresSummary = true;
+                return;
+            }
+            Matcher matcher = testResultPattern.matcher(line);
+            if (matcher.matches()) {
+                long now = System.nanoTime();
+                addSpan(trackId, CATEGORY_TEST, matcher.group(1), lastTestEndNanos, now);
+                lastTestEndNanos = now;
+            }
+        }
+
+        private void endSpec() {
+            if (spec != null) {
+                addSpan(trackId, CATEGORY_SPEC, spec, specStartNanos, System.nanoTime());
+                spec = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The number of Cypress containers to run the specs with, and the specs of each container, as chosen by a
+ * {@link ShardPlanner}.
+ */
+public class ShardPlan {
+    private final List<List<String>> shards;
+    private final List<DockerEndpoint> dockerEndpoints;
+    private final Duration expectedDuration;
+    private final String reasoning;
+
+    ShardPlan(List<List<String>> shards, List<DockerEndpoint> dockerEndpoints, Duration expectedDuration, String reasoning) {
+        List<List<String>> unmodifiableShards = new ArrayList<>(shards.size());
+        for (List<String> shard : shards) {
+            unmodifiableShards.add(Collections.unmodifiableList(new ArrayList<>(shard)));
+        }
+        this.shards = Collections.unmodifiableList(unmodifiableShards);
+        this.dockerEndpoints = Collections.unmodifiableList(new ArrayList<>(dockerEndpoints));
+        this.expectedDuration = expectedDuration;
+        this.reasoning = reasoning;
+    }
+
+    public int getNumberOfShards() {
+        return shards.size();
+    }
+
+    /**
+     * @return the specs of each shard
+     */
+    public List<List<String>> getShards() {
+        return shards;
+    }
+
+    /**
+     * @return the Docker endpoint of each shard, or an empty list if all shards run on the Docker daemon of
+     * Testcontainers
+     */
+    public List<DockerEndpoint> getDockerEndpoints() {
+        return dockerEndpoints;
+    }
+
+    /**
+     * @return the expected wall-clock time of the run, including the start up of the containers
+     */
+    public Duration getExpectedDuration() {
+        return expectedDuration;
+    }
+
+    /**
+     * @return a human readable explanation of why this number of shards was chosen
+     */
+    public String getReasoning() {
+        return reasoning;
+    }
+
+    @Override
+    public String toString() {
+        return reasoning;
+    }
+}
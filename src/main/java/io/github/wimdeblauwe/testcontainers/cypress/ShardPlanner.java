@@ -0,0 +1,263 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import com.github.dockerjava.api.model.Info;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.DockerClientFactory;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Chooses the number of Cypress containers (shards) that is expected to run a list of specs in the shortest
+ * wall-clock time.
+ * <p>
+ * The planner uses:
+ * <ul>
+ *     <li>the durations of the specs in earlier runs, read from the Mochawesome reports below the reports path</li>
+ *     <li>the CPUs and memory of the Docker host</li>
+ *     <li>the CPU, memory and start up time of a container in an earlier run, as measured by {@link CypressShards}.
+ *     Without an earlier run, a container is assumed to use 1.5 CPUs and 1.5 GB of memory and to need 30 seconds to
+ *     start.</li>
+ * </ul>
+ * The number of containers is capped by what fits on the host, or, with {@link #withDockerEndpoints(DockerEndpoint...)
+ * multiple Docker endpoints}, by what fits on all endpoints together. Within that cap, the specs are split longest first
+ * over each possible number of containers, and the smallest number of containers that is within 5% of the best
+ * expected wall-clock time is chosen, since every container adds load and start up cost. With multiple endpoints, the
+ * containers are spread over the endpoints in proportion to the number of containers that fit on each of them.
+ */
+public class ShardPlanner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShardPlanner.class);
+
+    private static final long DEFAULT_CONTAINER_MEMORY_BYTES = 1536L * 1024 * 1024;
+    private static final double DEFAULT_CONTAINER_CPUS = 1.5;
+    private static final Duration DEFAULT_STARTUP_DURATION = Duration.ofSeconds(30);
+    private static final double MEMORY_HEADROOM = 0.8;
+    private static final double MEMORY_MARGIN = 1.2;
+    private static final double MINIMUM_IMPROVEMENT = 0.05;
+
+    private final Path reportsPath;
+    private int hostCpus;
+    private long hostMemoryBytes;
+    private int maximumShards = Integer.MAX_VALUE;
+    private List<DockerEndpoint> dockerEndpoints = Collections.emptyList();
+
+    public ShardPlanner() {
+        this(FileSystems.getDefault().getPath("target", "test-classes", "e2e", "cypress", "reports", "mochawesome"));
+    }
+
+    /**
+     * @param reportsPath the path where the Mochawesome JSON reports of earlier runs are
+     */
+    public ShardPlanner(Path reportsPath) {
+        if (reportsPath == null) {
+            throw new IllegalArgumentException("reportsPath should not be null");
+        }
+        this.reportsPath = reportsPath;
+    }
+
+    /**
+     * Sets the capacity of the Docker host instead of asking the Docker daemon for it.
+     *
+     * @param cpus        the number of CPUs of the host
+     * @param memoryBytes the memory of the host in bytes
+     * @return the current instance
+     */
+    public ShardPlanner withHostCapacity(int cpus, long memoryBytes) {
+        if (cpus <= 0) {
+            throw new IllegalArgumentException("cpus should be a positive integer, but was " + cpus);
+        }
+        if (memoryBytes <= 0) {
+            throw new IllegalArgumentException("memoryBytes should be positive, but was " + memoryBytes);
+        }
+        this.hostCpus = cpus;
+        this.hostMemoryBytes = memoryBytes;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of containers to use, regardless of the capacity of the host.
+     *
+     * @param maximumShards the maximum number of containers
+     * @return the current instance
+     */
+    public ShardPlanner withMaximumShards(int maximumShards) {
+        if (maximumShards <= 0) {
+            throw new IllegalArgumentException("maximumShards should be a positive integer, but was " + maximumShards);
+        }
+        this.maximumShards = maximumShards;
+        return this;
+    }
+
+    /**
+     * Runs the containers on the given Docker daemons instead of on the Docker daemon of Testcontainers. The capacity
+     * of each daemon limits the number of containers on it.
+     *
+     * @param dockerEndpoints the Docker daemons to use
+     * @return the current instance
+     */
+    public ShardPlanner withDockerEndpoints(DockerEndpoint... dockerEndpoints) {
+        if (dockerEndpoints == null || dockerEndpoints.length == 0) {
+            throw new IllegalArgumentException("dockerEndpoints should not be empty");
+        }
+        for (DockerEndpoint dockerEndpoint : dockerEndpoints) {
+            if (dockerEndpoint == null) {
+                throw new IllegalArgumentException("dockerEndpoint should not be null");
+            }
+        }
+        this.dockerEndpoints = new ArrayList<>(Arrays.asList(dockerEndpoints));
+        return this;
+    }
+
+    Path getReportsPath() {
+        return reportsPath;
+    }
+
+    /**
+     * Plans the shards for the given specs.
+     *
+     * @param specs the specs to run
+     * @return the plan
+     */
+    public ShardPlan plan(List<String> specs) {
+        if (specs == null || specs.isEmpty()) {
+            throw new IllegalArgumentException("specs should not be empty");
+        }
+
+        SpecHistory history = SpecHistory.read(reportsPath);
+        Optional<ContainerResourceUsage> measuredUsage = ContainerResourceUsage.read(reportsPath);
+        long containerMemory = measuredUsage.map(ContainerResourceUsage::getPeakMemoryBytes)
+                                            .filter(memory -> memory > 0)
+                                            .orElse(DEFAULT_CONTAINER_MEMORY_BYTES);
+        double containerCpus = measuredUsage.map(ContainerResourceUsage::getAverageCpus)
+                                            .filter(cpus -> cpus > 0)
+                                            .orElse(DEFAULT_CONTAINER_CPUS);
+        Duration startup = measuredUsage.map(ContainerResourceUsage::getStartupDuration)
+                                        .filter(duration -> !duration.isZero())
+                                        .orElse(DEFAULT_STARTUP_DURATION);
+
+        int[] slots = null;
+        int maximumByCpu;
+        int maximumByMemory;
+        if (dockerEndpoints.isEmpty()) {
+            resolveHostCapacity();
+            maximumByCpu = maximumByCpu(hostCpus, containerCpus);
+            maximumByMemory = maximumByMemory(hostMemoryBytes, containerMemory);
+        } else {
+            slots = new int[dockerEndpoints.size()];
+            maximumByCpu = 0;
+            maximumByMemory = 0;
+            for (int i = 0; i < slots.length; i++) {
+                DockerEndpoint endpoint = dockerEndpoints.get(i);
+                int endpointByCpu = maximumByCpu(endpoint.getCpus(), containerCpus);
+                int endpointByMemory = maximumByMemory(endpoint.getMemoryBytes(), containerMemory);
+                slots[i] = Math.min(endpointByCpu, endpointByMemory);
+                maximumByCpu += endpointByCpu;
+                maximumByMemory += endpointByMemory;
+            }
+        }
+        int capacity = slots != null ? Arrays.stream(slots).sum() : Math.min(maximumByCpu, maximumByMemory);
+        int limit = Math.min(Math.min(specs.size(), maximumShards), capacity);
+
+        Duration defaultSpecDuration = SpecPartitioner.estimateDefaultDuration(specs, history);
+        long knownSpecs = specs.stream().filter(spec -> history.getLastRun(spec).isPresent()).count();
+        long totalMillis = specs.stream().mapToLong(spec -> SpecPartitioner.estimateDuration(spec, history, defaultSpecDuration).toMillis()).sum();
+
+        StringBuilder reasoning = new StringBuilder();
+        reasoning.append(String.format("%d specs, %d with an earlier run, expected to take %s in total (specs without an earlier run estimated at %s). ",
+                                       specs.size(), knownSpecs, Duration.ofMillis(totalMillis), defaultSpecDuration));
+        if (slots == null) {
+            reasoning.append(String.format("Host has %d CPUs and %d MB of memory, ", hostCpus, hostMemoryBytes / (1024 * 1024)));
+        } else {
+            for (int i = 0; i < slots.length; i++) {
+                DockerEndpoint endpoint = dockerEndpoints.get(i);
+                reasoning.append(String.format("Endpoint %s has %d CPUs and %d MB of memory for %d container(s), ",
+                                               endpoint, endpoint.getCpus(), endpoint.getMemoryBytes() / (1024 * 1024), slots[i]));
+            }
+        }
+        reasoning.append(String.format("a container uses %.1f CPUs and %d MB and starts in %s (%s). ",
+                                       containerCpus, containerMemory / (1024 * 1024), startup,
+                                       measuredUsage.isPresent() ? "measured" : "assumed"));
+        reasoning.append(String.format("At most %d container(s) fit (CPU allows %d, memory allows %d%s). Expected wall-clock time:",
+                                       limit, maximumByCpu, maximumByMemory,
+                                       maximumShards != Integer.MAX_VALUE ? ", configured maximum is " + maximumShards : ""));
+
+        List<List<List<String>>> partitionsByShards = new ArrayList<>();
+        List<Duration> expectedByShards = new ArrayList<>();
+        Duration best = null;
+        for (int shards = 1; shards <= limit; shards++) {
+            List<List<String>> partitions = SpecPartitioner.partition(specs, shards, history);
+            long makespan = 0;
+            for (List<String> shard : partitions) {
+                long shardMillis = shard.stream().mapToLong(spec -> SpecPartitioner.estimateDuration(spec, history, defaultSpecDuration).toMillis()).sum();
+                makespan = Math.max(makespan, shardMillis);
+            }
+            Duration expected = startup.plusMillis(makespan);
+            partitionsByShards.add(partitions);
+            expectedByShards.add(expected);
+            reasoning.append(String.format(" %d: %s", shards, expected));
+            if (best == null || expected.compareTo(best) < 0) {
+                best = expected;
+            }
+        }
+
+        int chosen = 0;
+        while (expectedByShards.get(chosen).toMillis() > best.toMillis() * (1 + MINIMUM_IMPROVEMENT)) {
+            chosen++;
+        }
+        reasoning.append(String.format(". Chose %d container(s), the fewest within %d%% of the best time.", chosen + 1, Math.round(MINIMUM_IMPROVEMENT * 100)));
+
+        List<DockerEndpoint> assignedEndpoints = slots != null ? assignEndpoints(chosen + 1, slots) : Collections.emptyList();
+        ShardPlan plan = new ShardPlan(partitionsByShards.get(chosen), assignedEndpoints, expectedByShards.get(chosen), reasoning.toString());
+        LOGGER.info("Shard plan: {}", plan.getReasoning());
+        return plan;
+    }
+
+    /**
+     * Assigns each shard to the endpoint that is the least full relative to the number of containers that fit on it.
+     */
+    private List<DockerEndpoint> assignEndpoints(int shards, int[] slots) {
+        int[] assigned = new int[slots.length];
+        List<DockerEndpoint> endpoints = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            int best = -1;
+            for (int i = 0; i < slots.length; i++) {
+                if (assigned[i] < slots[i] && (best < 0 || (assigned[i] + 1) * (long) slots[best] < (assigned[best] + 1) * (long) slots[i])) {
+                    best = i;
+                }
+            }
+            assigned[best]++;
+            endpoints.add(dockerEndpoints.get(best));
+        }
+        return endpoints;
+    }
+
+    private static int maximumByCpu(int cpus, double containerCpus) {
+        return Math.max(1, (int) Math.floor(cpus / containerCpus));
+    }
+
+    private static int maximumByMemory(long memoryBytes, long containerMemory) {
+        return Math.max(1, (int) Math.floor(memoryBytes * MEMORY_HEADROOM / (containerMemory * MEMORY_MARGIN)));
+    }
+
+    private void resolveHostCapacity() {
+        if (hostCpus > 0) {
+            return;
+        }
+        try {
+            Info info = DockerClientFactory.instance().getInfo();
+            hostCpus = info.getNCPU() != null && info.getNCPU() > 0 ? info.getNCPU() : Runtime.getRuntime().availableProcessors();
+            hostMemoryBytes = info.getMemTotal() != null && info.getMemTotal() > 0 ? info.getMemTotal() : DEFAULT_CONTAINER_MEMORY_BYTES * 2;
+        } catch (RuntimeException e) {
+            LOGGER.warn("Unable to get the capacity of the Docker host, using the CPUs of this machine", e);
+            hostCpus = Runtime.getRuntime().availableProcessors();
+            hostMemoryBytes = DEFAULT_CONTAINER_MEMORY_BYTES * 2;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import io.github.wimdeblauwe.testcontainers.cypress.util.FilenameUtils;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Builds a tar archive of the Cypress sources so they can be copied into a container instead of being bind mounted.
+ * <p>
+ * Archives are cached per content hash for the lifetime of the JVM, so containers that use the same sources
+ * share a single archive.
+ */
+final class SourcesArchive {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SourcesArchive.class);
+
+    private static final ConcurrentMap<String, Path> ARCHIVES_BY_HASH = new ConcurrentHashMap<>();
+
+    private final Path directory;
+    private final List<PathMatcher> excludes;
+
+    SourcesArchive(Path directory, List<String> excludes) {
+        this.directory = directory;
+        this.excludes = excludes.stream()
+                                .map(pattern -> FileSystems.getDefault().getPathMatcher("glob:" + pattern))
+                                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the tar archive of the sources, creating it only if no archive exists yet for the current content.
+     *
+     * @param rootInArchive the directory name that all entries in the archive are placed under
+     * @return the path of the tar archive on the host
+     * @throws IOException when the sources could not be read or the archive could not be written
+     */
+    Path getArchive(String rootInArchive) throws IOException {
+        List<Path> files = listFiles();
+        String hash = rootInArchive + ':' + calculateHash(files);
+        try {
+            return ARCHIVES_BY_HASH.computeIfAbsent(hash, key -> {
+                try {
+                    return createArchive(files, rootInArchive);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    List<Path> listFiles() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths.filter(Files::isRegularFile)
+                        .filter(path -> !isExcluded(directory.relativize(path)))
+                        .sorted()
+                        .collect(Collectors.toList());
+        }
+    }
+
+    String calculateHash(List<Path> files) throws IOException {
+        MessageDigest digest = createDigest();
+        byte[] buffer = new byte[8192];
+        for (Path file : files) {
+            digest.update(toEntryName(directory.relativize(file)).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            // The mode is part of the archive, so a file that only became executable needs a new archive
+            digest.update(Integer.toOctalString(getMode(file)).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            try (InputStream inputStream = Files.newInputStream(file)) {
+                int read;
+                while ((read = inputStream.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+        }
+        StringBuilder builder = new StringBuilder();
+        for (byte b : digest.digest()) {
+            builder.append(String.format("%02x", b));
+        }
+        return builder.toString();
+    }
+
+    private boolean isExcluded(Path relativePath) {
+        for (Path path = relativePath; path != null; path = path.getParent()) {
+            for (PathMatcher exclude : excludes) {
+                if (exclude.matches(path)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private Path createArchive(List<Path> files, String rootInArchive) throws IOException {
+        Path archive = Files.createTempFile("testcontainers-cypress-sources-", ".tar");
+        archive.toFile().deleteOnExit();
+        LOGGER.debug("Creating sources archive of {} files from {} at {}", files.size(), directory, archive);
+
+        try (OutputStream outputStream = Files.newOutputStream(archive);
+             TarArchiveOutputStream tar = new TarArchiveOutputStream(outputStream)) {
+            tar.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+            tar.setBigNumberMode(TarArchiveOutputStream.BIGNUMBER_POSIX);
+            for (Path file : files) {
+                TarArchiveEntry entry = new TarArchiveEntry(rootInArchive + "/" + toEntryName(directory.relativize(file)));
+                entry.setSize(Files.size(file));
+                entry.setMode(getMode(file));
+                tar.putArchiveEntry(entry);
+                Files.copy(file, tar);
+                tar.closeArchiveEntry();
+            }
+            tar.finish();
+        }
+        return archive;
+    }
+
+    private static int getMode(Path file) {
+        return Files.isExecutable(file) ? 0100755 : 0100644;
+    }
+
+    private static String toEntryName(Path relativePath) {
+        return FilenameUtils.separatorsToUnix(relativePath.toString());
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    static List<String> defaultExcludes() {
+        List<String> excludes = new ArrayList<>();
+        excludes.add("node_modules");
+        excludes.add("cypress/reports");
+        excludes.add("cypress/videos");
+        excludes.add("cypress/screenshots");
+        return excludes;
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import io.github.wimdeblauwe.testcontainers.cypress.util.FilenameUtils;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Finds the spec files in the Cypress sources, using the default spec pattern of Cypress
+ * (<code>cypress/e2e/**&#47;*.cy.{js,jsx,ts,tsx}</code>), or the default component spec pattern
+ * (<code>**&#47;*.cy.{js,jsx,ts,tsx}</code>, without the end-to-end specs) for component tests.
+ */
+final class SpecDiscovery {
+    // A glob "**/" in Java needs at least one directory, so the specs directly in cypress/e2e need their own pattern
+    private static final String[] DEFAULT_SPEC_PATTERNS = {"cypress/e2e/*.cy.{js,jsx,ts,tsx}", "cypress/e2e/**/*.cy.{js,jsx,ts,tsx}"};
+    private static final String[] DEFAULT_COMPONENT_SPEC_PATTERNS = {"*.cy.{js,jsx,ts,tsx}", "**/*.cy.{js,jsx,ts,tsx}"};
+    private static final String NODE_MODULES = "node_modules";
+
+    private SpecDiscovery() {
+    }
+
+    /**
+     * @return the paths of the specs relative to the sources directory, sorted alphabetically like Cypress does
+     */
+    static List<String> discover(Path sourcesDirectory) throws IOException {
+        return discover(sourcesDirectory, false);
+    }
+
+    /**
+     * @param componentTesting true to find the component specs instead of the end-to-end specs
+     * @return the paths of the specs relative to the sources directory, sorted alphabetically like Cypress does
+     */
+    static List<String> discover(Path sourcesDirectory, boolean componentTesting) throws IOException {
+        List<PathMatcher> matchers = toMatchers(componentTesting ? DEFAULT_COMPONENT_SPEC_PATTERNS : DEFAULT_SPEC_PATTERNS);
+        // Like Cypress, the end-to-end specs are not component specs
+        List<PathMatcher> excludeMatchers = componentTesting ? toMatchers(DEFAULT_SPEC_PATTERNS) : Collections.emptyList();
+        List<String> specs = new ArrayList<>();
+        // Like Cypress, the specs in node_modules are skipped, without walking through the dependencies
+        Files.walkFileTree(sourcesDirectory, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                return dir.getFileName() != null && dir.getFileName().toString().equals(NODE_MODULES)
+                        ? FileVisitResult.SKIP_SUBTREE
+                        : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                Path path = sourcesDirectory.relativize(file);
+                if (attrs.isRegularFile()
+                        && matchers.stream().anyMatch(matcher -> matcher.matches(path))
+                        && excludeMatchers.stream().noneMatch(matcher -> matcher.matches(path))) {
+                    specs.add(FilenameUtils.separatorsToUnix(path.toString()));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        Collections.sort(specs);
+        return specs;
+    }
+
+    private static List<PathMatcher> toMatchers(String[] patterns) {
+        return Arrays.stream(patterns)
+                     .map(pattern -> FileSystems.getDefault().getPathMatcher("glob:" + pattern))
+                     .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,129 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The duration and outcome of the specs in earlier runs, read from the Mochawesome reports below a reports path.
+ * <p>
+ * Mochawesome writes one report per spec. The reports are searched for in the reports path and its subdirectories
+ * (e.g. the {@link ReportRunDirectories run directories} or the directories of workers and shards). For every spec,
+ * only the most recently written report is used.
+ */
+final class SpecHistory {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpecHistory.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final int MAXIMUM_DEPTH = 4;
+
+    private final Map<String, SpecRun> specRuns;
+
+    private SpecHistory(Map<String, SpecRun> specRuns) {
+        this.specRuns = specRuns;
+    }
+
+    static SpecHistory read(Path reportsPath) {
+        Map<String, SpecRun> specRuns = new HashMap<>();
+        if (!Files.isDirectory(reportsPath)) {
+            return new SpecHistory(specRuns);
+        }
+
+        List<Path> reports;
+        try (Stream<Path> paths = Files.walk(reportsPath, MAXIMUM_DEPTH)) {
+            reports = paths.filter(path -> path.getFileName().toString().endsWith(".json"))
+                           .filter(Files::isRegularFile)
+                           .collect(Collectors.toList());
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.debug("Unable to list the Mochawesome reports in {}", reportsPath, e);
+            return new SpecHistory(specRuns);
+        }
+        Map<Path, FileTime> lastModifiedTimes = new HashMap<>();
+        for (Path report : reports) {
+            lastModifiedTimes.put(report, getLastModifiedTime(report));
+        }
+        reports.sort(Comparator.comparing(lastModifiedTimes::get).reversed());
+
+        for (Path report : reports) {
+            readReport(report, specRuns);
+        }
+        return new SpecHistory(specRuns);
+    }
+
+    private static FileTime getLastModifiedTime(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static void readReport(Path path, Map<String, SpecRun> specRuns) {
+        try {
+            JsonNode report = OBJECT_MAPPER.readTree(path.toFile());
+            String spec = findSpec(report);
+            if (spec != null && !specRuns.containsKey(spec)) {
+                JsonNode stats = report.path("stats");
+                specRuns.put(spec, new SpecRun(Duration.ofMillis(stats.path("duration").asLong()),
+                                               stats.path("failures").asInt() > 0));
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Unable to read Mochawesome report from {}", path, e);
+        }
+    }
+
+    private static String findSpec(JsonNode report) {
+        for (JsonNode result : report.path("results")) {
+            String file = result.path("file").asText("");
+            if (!file.isEmpty()) {
+                return file;
+            }
+        }
+        return null;
+    }
+
+    Optional<SpecRun> getLastRun(String spec) {
+        return Optional.ofNullable(specRuns.get(spec));
+    }
+
+    Map<String, SpecRun> getLastRuns() {
+        return Collections.unmodifiableMap(specRuns);
+    }
+
+    int size() {
+        return specRuns.size();
+    }
+
+    static final class SpecRun {
+        private final Duration duration;
+        private final boolean failed;
+
+        SpecRun(Duration duration, boolean failed) {
+            this.duration = duration;
+            this.failed = failed;
+        }
+
+        Duration getDuration() {
+            return duration;
+        }
+
+        boolean isFailed() {
+            return failed;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import java.util.List;
+
+/**
+ * Decides the order in which the specs of {@link CypressContainer#withSpecs(List)} are run.
+ */
+public interface SpecOrderingStrategy {
+    /**
+     * @param specs the specs in the order they were given
+     * @return the specs in the order they should run
+     */
+    List<String> order(List<String> specs);
+}
@@ -0,0 +1,71 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Splits specs into a number of groups with about the same total duration, using the durations of earlier runs.
+ * <p>
+ * The specs are assigned longest first to the group with the lowest total duration so far. Specs without an earlier
+ * run are assumed to take the average duration of the specs that have one.
+ */
+final class SpecPartitioner {
+    private static final Duration DEFAULT_SPEC_DURATION = Duration.ofSeconds(10);
+
+    private SpecPartitioner() {
+    }
+
+    /**
+     * @return the groups of specs, leaving out empty groups. Within a group, the specs keep their original order.
+     */
+    static List<List<String>> partition(List<String> specs, int groups, SpecHistory history) {
+        Duration defaultDuration = estimateDefaultDuration(specs, history);
+        List<String> longestFirst = new ArrayList<>(specs);
+        longestFirst.sort(Comparator.comparing((String spec) -> estimateDuration(spec, history, defaultDuration)).reversed());
+
+        long[] totals = new long[groups];
+        List<List<String>> partitions = new ArrayList<>(groups);
+        for (int i = 0; i < groups; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (String spec : longestFirst) {
+            int lightest = 0;
+            for (int i = 1; i < groups; i++) {
+                if (totals[i] < totals[lightest]) {
+                    lightest = i;
+                }
+            }
+            partitions.get(lightest).add(spec);
+            totals[lightest] += estimateDuration(spec, history, defaultDuration).toMillis();
+        }
+
+        List<List<String>> result = new ArrayList<>(groups);
+        for (List<String> partition : partitions) {
+            if (!partition.isEmpty()) {
+                partition.sort(Comparator.comparingInt(specs::indexOf));
+                result.add(partition);
+            }
+        }
+        return result;
+    }
+
+    static Duration estimateDuration(String spec, SpecHistory history, Duration defaultDuration) {
+        return history.getLastRun(spec)
+                      .map(SpecHistory.SpecRun::getDuration)
+                      .orElse(defaultDuration);
+    }
+
+    static Duration estimateDefaultDuration(List<String> specs, SpecHistory history) {
+        long total = 0;
+        int known = 0;
+        for (String spec : specs) {
+            if (history.getLastRun(spec).isPresent()) {
+                total += history.getLastRun(spec).get().getDuration().toMillis();
+                known++;
+            }
+        }
+        return known > 0 ? Duration.ofMillis(total / known) : DEFAULT_SPEC_DURATION;
+    }
+}
@@ -0,0 +1,191 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Indexes the suites of a {@link CypressTestResults} by spec file and by title, and their tests by description.
+ * <p>
+ * An index is an array of positions sorted by the hash code of their key, next to an array with those hash codes, so
+ * it costs two ints per suite or test and a lookup is a binary search. Positions with the same key are kept in the
+ * order they were added. The index is a snapshot: it is rebuilt when the suites or their tests change.
+ */
+final class TestResultsIndex {
+    private final CypressTestSuite[] suites;
+    private final CypressTest[] tests;
+    private final int[] testSuites;
+    private final int[] failingTests;
+    private final KeyIndex suitesBySpecFile;
+    private final KeyIndex suitesByTitle;
+    private final KeyIndex testsByDescription;
+
+    TestResultsIndex(List<CypressTestSuite> suiteList) {
+        suites = suiteList.toArray(new CypressTestSuite[0]);
+        int numberOfTests = 0;
+        for (CypressTestSuite suite : suites) {
+            numberOfTests += suite.getTests().size();
+        }
+        tests = new CypressTest[numberOfTests];
+        testSuites = new int[numberOfTests];
+        int numberOfFailingTests = 0;
+        int test = 0;
+        for (int suite = 0; suite < suites.length; suite++) {
+            for (CypressTest cypressTest : suites[suite].getTests()) {
+                tests[test] = cypressTest;
+                testSuites[test] = suite;
+                if (!cypressTest.isSuccess()) {
+                    numberOfFailingTests++;
+                }
+                test++;
+            }
+        }
+        failingTests = new int[numberOfFailingTests];
+        int failingTest = 0;
+        for (test = 0; test < tests.length; test++) {
+            if (!tests[test].isSuccess()) {
+                failingTests[failingTest++] = test;
+            }
+        }
+        suitesBySpecFile = KeyIndex.build(suites.length, suite -> suites[suite].getSpecFile());
+        suitesByTitle = KeyIndex.build(suites.length, suite -> suites[suite].getTitle());
+        testsByDescription = KeyIndex.build(tests.length, position -> tests[position].getDescription());
+    }
+
+    List<CypressTestSuite> suitesBySpecFile(String specFile) {
+        return suitesView(suitesBySpecFile.find(specFile));
+    }
+
+    List<CypressTestSuite> suitesByTitle(String title) {
+        return suitesView(suitesByTitle.find(title));
+    }
+
+    List<CypressTest> testsByDescription(String description) {
+        return testsView(testsByDescription.find(description));
+    }
+
+    List<CypressTest> failingTests() {
+        return testsView(failingTests);
+    }
+
+    /**
+     * @return the first test with the given description in a suite with the given title, or <code>null</code> if there
+     * is no such test
+     */
+    CypressTest findTest(String suiteTitle, String description) {
+        if (suiteTitle == null) {
+            return null;
+        }
+        for (int test : testsByDescription.find(description)) {
+            if (suiteTitle.equals(suites[testSuites[test]].getTitle())) {
+                return tests[test];
+            }
+        }
+        return null;
+    }
+
+    private List<CypressTestSuite> suitesView(int[] positions) {
+        return new AbstractList<CypressTestSuite>() {
+            @Override
+            public CypressTestSuite get(int index) {
+                return suites[positions[index]];
+            }
+
+            @Override
+            public int size() {
+                return positions.length;
+            }
+        };
+    }
+
+    private List<CypressTest> testsView(int[] positions) {
+        return new AbstractList<CypressTest>() {
+            @Override
+            public CypressTest get(int index) {
+                return tests[positions[index]];
+            }
+
+            @Override
+            public int size() {
+                return positions.length;
+            }
+        };
+    }
+
+    /**
+     * The positions of the elements, sorted by the hash code of their key and then by position. Elements without a
+     * key are left out.
+     */
+    private static final class KeyIndex {
+        private static final int[] EMPTY = new int[0];
+
+        private final int[] positions;
+        private final int[] hashes;
+        private final IntFunction<String> keys;
+
+        private KeyIndex(int[] positions, int[] hashes, IntFunction<String> keys) {
+            this.positions = positions;
+            this.hashes = hashes;
+            this.keys = keys;
+        }
+
+        static KeyIndex build(int size, IntFunction<String> keys) {
+            long[] entries = new long[size];
+            int numberOfEntries = 0;
+            for (int position = 0; position < size; position++) {
+                String key = keys.apply(position);
+                if (key != null) {
+                    // Sorting hash and position packed in a long sorts by hash first, then by position
+                    entries[numberOfEntries++] = ((long) key.hashCode() << 32) | position;
+                }
+            }
+            Arrays.sort(entries, 0, numberOfEntries);
+            int[] positions = new int[numberOfEntries];
+            int[] hashes = new int[numberOfEntries];
+            for (int i = 0; i < numberOfEntries; i++) {
+                positions[i] = (int) entries[i];
+                hashes[i] = (int) (entries[i] >> 32);
+            }
+            return new KeyIndex(positions, hashes, keys);
+        }
+
+        /**
+         * @return the positions of the elements with the given key, in ascending order
+         */
+        int[] find(String key) {
+            if (key == null) {
+                return EMPTY;
+            }
+            int hash = key.hashCode();
+            int first = firstWithHash(hash);
+            int[] result = null;
+            int count = 0;
+            for (int i = first; i < hashes.length && hashes[i] == hash; i++) {
+                if (key.equals(keys.apply(positions[i]))) {
+                    if (result == null) {
+                        result = new int[Math.min(4, hashes.length - i)];
+                    } else if (count == result.length) {
+                        result = Arrays.copyOf(result, count * 2);
+                    }
+                    result[count++] = positions[i];
+                }
+            }
+            return result == null ? EMPTY : Arrays.copyOf(result, count);
+        }
+
+        private int firstWithHash(int hash) {
+            int low = 0;
+            int high = hashes.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (hashes[middle] < hash) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+// Adds the titles of the running suite and test to every request to the base URL, so the proxy of
+// CypressContainer.withBackendLatency() can attribute the latency of the requests to the test.
+//
+// Copied into cypress/support by CypressContainer.withBackendLatency(). Import it from the support file:
+//   import './testcontainers-backend-latency'
+
+const SUITE_HEADER = 'x-testcontainers-cypress-suite';
+const TEST_HEADER = 'x-testcontainers-cypress-test';
+
+function escapeRegExp(value) {
+  return value.replace(/[.*+?^${}()|[\]\\]/g, '\\$&');
+}
+
+beforeEach(() => {
+  const baseUrl = Cypress.config('baseUrl');
+  const titlePath = Cypress.currentTest && Cypress.currentTest.titlePath;
+  if (!baseUrl || !titlePath || titlePath.length < 2) {
+    return;
+  }
+  // The suite of a test is its top-level describe block, like in the results of CypressContainer
+  const suite = encodeURIComponent(titlePath[0]);
+  const test = encodeURIComponent(titlePath[titlePath.length - 1]);
+  const origin = new URL(baseUrl).origin;
+  cy.intercept({ url: new RegExp('^' + escapeRegExp(origin) + '(/|$)'), middleware: true }, (req) => {
+    req.headers[SUITE_HEADER] = suite;
+    req.headers[TEST_HEADER] = test;
+  });
+});
@@ -0,0 +1,97 @@
+// Collects Navigation Timing, paint timings and Core Web Vitals (LCP, CLS, INP) for every page that is loaded
+// during a test, and adds them to the Mochawesome report as test context.
+//
+// Copied into cypress/support by CypressContainer.withPageMetrics(). Import it from the support file:
+//   import './testcontainers-page-metrics'
+
+const CONTEXT_TITLE = 'testcontainers-page-metrics';
+
+let currentWindow = null;
+let metrics = [];
+
+function observe(win, type, callback) {
+  try {
+    const observer = new win.PerformanceObserver((list) => list.getEntries().forEach(callback));
+    const options = type === 'event' ? { type, buffered: true, durationThreshold: 40 } : { type, buffered: true };
+    observer.observe(options);
+  } catch (e) {
+    // The entry type is not supported by this browser
+  }
+}
+
+function install(win) {
+  const vitals = { lcp: null, cls: 0, inp: null };
+  win.__testcontainersPageMetrics = vitals;
+  observe(win, 'largest-contentful-paint', (entry) => {
+    vitals.lcp = entry.startTime;
+  });
+  observe(win, 'layout-shift', (entry) => {
+    if (!entry.hadRecentInput) {
+      vitals.cls += entry.value;
+    }
+  });
+  observe(win, 'event', (entry) => {
+    if (entry.interactionId && (vitals.inp === null || entry.duration > vitals.inp)) {
+      vitals.inp = entry.duration;
+    }
+  });
+}
+
+function snapshot(win) {
+  if (!win || !win.__testcontainersPageMetrics || win.__testcontainersPageMetricsTaken) {
+    return;
+  }
+  const url = win.location.href;
+  if (!url || url === 'about:blank') {
+    return;
+  }
+  win.__testcontainersPageMetricsTaken = true;
+  const navigation = win.performance.getEntriesByType('navigation')[0];
+  const firstContentfulPaint = win.performance.getEntriesByName('first-contentful-paint')[0];
+  const vitals = win.__testcontainersPageMetrics;
+  metrics.push({
+    url,
+    timeToFirstByte: navigation ? navigation.responseStart - navigation.startTime : null,
+    domContentLoaded: navigation && navigation.domContentLoadedEventEnd > 0 ? navigation.domContentLoadedEventEnd - navigation.startTime : null,
+    load: navigation && navigation.loadEventEnd > 0 ? navigation.loadEventEnd - navigation.startTime : null,
+    firstContentfulPaint: firstContentfulPaint ? firstContentfulPaint.startTime : null,
+    largestContentfulPaint: vitals.lcp,
+    cumulativeLayoutShift: vitals.cls,
+    interactionToNextPaint: vitals.inp,
+  });
+}
+
+function addContext(test, value) {
+  // Same as mochawesome/addContext, without depending on the location of node_modules
+  if (!test.context) {
+    test.context = value;
+  } else if (Array.isArray(test.context)) {
+    test.context.push(value);
+  } else {
+    test.context = [test.context, value];
+  }
+}
+
+Cypress.on('test:before:run', () => {
+  metrics = [];
+});
+
+Cypress.on('window:before:load', (win) => {
+  currentWindow = win;
+  install(win);
+});
+
+Cypress.on('window:before:unload', () => {
+  snapshot(currentWindow);
+});
+
+afterEach(() => {
+  cy.window({ log: false }).then((win) => snapshot(win));
+});
+
+Cypress.on('test:after:run', (test) => {
+  if (metrics.length > 0) {
+    addContext(test, { title: CONTEXT_TITLE, value: metrics });
+  }
+  metrics = [];
+});
@@ -0,0 +1,192 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BackendLatencyProxyTest {
+    private HttpServer backend;
+    private final ExecutorService backendExecutor = Executors.newCachedThreadPool();
+    private final List<String> receivedTestHeaders = new CopyOnWriteArrayList<>();
+    private BackendLatencyProxy proxy;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        backend = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        backend.createContext("/todos", exchange -> {
+            receivedTestHeaders.add(String.valueOf(exchange.getRequestHeaders().getFirst(BackendLatencyProxy.TEST_HEADER)));
+            byte[] requestBody = readFully(exchange.getRequestBody());
+            byte[] response = requestBody.length > 0
+                    ? requestBody
+                    : ("todos of " + exchange.getRequestURI().getQuery()).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("X-Backend", "todos");
+            // A response length of 0 makes the server use a chunked response
+            exchange.sendResponseHeaders(exchange.getRequestMethod().equals("POST") ? 201 : 200, 0);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(response);
+            }
+        });
+        backend.createContext("/secured", exchange -> {
+            // Like a login entry point, that builds an absolute URL from the Host header
+            exchange.getResponseHeaders().add("Location", "http://" + exchange.getRequestHeaders().getFirst("Host") + "/login");
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+        });
+        backend.createContext("/logout", exchange -> {
+            exchange.getResponseHeaders().add("Location", "http://localhost:" + backend.getAddress().getPort() + "/login?logout");
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+        });
+        backend.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        backend.setExecutor(backendExecutor);
+        backend.start();
+
+        proxy = new BackendLatencyProxy();
+        proxy.start(InetAddress.getLoopbackAddress());
+        proxy.setTarget(URI.create("http://localhost:" + backend.getAddress().getPort()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        proxy.stop();
+        backend.stop(0);
+        backendExecutor.shutdownNow();
+    }
+
+    @Test
+    void testForwardsRequestsAndAttachesLatencyPerTest() throws IOException {
+        HttpURLConnection get = request("GET", "/todos?page=2", "Todos", "lists%20todos");
+        assertThat(get.getResponseCode()).isEqualTo(200);
+        assertThat(get.getHeaderField("X-Backend")).isEqualTo("todos");
+        assertThat(readFully(get.getInputStream())).asString(StandardCharsets.UTF_8).isEqualTo("todos of page=2");
+
+        HttpURLConnection post = request("POST", "/todos", "Todos", "adds%20a%20todo");
+        post.setDoOutput(true);
+        try (OutputStream body = post.getOutputStream()) {
+            body.write("{\"title\":\"milk\"}".getBytes(StandardCharsets.UTF_8));
+        }
+        assertThat(post.getResponseCode()).isEqualTo(201);
+        assertThat(readFully(post.getInputStream())).asString(StandardCharsets.UTF_8).isEqualTo("{\"title\":\"milk\"}");
+
+        HttpURLConnection untagged = request("GET", "/todos", null, null);
+        assertThat(untagged.getResponseCode()).isEqualTo(200);
+        readFully(untagged.getInputStream());
+
+        // The headers of the support file are not passed on to the application
+        assertThat(receivedTestHeaders).containsOnly("null");
+
+        CypressTestResults results = new CypressTestResults();
+        int suite = results.addSuite("Todos");
+        results.addTest(suite, "lists todos", true, null, null, null);
+        results.addTest(suite, "adds a todo", true, null, null, null);
+        results.addTest(suite, "removes a todo", true, null, null, null);
+        proxy.attachTo(results);
+
+        BackendLatency listLatency = results.getTest("Todos", "lists todos").get().getBackendLatency();
+        assertThat(listLatency.getNumberOfRequests()).isEqualTo(1);
+        assertThat(listLatency.getRequestBytes()).isZero();
+        assertThat(listLatency.getResponseBytes()).isEqualTo("todos of page=2".length());
+        assertThat(listLatency.getSlowestRequest()).isEqualTo("GET /todos?page=2");
+        BackendLatency addLatency = results.getTest("Todos", "adds a todo").get().getBackendLatency();
+        assertThat(addLatency.getRequestBytes()).isEqualTo("{\"title\":\"milk\"}".length());
+        assertThat(results.getTest("Todos", "removes a todo").get().getBackendLatency()).isNull();
+    }
+
+    @Test
+    void testRedirectsPointToTheProxy() throws IOException {
+        HttpURLConnection secured = request("GET", "/secured", "Todos", "logs%20in");
+        secured.setInstanceFollowRedirects(false);
+        assertThat(secured.getResponseCode()).isEqualTo(302);
+        assertThat(secured.getHeaderField("Location")).isEqualTo("http://localhost:" + proxy.getPort() + "/login");
+
+        HttpURLConnection logout = request("GET", "/logout", "Todos", "logs%20out");
+        logout.setInstanceFollowRedirects(false);
+        assertThat(logout.getResponseCode()).isEqualTo(302);
+        assertThat(logout.getHeaderField("Location")).isEqualTo("http://localhost:" + proxy.getPort() + "/login?logout");
+    }
+
+    @Test
+    void testListensOnTheBindAddressOnly() {
+        assertThat(proxy.getAddress().getAddress().isLoopbackAddress()).isTrue();
+    }
+
+    @Test
+    void testRespondsWithGatewayTimeoutIfTheApplicationHangs() throws IOException {
+        proxy.setReadTimeout(Duration.ofMillis(100));
+
+        HttpURLConnection slow = request("GET", "/slow", "Todos", "waits");
+        assertThat(slow.getResponseCode()).isEqualTo(504);
+    }
+
+    @Test
+    void testRespondsWithBadGatewayIfTheApplicationIsDown() throws IOException {
+        backend.stop(0);
+
+        HttpURLConnection get = request("GET", "/todos", "Todos", "lists%20todos");
+        assertThat(get.getResponseCode()).isEqualTo(502);
+    }
+
+    @Test
+    void testSummarize() {
+        BackendLatency latency = BackendLatencyProxy.summarize(Arrays.asList(
+                new BackendLatencyProxy.Sample(Duration.ofMillis(30).toNanos(), 10, 100, "GET /a"),
+                new BackendLatencyProxy.Sample(Duration.ofMillis(10).toNanos(), 0, 200, "GET /b"),
+                new BackendLatencyProxy.Sample(Duration.ofMillis(20).toNanos(), 5, 300, "POST /c")));
+
+        assertThat(latency.getNumberOfRequests()).isEqualTo(3);
+        assertThat(latency.getTotal()).isEqualTo(Duration.ofMillis(60));
+        assertThat(latency.getP50()).isEqualTo(Duration.ofMillis(20));
+        assertThat(latency.getMax()).isEqualTo(Duration.ofMillis(30));
+        assertThat(latency.getRequestBytes()).isEqualTo(15);
+        assertThat(latency.getResponseBytes()).isEqualTo(600);
+        assertThat(latency.getSlowestRequest()).isEqualTo("GET /a");
+    }
+
+    private HttpURLConnection request(String method, String path, String suiteTitle, String description) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + proxy.getPort() + path).openConnection();
+        connection.setRequestMethod(method);
+        if (suiteTitle != null) {
+            connection.setRequestProperty(BackendLatencyProxy.SUITE_HEADER, suiteTitle);
+            connection.setRequestProperty(BackendLatencyProxy.TEST_HEADER, description);
+        }
+        return connection;
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            bytes.write(buffer, 0, read);
+        }
+        return bytes.toByteArray();
+    }
+}
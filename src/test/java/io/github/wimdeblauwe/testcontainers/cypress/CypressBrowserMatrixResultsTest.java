@@ -0,0 +1,51 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.entry;
+
+class CypressBrowserMatrixResultsTest {
+
+    @Test
+    void testFailingBrowsersByTest() {
+        Map<String, CypressTestResults> resultsByBrowser = new LinkedHashMap<>();
+        resultsByBrowser.put("electron", results(true, true));
+        resultsByBrowser.put("chrome", results(false, true));
+        resultsByBrowser.put("firefox", results(false, false));
+
+        CypressBrowserMatrixResults matrixResults = new CypressBrowserMatrixResults(resultsByBrowser);
+
+        assertThat(matrixResults.getBrowsers()).containsExactly("electron", "chrome", "firefox");
+        assertThat(matrixResults.getNumberOfFailingTests()).isEqualTo(3);
+        assertThat(matrixResults.getFailingBrowsersByTest())
+                .containsExactly(entry("Todos > should add a todo", new LinkedHashSet<>(Arrays.asList("chrome", "firefox"))),
+                                 entry("Todos > should remove a todo", new LinkedHashSet<>(Arrays.asList("firefox"))));
+    }
+
+    @Test
+    void testGetResultsForUnknownBrowser() {
+        CypressBrowserMatrixResults matrixResults = new CypressBrowserMatrixResults(new LinkedHashMap<>());
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> matrixResults.getResults("safari"));
+    }
+
+    private static CypressTestResults results(boolean addSucceeds, boolean removeSucceeds) {
+        CypressTestSuite suite = new CypressTestSuite("Todos");
+        suite.add(new CypressTest("should add a todo", addSucceeds));
+        suite.add(new CypressTest("should remove a todo", removeSucceeds));
+        CypressTestResults results = new CypressTestResults();
+        results.addNumberOfTests(2);
+        results.addNumberOfPassingTests((addSucceeds ? 1 : 0) + (removeSucceeds ? 1 : 0));
+        results.addNumberOfFailingTests((addSucceeds ? 0 : 1) + (removeSucceeds ? 0 : 1));
+        results.addSuites(Arrays.asList(suite));
+        return results;
+    }
+}
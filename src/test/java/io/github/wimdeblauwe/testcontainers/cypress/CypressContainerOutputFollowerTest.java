@@ -0,0 +1,149 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.output.OutputFrame;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CypressContainerOutputFollowerTest {
+
+    @Test
+    void testRunFinishedSplitOverFrames() {
+        CountDownLatch latch = new CountDownLatch(1);
+        CypressContainer.CypressContainerOutputFollower follower = new CypressContainer.CypressContainerOutputFollower(latch, Collections.emptyList());
+
+        follower.accept(frame("  (Run Fin"));
+        assertThat(latch.getCount()).isEqualTo(1);
+        follower.accept(frame("ished)\n"));
+
+        assertThat(latch.getCount()).isZero();
+    }
+
+    @Test
+    void testListenersReceiveLinesAndEvents() {
+        List<String> events = new ArrayList<>();
+        CypressOutputListener listener = new CypressOutputListener() {
+            @Override
+            public void onLine(OutputFrame.OutputType type, String line) {
+                events.add(type + ": " + line);
+            }
+
+            @Override
+            public void onSpecStarted(String spec) {
+                events.add("started " + spec);
+            }
+
+            @Override
+            public void onRunFinished() {
+                events.add("finished");
+            }
+        };
+        CypressContainer.CypressContainerOutputFollower follower = new CypressContainer.CypressContainerOutputFollower(new CountDownLatch(1),
+                                                                                                                     Collections.singletonList(listener));
+
+        follower.accept(frame("  Running:  todos.cy.js"));
+        follower.accept(frame("                    (1 of 2)\n\n"));
+        assertThat(follower.getCurrentSpec()).isEqualTo("todos.cy.js");
+        follower.accept(frame("  (Run Finished)\n"));
+        follower.accept(OutputFrame.END);
+
+        assertThat(events).containsExactly("STDOUT: Running:  todos.cy.js                    (1 of 2)",
+                                           "started todos.cy.js",
+                                           "STDOUT: (Run Finished)",
+                                           "finished");
+        assertThat(follower.getCurrentSpec()).isNull();
+    }
+
+    @Test
+    void testTracksTheRunningSpecPerWorker() {
+        List<String> events = new ArrayList<>();
+        CypressOutputListener listener = new CypressOutputListener() {
+            @Override
+            public void onLine(OutputFrame.OutputType type, String line) {
+                events.add(line);
+            }
+        };
+        CountDownLatch latch = new CountDownLatch(2);
+        CypressContainer.CypressContainerOutputFollower follower = new CypressContainer.CypressContainerOutputFollower(latch,
+                                                                                                                     Collections.singletonList(listener));
+
+        follower.accept(frame("[worker-1]   Running:  a.cy.js   (1 of 1)\n"));
+        follower.accept(frame("[worker-2]   Running:  b.cy.js   (1 of 1)\n"));
+        assertThat(follower.getCurrentSpec()).isEqualTo("a.cy.js,b.cy.js");
+
+        follower.accept(frame("[worker-1]   (Run Finished)\n"));
+        assertThat(follower.getCurrentSpec()).isEqualTo("b.cy.js");
+        assertThat(latch.getCount()).isEqualTo(1);
+
+        assertThat(events).containsExactly("[worker-1] Running:  a.cy.js   (1 of 1)",
+                                           "[worker-2] Running:  b.cy.js   (1 of 1)",
+                                           "[worker-1] (Run Finished)");
+    }
+
+    @Test
+    void testDetectStallWithoutOutput() {
+        AtomicLong clock = new AtomicLong();
+        CypressContainer.CypressContainerOutputFollower follower = new CypressContainer.CypressContainerOutputFollower(new CountDownLatch(1),
+                                                                                                                     Collections.emptyList(),
+                                                                                                                     clock::get);
+        follower.accept(frame("  Running:  todos.cy.js  (1 of 1)\n"));
+
+        clock.set(Duration.ofSeconds(10).toNanos());
+        assertThat(follower.detectStall(Duration.ofSeconds(10), null)).isNull();
+
+        clock.set(Duration.ofSeconds(11).toNanos());
+        CypressContainer.CypressContainerOutputFollower.Stall stall = follower.detectStall(Duration.ofSeconds(10), null);
+        assertThat(stall).isNotNull();
+        assertThat(stall.getReason()).isEqualTo("no output for PT10S while running spec todos.cy.js");
+        assertThat(stall.getSpec()).isEqualTo("todos.cy.js");
+    }
+
+    @Test
+    void testDetectStallOnlyAfterTheFirstSpecStarted() {
+        AtomicLong clock = new AtomicLong();
+        CypressContainer.CypressContainerOutputFollower follower = new CypressContainer.CypressContainerOutputFollower(new CountDownLatch(1),
+                                                                                                                     Collections.emptyList(),
+                                                                                                                     clock::get);
+        follower.accept(frame("npm install\n"));
+
+        clock.set(Duration.ofSeconds(60).toNanos());
+        assertThat(follower.detectStall(Duration.ofSeconds(10), null)).isNull();
+
+        follower.accept(frame("  Running:  todos.cy.js  (1 of 1)\n"));
+        clock.set(Duration.ofSeconds(71).toNanos());
+        assertThat(follower.detectStall(Duration.ofSeconds(10), null)).isNotNull();
+    }
+
+    @Test
+    void testDetectStallOfTheSpecOfAWorker() {
+        AtomicLong clock = new AtomicLong();
+        CypressContainer.CypressContainerOutputFollower follower = new CypressContainer.CypressContainerOutputFollower(new CountDownLatch(2),
+                                                                                                                     Collections.emptyList(),
+                                                                                                                     clock::get);
+        follower.accept(frame("[worker-1]   Running:  slow.cy.js  (1 of 2)\n"));
+        clock.set(Duration.ofSeconds(20).toNanos());
+        follower.accept(frame("[worker-2]   Running:  fast.cy.js  (1 of 2)\n"));
+        follower.accept(frame("[worker-2]   (Run Finished)\n"));
+
+        clock.set(Duration.ofSeconds(30).toNanos());
+        assertThat(follower.detectStall(Duration.ofSeconds(60), Duration.ofSeconds(30))).isNull();
+
+        clock.set(Duration.ofSeconds(31).toNanos());
+        CypressContainer.CypressContainerOutputFollower.Stall stall = follower.detectStall(Duration.ofSeconds(60), Duration.ofSeconds(30));
+        assertThat(stall).isNotNull();
+        assertThat(stall.getReason()).isEqualTo("spec slow.cy.js is running longer than PT30S");
+        assertThat(stall.getSpec()).isEqualTo("slow.cy.js");
+    }
+
+    private static OutputFrame frame(String value) {
+        return new OutputFrame(OutputFrame.OutputType.STDOUT, value.getBytes(StandardCharsets.UTF_8));
+    }
+}
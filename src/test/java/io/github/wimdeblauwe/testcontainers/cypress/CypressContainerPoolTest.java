@@ -0,0 +1,200 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.Network;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class CypressContainerPoolTest {
+    private final AtomicInteger startedContainers = new AtomicInteger();
+    private CypressContainerPool pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    void testLeaseStartsANewContainer() throws Exception {
+        pool = new CypressContainerPool(2, Duration.ofMinutes(5));
+
+        try (CypressContainerLease lease = pool.lease(FakeContainer::new)) {
+            assertThat(lease.getContainer().isRunning()).isTrue();
+            assertThat(startedContainers).hasValue(1);
+        }
+    }
+
+    @Test
+    void testReleasedContainerIsReused() throws Exception {
+        pool = new CypressContainerPool(2, Duration.ofMinutes(5));
+
+        CypressContainer first;
+        try (CypressContainerLease lease = pool.lease(FakeContainer::new)) {
+            first = lease.getContainer();
+        }
+        assertThat(((FakeContainer) first).resets).isEqualTo(1);
+        try (CypressContainerLease lease = pool.lease(FakeContainer::new)) {
+            assertThat(lease.getContainer()).isSameAs(first);
+        }
+        assertThat(startedContainers).hasValue(1);
+    }
+
+    @Test
+    void testReusedContainerTakesOverTheRunSettings() throws Exception {
+        pool = new CypressContainerPool(2, Duration.ofMinutes(5));
+
+        try (CypressContainerLease lease = pool.lease(() -> new FakeContainer().withBrowser("chrome").withSpec("cypress/e2e/a.cy.js"))) {
+            assertThat(lease.getContainer().buildCypressRunArguments()).contains("--browser chrome", "a.cy.js");
+        }
+        try (CypressContainerLease lease = pool.lease(() -> new FakeContainer().withBrowser("firefox").withRecord("key"))) {
+            assertThat(lease.getContainer().buildCypressRunArguments())
+                    .contains("--browser firefox", "--record --key key")
+                    .doesNotContain("a.cy.js");
+        }
+        assertThat(startedContainers).hasValue(1);
+    }
+
+    @Test
+    void testReusedContainerTakesOverTheListenersAndTheStrategy() throws Exception {
+        pool = new CypressContainerPool(2, Duration.ofMinutes(5));
+        CypressOutputListener firstListener = new CypressOutputListener() {
+        };
+        CypressOutputListener secondListener = new CypressOutputListener() {
+        };
+        MochawesomeGatherTestResultsStrategy strategy = new MochawesomeGatherTestResultsStrategy();
+
+        try (CypressContainerLease lease = pool.lease(() -> new FakeContainer().withOutputListener(firstListener))) {
+            assertThat(lease.getContainer().getOutputListeners()).containsExactly(firstListener);
+        }
+        try (CypressContainerLease lease = pool.lease(() -> new FakeContainer().withOutputListener(secondListener)
+                                                                               .withGatherTestResultsStrategy(strategy))) {
+            assertThat(lease.getContainer().getOutputListeners()).containsExactly(secondListener);
+            assertThat(lease.getContainer().getGatherTestResultsStrategy()).isSameAs(strategy);
+        }
+        assertThat(startedContainers).hasValue(1);
+    }
+
+    @Test
+    void testContainersWithADifferentConfigurationAreNotShared() throws Exception {
+        pool = new CypressContainerPool(2, Duration.ofMinutes(5));
+
+        CypressContainer first;
+        try (CypressContainerLease lease = pool.lease(FakeContainer::new)) {
+            first = lease.getContainer();
+        }
+        try (CypressContainerLease lease = pool.lease(() -> new FakeContainer().withPageMetrics())) {
+            assertThat(lease.getContainer()).isNotSameAs(first);
+        }
+        assertThat(startedContainers).hasValue(2);
+    }
+
+    @Test
+    void testContainersAreSharedByNetworkWithoutCreatingIt() throws Exception {
+        pool = new CypressContainerPool(2, Duration.ofMinutes(5));
+        Network network = Network.newNetwork();
+
+        CypressContainer first;
+        try (CypressContainerLease lease = pool.lease(() -> new FakeContainer().withNetwork(network))) {
+            first = lease.getContainer();
+        }
+        try (CypressContainerLease lease = pool.lease(() -> new FakeContainer().withNetwork(network))) {
+            assertThat(lease.getContainer()).isSameAs(first);
+        }
+        try (CypressContainerLease lease = pool.lease(() -> new FakeContainer().withNetwork(Network.newNetwork()))) {
+            assertThat(lease.getContainer()).isNotSameAs(first);
+        }
+        assertThat(startedContainers).hasValue(2);
+    }
+
+    @Test
+    void testIdleContainerIsStoppedToMakeRoom() throws Exception {
+        pool = new CypressContainerPool(1, Duration.ofMinutes(5));
+
+        CypressContainer first;
+        try (CypressContainerLease lease = pool.lease(FakeContainer::new)) {
+            first = lease.getContainer();
+        }
+        try (CypressContainerLease lease = pool.lease(() -> new FakeContainer().withPageMetrics())) {
+            assertThat(lease.getContainer()).isNotSameAs(first);
+            assertThat(first.isRunning()).isFalse();
+        }
+    }
+
+    @Test
+    void testIdleContainerIsEvicted() throws Exception {
+        pool = new CypressContainerPool(2, Duration.ofMillis(50));
+
+        CypressContainer container;
+        try (CypressContainerLease lease = pool.lease(FakeContainer::new)) {
+            container = lease.getContainer();
+        }
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (container.isRunning() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(container.isRunning()).isFalse();
+    }
+
+    @Test
+    void testLeaseTimesOutWhenThePoolIsFull() throws Exception {
+        pool = new CypressContainerPool(1, Duration.ofMinutes(5));
+
+        try (CypressContainerLease lease = pool.lease(FakeContainer::new)) {
+            assertThat(lease.getContainer().isRunning()).isTrue();
+            assertThatExceptionOfType(TimeoutException.class)
+                    .isThrownBy(() -> pool.lease(FakeContainer::new, Duration.ofMillis(50)));
+        }
+    }
+
+    @Test
+    void testCloseStopsIdleContainers() throws Exception {
+        pool = new CypressContainerPool(2, Duration.ofMinutes(5));
+
+        CypressContainer container;
+        try (CypressContainerLease lease = pool.lease(FakeContainer::new)) {
+            container = lease.getContainer();
+        }
+        pool.close();
+
+        assertThat(container.isRunning()).isFalse();
+        assertThatExceptionOfType(IllegalStateException.class)
+                .isThrownBy(() -> pool.lease(FakeContainer::new));
+    }
+
+    /**
+     * A container that does not need Docker: starting, stopping and resetting it only changes its state.
+     */
+    private class FakeContainer extends CypressContainer {
+        private volatile boolean running;
+        private int resets;
+
+        @Override
+        public void start() {
+            running = true;
+            startedContainers.incrementAndGet();
+        }
+
+        @Override
+        public void stop() {
+            running = false;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+
+        @Override
+        void resetForNextRun() {
+            resets++;
+        }
+    }
+}
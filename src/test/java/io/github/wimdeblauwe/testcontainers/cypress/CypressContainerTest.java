@@ -1,17 +1,35 @@
 package io.github.wimdeblauwe.testcontainers.cypress;
 
 import com.github.dockerjava.api.command.CreateContainerCmd;
+import com.github.dockerjava.api.model.Bind;
+import com.github.dockerjava.api.model.HostConfig;
 import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.output.OutputFrame;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
 import org.testcontainers.core.CreateContainerCmdModifier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class CypressContainerTest {
 
@@ -95,6 +113,23 @@ class CypressContainerTest {
         verify(cmd).withEntrypoint("bash", "-c", "npm install && cypress run --headless --browser firefox");
     }
 
+    @Test
+    void testWithComponentTesting() {
+        Set<CreateContainerCmdModifier> createContainerCmdModifiers;
+        try (CypressContainer container = new CypressContainer()
+                .withComponentTesting()
+                .withLocalServerPort(9090)
+                .withBrowser("chrome")
+                .withAutoCleanReports(false)) {
+            container.configure();
+            assertThat(container.getEnvMap()).doesNotContainKey("CYPRESS_baseUrl");
+            createContainerCmdModifiers = container.getCreateContainerCmdModifiers();
+        }
+        CreateContainerCmd cmd = mock(CreateContainerCmd.class);
+        createContainerCmdModifiers.iterator().next().modify(cmd);
+        verify(cmd).withEntrypoint("bash", "-c", "npm install && cypress run --component --headless --browser chrome");
+    }
+
     @Test
     void testWithBrowserIfBrowserIsNull() {
         assertThatExceptionOfType(IllegalArgumentException.class)
@@ -112,20 +147,64 @@ class CypressContainerTest {
     @Test
     void testWithAutoCleanReports() {
         Set<CreateContainerCmdModifier> createContainerCmdModifiers;
+        Path runReportsPath;
+        List<Bind> binds;
         try (CypressContainer container = new CypressContainer()
                 .withAutoCleanReports(true)) {
             container.configure();
             createContainerCmdModifiers = container.getCreateContainerCmdModifiers();
+            runReportsPath = container.getRunReportsPath();
+            binds = container.getBinds();
         }
+        assertThat(runReportsPath).isDirectory()
+                                  .hasParent(Paths.get("target", "test-classes", "e2e", "cypress", "reports", "mochawesome").toAbsolutePath());
+        assertThat(runReportsPath.getFileName().toString()).startsWith("run-");
+        assertThat(binds).anySatisfy(bind -> {
+            assertThat(bind.getPath()).isEqualTo(runReportsPath.toString());
+            assertThat(bind.getVolume().getPath()).isEqualTo("/e2e/cypress/reports/mochawesome");
+        });
         assertThat(createContainerCmdModifiers).hasSize(1);
         CreateContainerCmdModifier createContainerCmdModifier = createContainerCmdModifiers.iterator().next();
         CreateContainerCmd cmd = mock(CreateContainerCmd.class);
         createContainerCmdModifier.modify(cmd);
+        verify(cmd).withEntrypoint("bash",
+                                   "-c",
+                                   "npm install && cypress run --headless");
+    }
+
+    @Test
+    void testWithAutoCleanReportsAndStrategyWithoutReportsPathSupport() {
+        Set<CreateContainerCmdModifier> createContainerCmdModifiers;
+        try (CypressContainer container = new CypressContainer()
+                .withAutoCleanReports(true)
+                .withGatherTestResultsStrategy(new GatherTestResultsStrategy() {
+                    @Override
+                    public CypressTestResults gatherTestResults() {
+                        return new CypressTestResults();
+                    }
+
+                    @Override
+                    public Path getReportsPath() {
+                        return Paths.get("target", "test-classes", "e2e", "cypress", "reports", "mochawesome");
+                    }
+                })) {
+            container.configure();
+            createContainerCmdModifiers = container.getCreateContainerCmdModifiers();
+        }
+        CreateContainerCmd cmd = mock(CreateContainerCmd.class);
+        createContainerCmdModifiers.iterator().next().modify(cmd);
         verify(cmd).withEntrypoint("bash",
                                    "-c",
                                    "rm -rf cypress/reports/mochawesome && npm install && cypress run --headless");
     }
 
+    @Test
+    void testWithReportsRetentionIfRetentionIsNotPositive() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new CypressContainer()
+                        .withReportsRetention(0));
+    }
+
     @Test
     void testWithSpec() {
         Set<CreateContainerCmdModifier> createContainerCmdModifiers;
@@ -143,6 +222,132 @@ class CypressContainerTest {
         verify(cmd).withEntrypoint("bash", "-c", "npm install && cypress run --headless --spec \"cypress/integration/todos.spec.js\"");
     }
 
+    @Test
+    void testWithSpecs() {
+        Set<CreateContainerCmdModifier> createContainerCmdModifiers;
+        try (CypressContainer container = new CypressContainer()
+                .withSpecs(Arrays.asList("cypress/e2e/todos.cy.js", "cypress/e2e/login.cy.js"))
+                .withAutoCleanReports(false)) {
+
+            container.configure();
+            createContainerCmdModifiers = container.getCreateContainerCmdModifiers();
+        }
+        CreateContainerCmd cmd = mock(CreateContainerCmd.class);
+        createContainerCmdModifiers.iterator().next().modify(cmd);
+        verify(cmd).withEntrypoint("bash", "-c", "npm install && { rm -rf cypress/screenshots cypress/videos; "
+                                                 + "cypress run --headless --spec \"cypress/e2e/todos.cy.js\" --config trashAssetsBeforeRuns=false; "
+                                                 + "cypress run --headless --spec \"cypress/e2e/login.cy.js\" --config trashAssetsBeforeRuns=false; }");
+    }
+
+    @Test
+    void testWithSpecsAndSpecOrderingStrategy() {
+        Set<CreateContainerCmdModifier> createContainerCmdModifiers;
+        try (CypressContainer container = new CypressContainer()
+                .withSpecs(Arrays.asList("cypress/e2e/a.cy.js", "cypress/e2e/b.cy.js"))
+                .withSpecOrderingStrategy(specs -> Arrays.asList(specs.get(1), specs.get(0)))
+                .withAutoCleanReports(false)) {
+
+            container.configure();
+            createContainerCmdModifiers = container.getCreateContainerCmdModifiers();
+        }
+        CreateContainerCmd cmd = mock(CreateContainerCmd.class);
+        createContainerCmdModifiers.iterator().next().modify(cmd);
+        verify(cmd).withEntrypoint("bash", "-c", "npm install && { rm -rf cypress/screenshots cypress/videos; "
+                                                 + "cypress run --headless --spec \"cypress/e2e/b.cy.js\" --config trashAssetsBeforeRuns=false; "
+                                                 + "cypress run --headless --spec \"cypress/e2e/a.cy.js\" --config trashAssetsBeforeRuns=false; }");
+    }
+
+    @Test
+    void testWithWorkersAndSpecOrderingStrategy() {
+        try (CypressContainer container = new CypressContainer()
+                .withSpecs(Arrays.asList("cypress/e2e/a.cy.js", "cypress/e2e/b.cy.js"))
+                .withWorkers(2)
+                .withSpecOrderingStrategy(specs -> specs)) {
+            assertThatExceptionOfType(IllegalStateException.class)
+                    .isThrownBy(container::configure)
+                    .withMessageContaining("SpecOrderingStrategy");
+        }
+    }
+
+    @Test
+    void testWithWorkers() {
+        Set<CreateContainerCmdModifier> createContainerCmdModifiers;
+        try (CypressContainer container = new CypressContainer()
+                .withSpecs(Arrays.asList("cypress/e2e/a.cy.js", "cypress/e2e/b.cy.js"))
+                .withWorkers(2)
+                .withAutoCleanReports(false)) {
+
+            container.configure();
+            createContainerCmdModifiers = container.getCreateContainerCmdModifiers();
+        }
+        CreateContainerCmd cmd = mock(CreateContainerCmd.class);
+        createContainerCmdModifiers.iterator().next().modify(cmd);
+        verify(cmd).withEntrypoint("bash", "-c", "npm install && { rm -rf cypress/screenshots cypress/videos; "
+                + "(Xvfb :101 -screen 0 1280x1024x24 >/dev/null 2>&1 & for i in $(seq 100); do [ -e /tmp/.X11-unix/X101 ] && break; sleep 0.1; done; "
+                + "DISPLAY=:101 cypress run --headless --spec \"cypress/e2e/a.cy.js\" --config trashAssetsBeforeRuns=false --reporter mochawesome "
+                + "--reporter-options \"reportDir=cypress/reports/mochawesome/worker-1,overwrite=false,html=false,json=true\"; kill $!) 2>&1 | sed -u \"s/^/[worker-1] /\" & "
+                + "(Xvfb :102 -screen 0 1280x1024x24 >/dev/null 2>&1 & for i in $(seq 100); do [ -e /tmp/.X11-unix/X102 ] && break; sleep 0.1; done; "
+                + "DISPLAY=:102 cypress run --headless --spec \"cypress/e2e/b.cy.js\" --config trashAssetsBeforeRuns=false --reporter mochawesome "
+                + "--reporter-options \"reportDir=cypress/reports/mochawesome/worker-2,overwrite=false,html=false,json=true\"; kill $!) 2>&1 | sed -u \"s/^/[worker-2] /\" & "
+                + "wait; }");
+    }
+
+    @Test
+    void testWithWorkersAndStrategyWithoutReportsPathSupport() {
+        try (CypressContainer container = new CypressContainer()
+                .withSpecs(Arrays.asList("cypress/e2e/a.cy.js", "cypress/e2e/b.cy.js"))
+                .withWorkers(2)
+                .withDeferredRun()
+                .withGatherTestResultsStrategy(new GatherTestResultsStrategy() {
+                    @Override
+                    public CypressTestResults gatherTestResults() {
+                        return new CypressTestResults();
+                    }
+
+                    @Override
+                    public Path getReportsPath() {
+                        return Paths.get("target", "test-classes", "e2e", "cypress", "reports", "mochawesome");
+                    }
+                })) {
+            assertThatExceptionOfType(IllegalStateException.class)
+                    .isThrownBy(container::configure);
+        }
+    }
+
+    @Test
+    void testWithReportsCopiedToAndStrategyWithoutReportsPathSupport() {
+        try (CypressContainer container = new CypressContainer()
+                .withGatherTestResultsStrategy(new GatherTestResultsStrategy() {
+                    @Override
+                    public CypressTestResults gatherTestResults() {
+                        return new CypressTestResults();
+                    }
+
+                    @Override
+                    public Path getReportsPath() {
+                        return Paths.get("target", "test-classes", "e2e", "cypress", "reports", "mochawesome");
+                    }
+                })) {
+            assertThatExceptionOfType(IllegalStateException.class)
+                    .isThrownBy(() -> container.withReportsCopiedTo(Paths.get("target", "reports-copy")))
+                    .withMessageContaining("supports a reports path");
+        }
+    }
+
+    @Test
+    void testWithWorkersIfWorkersIsNotPositive() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new CypressContainer()
+                        .withWorkers(0));
+    }
+
+    @Test
+    void testWithSpecsIfSpecsIsEmpty() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new CypressContainer()
+                        .withSpecs(Collections.emptyList()));
+    }
+
     @Test
     void testWithSpecIfSpecIsNull() {
         assertThatExceptionOfType(IllegalArgumentException.class)
@@ -173,7 +378,7 @@ class CypressContainerTest {
         createContainerCmdModifier.modify(cmd);
         verify(cmd).withEntrypoint("bash",
                                    "-c",
-                                   "rm -rf github/wimdeblauwe && npm install && cypress run --headless");
+                                   "npm install && cypress run --headless");
     }
 
     @Test
@@ -237,7 +442,295 @@ class CypressContainerTest {
         CreateContainerCmdModifier createContainerCmdModifier = createContainerCmdModifiers.iterator().next();
         CreateContainerCmd cmd = mock(CreateContainerCmd.class);
         createContainerCmdModifier.modify(cmd);
-        verify(cmd).withEntrypoint("bash", "-c", "rm -rf cypress/reports/mochawesome && npm install --loglevel silent && cypress run --headless");
+        verify(cmd).withEntrypoint("bash", "-c", "npm install --loglevel silent && cypress run --headless");
+
+    }
+
+    @Test
+    void testWithCopiedSources() {
+        Set<CreateContainerCmdModifier> createContainerCmdModifiers;
+        try (CypressContainer container = new CypressContainer()
+                .withCopiedSources()) {
+            container.configure();
+            assertThat(container.getBinds()).isEmpty();
+            createContainerCmdModifiers = container.getCreateContainerCmdModifiers();
+        }
+        assertThat(createContainerCmdModifiers).hasSize(1);
+        CreateContainerCmdModifier createContainerCmdModifier = createContainerCmdModifiers.iterator().next();
+        CreateContainerCmd cmd = mock(CreateContainerCmd.class);
+        createContainerCmdModifier.modify(cmd);
+        verify(cmd).withEntrypoint("bash", "-c", "rm -rf cypress/reports/mochawesome && npm install && cypress run --headless");
+    }
 
+    @Test
+    void testWithCopiedSourcesIfExcludesIsNull() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new CypressContainer()
+                        .withCopiedSources(null));
+    }
+
+    @Test
+    void testWithDeferredRun() {
+        Set<CreateContainerCmdModifier> createContainerCmdModifiers;
+        try (CypressContainer container = new CypressContainer()
+                .withDeferredRun()) {
+            container.configure();
+            assertThat(container.getEnvMap()).doesNotContainKey("CYPRESS_baseUrl");
+            createContainerCmdModifiers = container.getCreateContainerCmdModifiers();
+        }
+        assertThat(createContainerCmdModifiers).hasSize(1);
+        CreateContainerCmdModifier createContainerCmdModifier = createContainerCmdModifiers.iterator().next();
+        CreateContainerCmd cmd = mock(CreateContainerCmd.class);
+        createContainerCmdModifier.modify(cmd);
+        verify(cmd).withEntrypoint("bash", "-c", "npm install && echo 'testcontainers-cypress: ready to run tests' && tail -f /dev/null");
+    }
+
+    @Test
+    void testRunTestsWithoutDeferredRun() {
+        try (CypressContainer container = new CypressContainer()) {
+            assertThatExceptionOfType(IllegalStateException.class)
+                    .isThrownBy(container::runTests);
+        }
+    }
+
+    @Test
+    void testWithApplicationInNetwork() {
+        Network network = mock(Network.class);
+        try (CypressContainer container = new CypressContainer()
+                .withApplicationInNetwork(network, "app", 8080)) {
+            container.configure();
+            assertThat(container.getNetwork()).isSameAs(network);
+            assertThat(container.getEnvMap()).containsEntry("CYPRESS_baseUrl", "http://app:8080");
+        }
+    }
+
+    @Test
+    void testWithApplicationInNetworkIfNetworkAliasIsEmpty() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new CypressContainer()
+                        .withApplicationInNetwork(mock(Network.class), "", 8080));
+    }
+
+    @Test
+    void testWithApplicationIfApplicationHasNoNetwork() {
+        GenericContainer<?> application = mock(GenericContainer.class);
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new CypressContainer()
+                        .withApplication(application, 8080));
+    }
+
+    @Test
+    void testWithPersistentCypressCache() {
+        Set<CreateContainerCmdModifier> createContainerCmdModifiers;
+        try (CypressContainer container = new CypressContainer()
+                .withPersistentCypressCache()) {
+            container.configure();
+            assertThat(container.getEnvMap()).containsEntry("CYPRESS_CACHE_FOLDER", "/root/.cache/Cypress");
+            createContainerCmdModifiers = container.getCreateContainerCmdModifiers();
+        }
+        assertThat(createContainerCmdModifiers).hasSize(2);
+        Iterator<CreateContainerCmdModifier> iterator = createContainerCmdModifiers.iterator();
+        iterator.next();
+        HostConfig hostConfig = HostConfig.newHostConfig();
+        CreateContainerCmd cmd = mock(CreateContainerCmd.class);
+        when(cmd.getImage()).thenReturn("cypress/included:15.10.0");
+        when(cmd.getHostConfig()).thenReturn(hostConfig);
+        iterator.next().modify(cmd);
+        assertThat(hostConfig.getBinds())
+                .extracting(Bind::getPath, bind -> bind.getVolume().getPath())
+                .containsExactly(tuple("testcontainers-cypress-cache-cypress_included_15.10.0", "/root/.cache/Cypress"));
+    }
+
+    @Test
+    void testCypressCacheVolumeNameContainsTheImageAndItsId() {
+        assertThat(CypressContainer.getCypressCacheVolumeName("registry.example.com/cypress/included:15.10.0",
+                                                              "sha256:0123456789abcdef0123456789abcdef"))
+                .isEqualTo("testcontainers-cypress-cache-registry.example.com_cypress_included_15.10.0-0123456789ab");
+    }
+
+    @Test
+    void testWithLocalReuse() {
+        String configHash;
+        Set<CreateContainerCmdModifier> createContainerCmdModifiers;
+        try (CypressContainer container = new CypressContainer()
+                .withLocalReuse()) {
+            container.configure();
+            assertThat(container.isShouldBeReused()).isTrue();
+            assertThat(container.isDeferredRun()).isTrue();
+            configHash = container.getLabels().get(CypressContainer.CONFIG_HASH_LABEL);
+            assertThat(configHash).hasSize(64);
+            assertThat(container.getRunReportsPath().getFileName().toString()).isEqualTo("reused-" + configHash.substring(0, 12));
+            createContainerCmdModifiers = container.getCreateContainerCmdModifiers();
+        }
+        CreateContainerCmd cmd = mock(CreateContainerCmd.class);
+        createContainerCmdModifiers.iterator().next().modify(cmd);
+        verify(cmd).withEntrypoint("bash", "-c", "npm install && echo 'testcontainers-cypress: ready to run tests' && tail -f /dev/null");
+
+        try (CypressContainer container = new CypressContainer()
+                .withLocalReuse()) {
+            container.configure();
+            assertThat(container.getLabels()).containsEntry(CypressContainer.CONFIG_HASH_LABEL, configHash);
+        }
+    }
+
+    @Test
+    void testLocalReuseConfigHashIncludesTheSourcesBind() {
+        try (CypressContainer container = new CypressContainer().withLocalReuse();
+             CypressContainer unconfiguredContainer = new CypressContainer().withLocalReuse()) {
+            container.configure();
+
+            assertThat(container.getLabels().get(CypressContainer.CONFIG_HASH_LABEL))
+                    .isNotEqualTo(unconfiguredContainer.calculateConfigHash());
+        }
+    }
+
+    @Test
+    void testLocalReuseConfigHashChangesWithImageAndLockfile() throws IOException {
+        Path lockfile = Paths.get("target", "test-classes", "e2e", "package-lock.json");
+        try (CypressContainer container = new CypressContainer().withLocalReuse();
+             CypressContainer otherImageContainer = new CypressContainer("cypress/included:14.0.0").withLocalReuse()) {
+            String withoutLockfile = container.calculateConfigHash();
+            assertThat(otherImageContainer.calculateConfigHash()).isNotEqualTo(withoutLockfile);
+
+            Files.write(lockfile, "{\"lockfileVersion\": 3}".getBytes(StandardCharsets.UTF_8));
+            String withLockfile = container.calculateConfigHash();
+            assertThat(withLockfile).isNotEqualTo(withoutLockfile);
+
+            Files.write(lockfile, "{\"lockfileVersion\": 3, \"packages\": {}}".getBytes(StandardCharsets.UTF_8));
+            assertThat(container.calculateConfigHash()).isNotEqualTo(withLockfile);
+        } finally {
+            Files.deleteIfExists(lockfile);
+        }
+    }
+
+    @Test
+    void testWithBrowserRuntimeProfile() {
+        Set<CreateContainerCmdModifier> createContainerCmdModifiers;
+        try (CypressContainer container = new CypressContainer()
+                .withBrowserRuntimeProfile(BrowserRuntimeProfile.ciThroughput()
+                                                                .withIpcMode("host")
+                                                                .withLaunchFlags("--no-sandbox"))) {
+            container.configure();
+            assertThat(container.getEnvMap()).containsEntry("ELECTRON_EXTRA_LAUNCH_ARGS", "--disable-gpu --no-sandbox")
+                                             .containsEntry("CYPRESS_video", "false")
+                                             .doesNotContainKey("CYPRESS_videoCompression");
+            createContainerCmdModifiers = container.getCreateContainerCmdModifiers();
+        }
+        assertThat(createContainerCmdModifiers).hasSize(2);
+        HostConfig hostConfig = HostConfig.newHostConfig();
+        CreateContainerCmd cmd = mock(CreateContainerCmd.class);
+        when(cmd.getHostConfig()).thenReturn(hostConfig);
+        createContainerCmdModifiers.iterator().next().modify(cmd);
+        assertThat(hostConfig.getShmSize()).isEqualTo(2048L * 1024 * 1024);
+        assertThat(hostConfig.getIpcMode()).isEqualTo("host");
+    }
+
+    @Test
+    void testBrowserRuntimeProfileWithVideoCompression() {
+        try (CypressContainer container = new CypressContainer()
+                .withBrowserRuntimeProfile(new BrowserRuntimeProfile().withVideoCompression(40))) {
+            container.configure();
+            assertThat(container.getEnvMap()).containsEntry("CYPRESS_video", "true")
+                                             .containsEntry("CYPRESS_videoCompression", "40")
+                                             .doesNotContainKey("ELECTRON_EXTRA_LAUNCH_ARGS");
+            assertThat(container.getCreateContainerCmdModifiers()).hasSize(1);
+        }
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new BrowserRuntimeProfile().withVideoCompression(52));
+    }
+
+    @Test
+    void testWithDockerEndpoint() {
+        try (CypressContainer container = new CypressContainer()
+                .withDockerEndpoint(DockerEndpoint.of("tcp://build-2:2375"))
+                .withBaseUrl("http://build-1:8080")) {
+            container.configure();
+            assertThat(container.getBinds()).isEmpty();
+            assertThat(container.getEnvMap()).containsEntry("CYPRESS_baseUrl", "http://build-1:8080");
+        }
+    }
+
+    @Test
+    void testWithDockerEndpointAndPortForwarding() {
+        try (CypressContainer container = new CypressContainer()
+                .withDockerEndpoint(DockerEndpoint.of("tcp://build-2:2375"))
+                .withLocalServerPort(8080)) {
+            assertThatExceptionOfType(IllegalStateException.class)
+                    .isThrownBy(container::configure);
+        }
+    }
+
+    @Test
+    void testWithBackendLatency() {
+        try (CypressContainer container = new CypressContainer()
+                .withLocalServerPort(1313)
+                .withBackendLatency()) {
+            container.configure();
+            assertThat(container.getEnvMap().get("CYPRESS_baseUrl"))
+                    .matches("http://host\\.testcontainers\\.internal:\\d+")
+                    .isNotEqualTo("http://host.testcontainers.internal:1313");
+            assertThat(container.getBaseUrlFromHost()).isEqualTo("http://localhost:1313");
+        }
+    }
+
+    @Test
+    void testWithBackendLatencyAndDockerEndpoint() {
+        try (CypressContainer container = new CypressContainer()
+                .withDockerEndpoint(DockerEndpoint.of("tcp://build-2:2375"))
+                .withBaseUrl("http://build-1:8080")
+                .withBackendLatency()) {
+            assertThatExceptionOfType(IllegalStateException.class)
+                    .isThrownBy(container::configure);
+        }
+    }
+
+    @Test
+    void testWithOutputStallTimeoutIfDurationIsZero() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new CypressContainer()
+                        .withOutputStallTimeout(Duration.ZERO));
+    }
+
+    @Test
+    void testWithMaximumSpecDurationIfDurationIsNull() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new CypressContainer()
+                        .withMaximumSpecDuration(null));
+    }
+
+    @Test
+    void testGetTestResultsIfRunStalled() {
+        CypressTestResults partialResults = new CypressTestResults();
+        AtomicLong clock = new AtomicLong();
+        try (CypressContainer container = new CypressContainer()
+                .withAutoCleanReports(false)
+                .withOutputStallTimeout(Duration.ofSeconds(10))
+                .withGatherTestResultsStrategy(new GatherTestResultsStrategy() {
+                    @Override
+                    public CypressTestResults gatherTestResults() {
+                        return partialResults;
+                    }
+
+                    @Override
+                    public Path getReportsPath() {
+                        return Paths.get("target", "test-classes", "e2e", "cypress", "reports", "mochawesome");
+                    }
+                })) {
+            CypressContainer.CypressContainerOutputFollower follower = new CypressContainer.CypressContainerOutputFollower(new CountDownLatch(1),
+                                                                                                                         Collections.emptyList(),
+                                                                                                                         clock::get);
+            container.useOutputFollower(follower);
+            follower.accept(new OutputFrame(OutputFrame.OutputType.STDOUT,
+                                            "  Running:  todos.cy.js  (1 of 1)\n".getBytes(StandardCharsets.UTF_8)));
+            clock.set(Duration.ofSeconds(11).toNanos());
+
+            assertThatExceptionOfType(CypressRunStalledException.class)
+                    .isThrownBy(container::getTestResults)
+                    .withMessage("Cypress run stalled: no output for PT10S while running spec todos.cy.js")
+                    .satisfies(e -> {
+                        assertThat(e.getStalledSpec()).isEqualTo("todos.cy.js");
+                        assertThat(e.getPartialResults()).isSameAs(partialResults);
+                    });
+        }
     }
 }
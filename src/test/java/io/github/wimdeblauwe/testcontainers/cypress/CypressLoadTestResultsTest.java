@@ -0,0 +1,44 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class CypressLoadTestResultsTest {
+
+    @Test
+    void testPercentiles() {
+        long[] testDurations = LongStream.rangeClosed(1, 100).map(i -> 101 - i).toArray();
+        CypressLoadTestResults results = new CypressLoadTestResults(4, 100, 2, testDurations, new long[]{1000, 3000, 2000}, Duration.ofSeconds(10));
+
+        assertThat(results.getTestDurationP50()).isEqualTo(Duration.ofMillis(50));
+        assertThat(results.getTestDurationP95()).isEqualTo(Duration.ofMillis(95));
+        assertThat(results.getTestDurationP99()).isEqualTo(Duration.ofMillis(99));
+        assertThat(results.getTestDurationPercentile(100)).isEqualTo(Duration.ofMillis(100));
+        assertThat(results.getIterationDurationPercentile(50)).isEqualTo(Duration.ofMillis(2000));
+        assertThat(results.getNumberOfIterations()).isEqualTo(3);
+        assertThat(results.getNumberOfFailingTests()).isEqualTo(2);
+    }
+
+    @Test
+    void testThroughput() {
+        CypressLoadTestResults results = new CypressLoadTestResults(2, 50, 0, new long[]{100}, new long[]{1000, 1000, 1000, 1000, 1000}, Duration.ofSeconds(20));
+
+        assertThat(results.getTestsPerSecond()).isEqualTo(2.5);
+        assertThat(results.getIterationsPerSecond()).isEqualTo(0.25);
+    }
+
+    @Test
+    void testPercentileWithoutDurations() {
+        CypressLoadTestResults results = new CypressLoadTestResults(1, 0, 0, new long[0], new long[0], Duration.ZERO);
+
+        assertThat(results.getTestDurationP95()).isNull();
+        assertThat(results.getTestsPerSecond()).isZero();
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> results.getTestDurationPercentile(0));
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DirectHostAccessTest {
+
+    @Test
+    void testHostNetworkOnLinux() {
+        DirectHostAccess access = DirectHostAccess.decide("Linux", "unix", "Ubuntu 24.04 LTS", false, false, () -> "172.17.0.1");
+
+        assertThat(access.getMode()).isEqualTo(DirectHostAccess.Mode.HOST_NETWORK);
+        assertThat(access.getHost()).isEqualTo("localhost");
+    }
+
+    @Test
+    void testBridgeGatewayOnLinuxWithCustomNetwork() {
+        DirectHostAccess access = DirectHostAccess.decide("Linux", "unix", "Ubuntu 24.04 LTS", false, true, () -> "172.17.0.1");
+
+        assertThat(access.getMode()).isEqualTo(DirectHostAccess.Mode.BRIDGE_GATEWAY);
+        assertThat(access.getHost()).isEqualTo("172.17.0.1");
+    }
+
+    @Test
+    void testPortForwardingWhenBridgeGatewayIsUnknown() {
+        DirectHostAccess access = DirectHostAccess.decide("Linux", "unix", "Ubuntu 24.04 LTS", false, true, () -> null);
+
+        assertThat(access.getMode()).isEqualTo(DirectHostAccess.Mode.PORT_FORWARDING);
+    }
+
+    @Test
+    void testPortForwardingOnMac() {
+        DirectHostAccess access = DirectHostAccess.decide("Mac OS X", "unix", "Docker Desktop", false, false, () -> "172.17.0.1");
+
+        assertThat(access.getMode()).isEqualTo(DirectHostAccess.Mode.PORT_FORWARDING);
+        assertThat(access.getHost()).isNull();
+    }
+
+    @Test
+    void testPortForwardingWithDockerDesktopOnLinux() {
+        DirectHostAccess access = DirectHostAccess.decide("Linux", "unix", "Docker Desktop", false, false, () -> "172.17.0.1");
+
+        assertThat(access.getMode()).isEqualTo(DirectHostAccess.Mode.PORT_FORWARDING);
+    }
+
+    @Test
+    void testPortForwardingWhenTheJvmRunsInAContainer() {
+        DirectHostAccess access = DirectHostAccess.decide("Linux", "unix", "Ubuntu 24.04 LTS", true, false, () -> "172.17.0.1");
+
+        assertThat(access.getMode()).isEqualTo(DirectHostAccess.Mode.PORT_FORWARDING);
+        assertThat(access.getHost()).isNull();
+    }
+
+    @Test
+    void testPortForwardingWithRemoteDaemon() {
+        DirectHostAccess access = DirectHostAccess.decide("Linux", "tcp", "Ubuntu 24.04 LTS", false, false, () -> "172.17.0.1");
+
+        assertThat(access.getMode()).isEqualTo(DirectHostAccess.Mode.PORT_FORWARDING);
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HistoricalSpecOrderingStrategyTest {
+
+    @TempDir
+    Path reports;
+
+    private int reportsWritten;
+
+    @Test
+    void testFailingFirstThenNewThenSlowest() throws IOException {
+        writeReport("run-20240101-100000-000-aaaa", "cypress/e2e/login.cy.js", 2000, 1);
+        writeReport("run-20240101-100000-000-aaaa", "cypress/e2e/todos.cy.js", 1000, 0);
+        writeReport("run-20240101-100000-000-aaaa", "cypress/e2e/search.cy.js", 9000, 0);
+        writeReport("run-20240101-100000-000-aaaa", "cypress/e2e/profile.cy.js", 100, 1);
+        // The newest run decides: login passed and todos became slow
+        writeReport("run-20240101-110000-000-bbbb", "cypress/e2e/login.cy.js", 2100, 0);
+        writeReport("run-20240101-110000-000-bbbb", "cypress/e2e/todos.cy.js", 12000, 0);
+
+        HistoricalSpecOrderingStrategy strategy = new HistoricalSpecOrderingStrategy(reports);
+
+        assertThat(strategy.order(Arrays.asList("cypress/e2e/login.cy.js",
+                                                "cypress/e2e/new.cy.js",
+                                                "cypress/e2e/profile.cy.js",
+                                                "cypress/e2e/search.cy.js",
+                                                "cypress/e2e/todos.cy.js")))
+                .containsExactly("cypress/e2e/profile.cy.js",
+                                 "cypress/e2e/new.cy.js",
+                                 "cypress/e2e/todos.cy.js",
+                                 "cypress/e2e/search.cy.js",
+                                 "cypress/e2e/login.cy.js");
+    }
+
+    @Test
+    void testWithoutHistoryKeepsOrder() {
+        HistoricalSpecOrderingStrategy strategy = new HistoricalSpecOrderingStrategy(reports.resolve("missing"));
+
+        assertThat(strategy.order(Arrays.asList("b.cy.js", "a.cy.js"))).containsExactly("b.cy.js", "a.cy.js");
+    }
+
+    private void writeReport(String run, String spec, long duration, int failures) throws IOException {
+        Path directory = Files.createDirectories(reports.resolve(run));
+        String report = "{\"stats\": {\"duration\": " + duration + ", \"failures\": " + failures + "},"
+                + " \"results\": [{\"file\": \"" + spec + "\", \"suites\": []}]}";
+        Path file = directory.resolve("mochawesome_" + spec.replaceAll("\\W", "_") + ".json");
+        Files.write(file, report.getBytes(StandardCharsets.UTF_8));
+        // Reports are written one second apart, the newest report of a spec is used
+        Files.setLastModifiedTime(file, FileTime.fromMillis(1_700_000_000_000L + 1000L * reportsWritten++));
+    }
+}
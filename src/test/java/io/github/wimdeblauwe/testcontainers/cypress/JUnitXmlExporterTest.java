@@ -0,0 +1,75 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JUnitXmlExporterTest {
+
+    @TempDir
+    Path output;
+
+    @Test
+    void testExportWritesFilePerSuite() throws Exception {
+        CypressTestResults results = new CypressTestResults();
+        int todos = results.addSuite("Todos");
+        results.addTest(todos, "shows the todos", true, null, null, Duration.ofMillis(1250));
+        results.addTest(todos, "adds a todo", false, "AssertionError: expected 2 to equal 3",
+                        "AssertionError: expected 2 to equal 3\n    at Context.eval (todos.cy.js:12:5)\u001b[0m", Duration.ofMillis(300));
+        int login = results.addSuite("Login page");
+        results.addTest(login, "logs in", true, null, null, null);
+
+        new JUnitXmlExporter(output).export(results);
+
+        assertThat(output.resolve("TEST-Login_page.xml")).exists();
+        Document document = parse(output.resolve("TEST-Todos.xml"));
+        Element suite = document.getDocumentElement();
+        assertThat(suite.getTagName()).isEqualTo("testsuite");
+        assertThat(suite.getAttribute("name")).isEqualTo("Todos");
+        assertThat(suite.getAttribute("tests")).isEqualTo("2");
+        assertThat(suite.getAttribute("failures")).isEqualTo("1");
+        assertThat(suite.getAttribute("time")).isEqualTo("1.550");
+
+        NodeList testCases = suite.getElementsByTagName("testcase");
+        assertThat(testCases.getLength()).isEqualTo(2);
+        Element failed = (Element) testCases.item(1);
+        assertThat(failed.getAttribute("name")).isEqualTo("adds a todo");
+        assertThat(failed.getAttribute("classname")).isEqualTo("Todos");
+        Element failure = (Element) failed.getElementsByTagName("failure").item(0);
+        assertThat(failure.getAttribute("message")).isEqualTo("AssertionError: expected 2 to equal 3");
+        assertThat(failure.getAttribute("type")).isEqualTo("AssertionError");
+        assertThat(failure.getTextContent()).contains("at Context.eval (todos.cy.js:12:5)[0m");
+    }
+
+    @Test
+    void testSuitesWithTheSameTitleGetTheirOwnFile() throws Exception {
+        JUnitXmlExporter exporter = new JUnitXmlExporter(output);
+
+        Path first = exporter.exportSuite(new CypressTestSuite("Todos"));
+        Path second = exporter.exportSuite(new CypressTestSuite("Todos"));
+
+        assertThat(first.getFileName().toString()).isEqualTo("TEST-Todos.xml");
+        assertThat(second.getFileName().toString()).isEqualTo("TEST-Todos-2.xml");
+        assertThat(parse(second).getDocumentElement().getAttribute("tests")).isEqualTo("0");
+    }
+
+    @Test
+    void testSanitizeKeepsOnlyValidSurrogatePairs() {
+        assertThat(JUnitXmlExporter.sanitize("adds a todo \uD83D\uDE00")).isEqualTo("adds a todo \uD83D\uDE00");
+        assertThat(JUnitXmlExporter.sanitize("lone \uD83D high")).isEqualTo("lone  high");
+        assertThat(JUnitXmlExporter.sanitize("lone \uDE00 low")).isEqualTo("lone  low");
+        assertThat(JUnitXmlExporter.sanitize("reversed \uDE00\uD83D")).isEqualTo("reversed ");
+    }
+
+    private static Document parse(Path file) throws Exception {
+        return DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(file.toFile());
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LineAssemblerTest {
+    private final List<String> lines = new ArrayList<>();
+    private final LineAssembler assembler = new LineAssembler((bytes, offset, length) -> lines.add(new String(bytes, offset, length, StandardCharsets.UTF_8)));
+
+    @Test
+    void testCompleteLines() {
+        assembler.accept(bytes("first\nsecond\r\n\nthird\n"));
+
+        assertThat(lines).containsExactly("first", "second", "", "third");
+    }
+
+    @Test
+    void testLineSplitOverChunks() {
+        assembler.accept(bytes("  (Run Fin"));
+        assembler.accept(bytes("ished)\n  Spec"));
+        assembler.accept(bytes("s\n"));
+
+        assertThat(lines).containsExactly("  (Run Finished)", "  Specs");
+    }
+
+    @Test
+    void testMultiByteCharacterSplitOverChunks() {
+        byte[] bytes = bytes("✔  All specs passed!\n");
+        assembler.accept(bytes, 0, 1);
+        assembler.accept(bytes, 1, bytes.length - 1);
+
+        assertThat(lines).containsExactly("✔  All specs passed!");
+    }
+
+    @Test
+    void testFlushIncompleteLine() {
+        assembler.accept(bytes("done\nno newline"));
+        assertThat(lines).containsExactly("done");
+
+        assembler.flush();
+        assertThat(lines).containsExactly("done", "no newline");
+    }
+
+    @Test
+    void testLongLineGrowsBuffer() {
+        char[] chars = new char[1000];
+        Arrays.fill(chars, 'x');
+        String longLine = new String(chars);
+        assembler.accept(bytes(longLine.substring(0, 300)));
+        assembler.accept(bytes(longLine.substring(300) + "\n"));
+
+        assertThat(lines).containsExactly(longLine);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -2,15 +2,20 @@ package io.github.wimdeblauwe.testcontainers.cypress;
 
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
 import java.net.URI;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.tuple;
 import static org.assertj.core.api.InstanceOfAssertFactories.list;
 
@@ -26,6 +31,7 @@ class MochawesomeGatherTestResultsStrategyTest {
         assertThat(cypressTestResults.getNumberOfPassingTests()).isEqualTo(57);
         assertThat(cypressTestResults.getNumberOfFailingTests()).isEqualTo(4);
         assertThat(cypressTestResults.getSuites()).hasSize(20);
+        assertThat(cypressTestResults.tests().count()).isEqualTo(61);
         Optional<List<CypressTest>> tests = cypressTestResults.getSuites().stream()
                                                               .filter(cypressTestSuite -> cypressTestSuite.getTitle().equals("Verify Email Address"))
                                                               .findAny()
@@ -41,6 +47,28 @@ class MochawesomeGatherTestResultsStrategyTest {
                                    tuple("should show error message if code is unknown", true, null, null));
     }
 
+    @Test
+    void testChangesToGatheredResultsAreKept() throws IOException {
+        URL url = getClass().getResource("mochawesome");
+        MochawesomeGatherTestResultsStrategy strategy = new MochawesomeGatherTestResultsStrategy(Paths.get(URI.create(url.toString())));
+        CypressTestResults cypressTestResults = strategy.gatherTestResults();
+        CypressTest test = cypressTestResults.getFailingTests().get(0);
+        test.setErrorMessage("changed");
+
+        assertThat(cypressTestResults.getFailingTests().get(0)).isSameAs(test);
+        assertThat(cypressTestResults.getSuites()).isSameAs(cypressTestResults.getSuites());
+        assertThat(cypressTestResults.tests().filter(cypressTest -> cypressTest == test).findAny())
+                .hasValueSatisfying(cypressTest -> assertThat(cypressTest.getErrorMessage()).isEqualTo("changed"));
+
+        CypressTestSuite suite = cypressTestResults.getSuites().get(0);
+        suite.getTests().add(new CypressTest("added", false));
+        assertThat(cypressTestResults.getTest(suite.getTitle(), "added")).isPresent();
+        assertThat(cypressTestResults.getFailingTests()).hasSize(5);
+
+        cypressTestResults.getSuites().remove(suite);
+        assertThat(cypressTestResults.getTest(suite.getTitle(), "added")).isEmpty();
+    }
+
     @Test
     void shouldSaveErrorMessageAndStackTraceWhenTestIsFailed() throws IOException {
         URL url = getClass().getResource("mochawesome");
@@ -62,4 +90,148 @@ class MochawesomeGatherTestResultsStrategyTest {
                         "AssertionError: Timed out retrying after 4000ms: Expected to find element: `.welcome-message`, but never found it.",
                         "AssertionError: Timed out retrying after 4000ms: Expected to find element: `.welcome-message`, but never found it.\n    at Context.eval (http://localhost/__cypress/tests?p=cypress/integration/firstFile.js:170:32)"));
     }
+
+    @Test
+    void testGatherTestResultsWithFailuresDetailOnly() throws IOException {
+        URL url = getClass().getResource("mochawesome");
+        MochawesomeGatherTestResultsStrategy strategy = new MochawesomeGatherTestResultsStrategy(Paths.get(URI.create(url.toString())), true);
+        CypressTestResults cypressTestResults = strategy.gatherTestResults();
+        assertThat(cypressTestResults.isFailuresDetailOnly()).isTrue();
+        assertThat(cypressTestResults.getNumberOfTests()).isEqualTo(61);
+        assertThat(cypressTestResults.getNumberOfPassingTests()).isEqualTo(57);
+        assertThat(cypressTestResults.getNumberOfFailingTests()).isEqualTo(4);
+        assertThat(cypressTestResults.getSuites()).hasSize(20);
+        assertThat(cypressTestResults.getSuites())
+                .flatExtracting(CypressTestSuite::getTests)
+                .hasSize(4)
+                .extracting(CypressTest::isSuccess)
+                .containsOnly(false);
+    }
+
+    @Test
+    void testIndexedLookups() throws IOException {
+        URL url = getClass().getResource("mochawesome");
+        MochawesomeGatherTestResultsStrategy strategy = new MochawesomeGatherTestResultsStrategy(Paths.get(URI.create(url.toString())));
+        CypressTestResults cypressTestResults = strategy.gatherTestResults();
+
+        assertThat(cypressTestResults.getSpecFiles()).containsExactly("cypress/integration/firstFile.js");
+        List<CypressTestSuite> suites = cypressTestResults.getSuitesBySpecFile("cypress/integration/firstFile.js");
+        assertThat(suites).extracting(CypressTestSuite::getTitle).containsExactly("First File");
+        assertThat(suites.get(0).getReportFile()).isNotNull();
+        assertThat(suites.get(0).getReportFile().getFileName().toString()).startsWith("mochawesome");
+        assertThat(cypressTestResults.getSuitesBySpecFile("cypress/integration/unknown.js")).isEmpty();
+
+        assertThat(cypressTestResults.getSuitesByTitle("Verify Email Address")).hasSize(1);
+        assertThat(cypressTestResults.getTest("Verify Email Address", "should show error message if code is unknown"))
+                .get()
+                .extracting(CypressTest::isSuccess)
+                .isEqualTo(true);
+        assertThat(cypressTestResults.getTest("Verify Email Address", "Log in")).isEmpty();
+        assertThat(cypressTestResults.getTestsByDescription("Log in")).hasSize(1);
+
+        assertThat(cypressTestResults.getFailingTests())
+                .hasSize(4)
+                .extracting(CypressTest::isSuccess)
+                .containsOnly(false);
+        assertThat(cypressTestResults.tests().count()).isEqualTo(cypressTestResults.suites()
+                                                                                   .mapToLong(suite -> suite.getTests().size())
+                                                                                   .sum());
+    }
+
+    @Test
+    void testTestsOfNestedSuitesBelongToTheTopLevelSuite(@TempDir Path reports) throws IOException {
+        URL url = getClass().getResource("mochawesome/mochawesome_001.json");
+        Files.copy(Paths.get(URI.create(url.toString())), reports.resolve("mochawesome_001.json"));
+        CypressTestResults cypressTestResults = new MochawesomeGatherTestResultsStrategy(reports).gatherTestResults();
+
+        assertThat(cypressTestResults.getNumberOfTests()).isEqualTo(8);
+        assertThat(cypressTestResults.getSuites()).hasSize(1);
+        CypressTestSuite suite = cypressTestResults.getSuites().get(0);
+        assertThat(suite.getTitle()).isEqualTo("Assertions");
+        assertThat(suite.getTests()).hasSize(8);
+        assertThat(suite.getTests())
+                .extracting(CypressTest::getDescription)
+                .filteredOn(description -> description.startsWith("Implicit Assertions > "))
+                .hasSize(2);
+        assertThat(suite.getTests())
+                .extracting(CypressTest::getDescription)
+                .filteredOn(description -> description.startsWith("Explicit Assertions > "))
+                .hasSize(6);
+    }
+
+    @Test
+    void testIndexesAreMergedWithResults() {
+        CypressTestResults first = new CypressTestResults();
+        int suite = first.addSuite("Todos", "cypress/e2e/todos.cy.js", Paths.get("mochawesome.json"));
+        first.addTest(suite, "adds a todo", false, "AssertionError", null, null);
+        CypressTestResults second = new CypressTestResults();
+        second.addSuite("Login", "cypress/e2e/login.cy.js", null);
+
+        CypressTestResults merged = new CypressTestResults();
+        merged.addResults(first);
+        merged.addResults(second);
+
+        assertThat(merged.getSpecFiles()).containsExactly("cypress/e2e/todos.cy.js", "cypress/e2e/login.cy.js");
+        assertThat(merged.getSuitesBySpecFile("cypress/e2e/todos.cy.js"))
+                .extracting(CypressTestSuite::getReportFile)
+                .containsExactly(Paths.get("mochawesome.json"));
+        assertThat(merged.getTest("Todos", "adds a todo")).isPresent();
+        assertThat(merged.getFailingTests()).extracting(CypressTest::getDescription).containsExactly("adds a todo");
+    }
+
+    @Test
+    void testIndexesAreRebuiltAfterAdding() {
+        CypressTestResults results = new CypressTestResults();
+        int todos = results.addSuite("Todos", "cypress/e2e/todos.cy.js", null);
+        results.addTest(todos, "opens the page", true, null, null, null);
+        results.addSuite("Empty", "cypress/e2e/empty.cy.js", null);
+        int login = results.addSuite("Login", "cypress/e2e/login.cy.js", null);
+        results.addTest(login, "opens the page", true, null, null, null);
+        assertThat(results.getTest("Login", "opens the page")).isPresent();
+        assertThat(results.getTestsByDescription("opens the page")).hasSize(2);
+
+        int admin = results.addSuite("Admin", "cypress/e2e/todos.cy.js", null);
+        results.addTest(admin, "opens the page", false, "AssertionError", null, null);
+
+        assertThat(results.getTest("Admin", "opens the page")).hasValueSatisfying(test -> assertThat(test.isSuccess()).isFalse());
+        assertThat(results.getTest("Empty", "opens the page")).isEmpty();
+        assertThat(results.getTestsByDescription("opens the page")).hasSize(3);
+        assertThat(results.getSuitesBySpecFile("cypress/e2e/todos.cy.js"))
+                .extracting(CypressTestSuite::getTitle)
+                .containsExactly("Todos", "Admin");
+        assertThat(results.getSuitesByTitle("Unknown")).isEmpty();
+    }
+
+    @Test
+    void testIdenticalStackTracesAreStoredOnce() {
+        String stackTrace = "AssertionError: expected true to be false\n    at Context.eval (todos.cy.js:1:1)";
+        CypressTestResults cypressTestResults = new CypressTestResults();
+        int suite = cypressTestResults.addSuite("Todos");
+        cypressTestResults.addTest(suite, "first", false, "AssertionError", new String(stackTrace), null);
+        cypressTestResults.addTest(suite, "second", false, "AssertionError", new String(stackTrace), null);
+
+        List<CypressTest> tests = cypressTestResults.getSuites().get(0).getTests();
+        assertThat(tests).extracting(CypressTest::getDescription).containsExactly("first", "second");
+        assertThat(tests.get(0).getStackTrace()).isSameAs(tests.get(1).getStackTrace());
+    }
+
+    @Test
+    void testGatherPageMetrics() throws IOException {
+        URL url = getClass().getResource("mochawesome-page-metrics");
+        MochawesomeGatherTestResultsStrategy strategy = new MochawesomeGatherTestResultsStrategy(Paths.get(URI.create(url.toString())));
+        CypressTestResults cypressTestResults = strategy.gatherTestResults();
+
+        List<CypressTest> tests = cypressTestResults.getSuites().get(0).getTests();
+        List<PageMetrics> pageMetrics = tests.get(0).getPageMetrics();
+        assertThat(pageMetrics).extracting(PageMetrics::getUrl)
+                               .containsExactly("http://host.testcontainers.internal:8080/",
+                                                "http://host.testcontainers.internal:8080/todos/1");
+        assertThat(pageMetrics.get(0).getTimeToFirstByte()).isEqualTo(Duration.ofMillis(12).plusNanos(500_000));
+        assertThat(pageMetrics.get(0).getLoad()).isEqualTo(Duration.ofMillis(120));
+        assertThat(pageMetrics.get(0).getCumulativeLayoutShift()).isEqualTo(0.012);
+        assertThat(pageMetrics.get(0).getInteractionToNextPaint()).isNull();
+        assertThat(pageMetrics.get(1).getLargestContentfulPaint()).isNull();
+        assertThat(pageMetrics.get(1).getInteractionToNextPaint()).isEqualTo(Duration.ofMillis(48));
+        assertThat(tests.get(1).getPageMetrics()).isEmpty();
+    }
 }
@@ -0,0 +1,73 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.tuple;
+
+class PerformanceBudgetTest {
+
+    @Test
+    void testOverBudgetTests() {
+        PerformanceBaseline baseline = PerformanceBaseline.from(results(1000, 100, 2000));
+        CypressTestResults results = results(1600, 550, 2100);
+
+        PerformanceBudgetReport report = results.compareWith(baseline, new PerformanceBudget(Duration.ofMillis(500), 1.5));
+
+        assertThat(report.isWithinBudget()).isFalse();
+        assertThat(report.getNumberOfCheckedTests()).isEqualTo(3);
+        assertThat(report.getOverBudgetTests())
+                .extracting(PerformanceBudgetReport.OverBudgetTest::getTestKey,
+                            PerformanceBudgetReport.OverBudgetTest::getBaselineDuration,
+                            PerformanceBudgetReport.OverBudgetTest::getDuration)
+                .containsExactly(tuple("Checkout > should pay", Duration.ofMillis(1000), Duration.ofMillis(1600)));
+    }
+
+    @Test
+    void testBaselineIsWrittenAndRead(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("baseline.json");
+        PerformanceBaseline.from(results(1000, 100, 2000)).write(path);
+
+        PerformanceBaseline baseline = PerformanceBaseline.read(path);
+
+        assertThat(baseline.size()).isEqualTo(3);
+        assertThat(baseline.getDuration("Checkout > should pay")).hasValue(Duration.ofMillis(1000));
+        assertThat(baseline.getDuration("Checkout > unknown")).isEmpty();
+    }
+
+    @Test
+    void testDurationsAreReadFromMochawesomeReports() throws IOException {
+        URL url = getClass().getResource("mochawesome");
+        CypressTestResults results = new MochawesomeGatherTestResultsStrategy(Paths.get(URI.create(url.toString()))).gatherTestResults();
+
+        PerformanceBaseline baseline = PerformanceBaseline.from(results);
+
+        assertThat(baseline.getDuration("Verify Email Address > should show error message if no code in url")).hasValue(Duration.ofMillis(1810));
+    }
+
+    @Test
+    void testRelativeThresholdBelowOne() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new PerformanceBudget(Duration.ZERO, 0.5));
+    }
+
+    private static CypressTestResults results(long payMillis, long cartMillis, long confirmMillis) {
+        CypressTestSuite suite = new CypressTestSuite("Checkout");
+        suite.add(new CypressTest("should pay", true, null, null, Duration.ofMillis(payMillis)));
+        suite.add(new CypressTest("should show the cart", true, null, null, Duration.ofMillis(cartMillis)));
+        suite.add(new CypressTest("should confirm", true, null, null, Duration.ofMillis(confirmMillis)));
+        CypressTestResults results = new CypressTestResults();
+        results.addSuites(Arrays.asList(suite));
+        return results;
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReportRunDirectoriesTest {
+
+    @TempDir
+    Path reports;
+
+    @Test
+    void testRunDirectoriesAreUnique() throws IOException {
+        Path first = ReportRunDirectories.createRunDirectory(reports);
+        Path second = ReportRunDirectories.createRunDirectory(reports);
+
+        assertThat(first).isDirectory().hasParent(reports);
+        assertThat(second).isDirectory().isNotEqualTo(first);
+    }
+
+    @Test
+    void testPruneKeepsNewestRunDirectories() throws IOException {
+        createRun("run-20240101-100000-000-aaaa");
+        createRun("run-20240101-110000-000-bbbb");
+        createRun("run-20240101-120000-000-cccc");
+        Files.createDirectories(reports.resolve("other"));
+
+        ReportRunDirectories.prune(reports, 2);
+
+        assertThat(reports.resolve("run-20240101-100000-000-aaaa")).doesNotExist();
+        assertThat(reports.resolve("run-20240101-110000-000-bbbb")).isDirectory();
+        assertThat(reports.resolve("run-20240101-120000-000-cccc")).isDirectory();
+        assertThat(reports.resolve("other")).isDirectory();
+    }
+
+    @Test
+    void testPruneKeepsLiveRunDirectories() throws IOException {
+        createRun("run-20240101-100000-000-aaaa");
+        createRun("run-20240101-110000-000-bbbb");
+        createRun("run-20240101-120000-000-cccc");
+        Path live = reports.resolve("run-20240101-100000-000-aaaa");
+        ReportRunDirectories.markLive(live);
+        try {
+            ReportRunDirectories.prune(reports, 1);
+
+            assertThat(live).isDirectory();
+            assertThat(reports.resolve("run-20240101-110000-000-bbbb")).doesNotExist();
+            assertThat(reports.resolve("run-20240101-120000-000-cccc")).isDirectory();
+        } finally {
+            ReportRunDirectories.release(live);
+        }
+
+        ReportRunDirectories.prune(reports, 1);
+
+        assertThat(live).doesNotExist();
+    }
+
+    @Test
+    void testPruneKeepsRunDirectoriesLockedByAnotherJvm() throws IOException {
+        createRun("run-20240101-100000-000-aaaa");
+        createRun("run-20240101-110000-000-bbbb");
+        Path lockFile = reports.resolve("run-20240101-100000-000-aaaa.lock");
+        // A lock of another channel looks the same to the pruning as a lock of another JVM
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            channel.lock();
+
+            ReportRunDirectories.prune(reports, 1);
+
+            assertThat(reports.resolve("run-20240101-100000-000-aaaa")).isDirectory();
+        }
+
+        ReportRunDirectories.prune(reports, 1);
+
+        assertThat(reports.resolve("run-20240101-100000-000-aaaa")).doesNotExist();
+        assertThat(lockFile).doesNotExist();
+        assertThat(reports.resolve("run-20240101-110000-000-bbbb")).isDirectory();
+    }
+
+    private void createRun(String name) throws IOException {
+        Path run = Files.createDirectories(reports.resolve(name));
+        Files.write(run.resolve("mochawesome.json"), "{}".getBytes());
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.testcontainers.containers.output.OutputFrame;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class RunTimelineTest {
+
+    @Test
+    void testRecordsPhasesSpecsAndTests(@TempDir Path directory) throws IOException {
+        RunTimeline timeline = new RunTimeline();
+        RunTimeline.TrackRecorder recorder = timeline.newTrack("shard-1");
+        recorder.beginPhase("start container");
+        recorder.beginPhase("npm install and Cypress start");
+        recorder.onLine(OutputFrame.OutputType.STDOUT, "added 12 packages in 3s");
+        recorder.onSpecStarted("todos.cy.js");
+        recorder.onLine(OutputFrame.OutputType.STDOUT, "Todos");
+        recorder.onLine(OutputFrame.OutputType.STDOUT, "✓ adds a todo (123ms)");
+        recorder.onLine(OutputFrame.OutputType.STDOUT, "1) removes a todo");
+        recorder.onLine(OutputFrame.OutputType.STDOUT, "1 passing (2s)");
+        recorder.onLine(OutputFrame.OutputType.STDOUT, "1 failing");
+        recorder.onLine(OutputFrame.OutputType.STDOUT, "1) Todos");
+        recorder.onRunFinished();
+        timeline.newTrack("shard-1");
+
+        Path file = directory.resolve("timeline.json");
+        timeline.write(file);
+
+        JsonNode events = new ObjectMapper().readTree(file.toFile()).get("traceEvents");
+        List<JsonNode> metadata = new ArrayList<>();
+        List<JsonNode> spans = new ArrayList<>();
+        events.forEach(event -> (event.get("ph").asText().equals("M") ? metadata : spans).add(event));
+        assertThat(metadata).extracting(event -> event.get("tid").asInt(), event -> event.get("args").get("name").asText())
+                            .containsExactly(tuple(1, "shard-1"), tuple(2, "shard-1 (2)"));
+        assertThat(spans).extracting(event -> event.get("cat").asText(), event -> event.get("name").asText())
+                         .containsExactly(tuple("setup", "start container"),
+                                          tuple("setup", "npm install and Cypress start"),
+                                          tuple("test", "adds a todo"),
+                                          tuple("test", "removes a todo"),
+                                          tuple("spec", "todos.cy.js"));
+        JsonNode spec = spans.get(4);
+        for (JsonNode test : spans.subList(2, 4)) {
+            assertThat(test.get("ts").asLong()).isGreaterThanOrEqualTo(spec.get("ts").asLong());
+            assertThat(test.get("ts").asLong() + test.get("dur").asLong())
+                    .isLessThanOrEqualTo(spec.get("ts").asLong() + spec.get("dur").asLong());
+        }
+    }
+
+    @Test
+    void testRecordsTheSpecsAndTestsOfEveryWorkerOnTheirOwnTrack() {
+        RunTimeline timeline = new RunTimeline();
+        RunTimeline.TrackRecorder recorder = timeline.newTrack("shard-1");
+        recorder.beginPhase("npm install and Cypress start");
+        recorder.onLine(OutputFrame.OutputType.STDOUT, "[worker-1] Running:  a.cy.js  (1 of 1)");
+        recorder.onSpecStarted("a.cy.js");
+        recorder.onLine(OutputFrame.OutputType.STDOUT, "[worker-2] Running:  b.cy.js  (1 of 1)");
+        recorder.onSpecStarted("b.cy.js");
+        recorder.onLine(OutputFrame.OutputType.STDOUT, "[worker-1] ✓ test of a (12ms)");
+        recorder.onLine(OutputFrame.OutputType.STDOUT, "[worker-2] 1) test of b");
+        recorder.onLine(OutputFrame.OutputType.STDOUT, "[worker-2] (Run Finished)");
+        recorder.onRunFinished();
+        recorder.onLine(OutputFrame.OutputType.STDOUT, "[worker-1] (Run Finished)");
+        recorder.onRunFinished();
+
+        assertThat(timeline.getSpans()).extracting(span -> span.trackId, span -> span.category, span -> span.name)
+                                       .containsExactly(tuple(1, "setup", "npm install and Cypress start"),
+                                                        tuple(2, "test", "test of a"),
+                                                        tuple(3, "test", "test of b"),
+                                                        tuple(3, "spec", "b.cy.js"),
+                                                        tuple(2, "spec", "a.cy.js"));
+    }
+
+    @Test
+    void testIgnoresTestLinesOutsideOfSpecs() {
+        RunTimeline timeline = new RunTimeline();
+        RunTimeline.TrackRecorder recorder = timeline.newTrack("cypress");
+        recorder.onLine(OutputFrame.OutputType.STDOUT, "✓ not a test");
+
+        assertThat(timeline.getSpans()).isEmpty();
+    }
+}
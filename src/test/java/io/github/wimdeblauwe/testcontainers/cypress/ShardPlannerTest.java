@@ -0,0 +1,114 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardPlannerTest {
+    private static final long GIGABYTE = 1024L * 1024 * 1024;
+    private static final List<String> SPECS = Arrays.asList("a.cy.js", "b.cy.js", "c.cy.js", "d.cy.js");
+
+    @TempDir
+    Path reports;
+
+    @Test
+    void testUsesAllContainersThatFitWhenTheyHelp() throws IOException {
+        writeReports(60_000);
+        new ContainerResourceUsage(GIGABYTE, 1.0, Duration.ofSeconds(10)).write(reports);
+
+        ShardPlan plan = new ShardPlanner(reports).withHostCapacity(16, 32 * GIGABYTE).plan(SPECS);
+
+        assertThat(plan.getNumberOfShards()).isEqualTo(4);
+        assertThat(plan.getExpectedDuration()).isEqualTo(Duration.ofSeconds(70));
+        assertThat(plan.getReasoning()).contains("measured", "Chose 4 container(s)");
+    }
+
+    @Test
+    void testMemoryLimitsTheNumberOfContainers() throws IOException {
+        writeReports(60_000);
+        new ContainerResourceUsage(2 * GIGABYTE, 1.0, Duration.ofSeconds(10)).write(reports);
+
+        ShardPlan plan = new ShardPlanner(reports).withHostCapacity(16, 8 * GIGABYTE).plan(SPECS);
+
+        // 80% of 8 GB fits two containers of 2 GB with a 20% margin
+        assertThat(plan.getNumberOfShards()).isEqualTo(2);
+        assertThat(plan.getReasoning()).contains("memory allows 2");
+    }
+
+    @Test
+    void testFewestContainersWhenMoreDoNotHelp() throws IOException {
+        writeReports(10_000);
+        Files.write(reports.resolve("e.json"), report("e.cy.js", 120_000).getBytes(StandardCharsets.UTF_8));
+
+        ShardPlan plan = new ShardPlanner(reports).withHostCapacity(16, 32 * GIGABYTE)
+                                                  .plan(Arrays.asList("a.cy.js", "b.cy.js", "c.cy.js", "d.cy.js", "e.cy.js"));
+
+        // e.cy.js alone takes 2 minutes, the other specs fit next to it in a second container
+        assertThat(plan.getNumberOfShards()).isEqualTo(2);
+        assertThat(plan.getShards()).containsExactly(Arrays.asList("e.cy.js"),
+                                                     Arrays.asList("a.cy.js", "b.cy.js", "c.cy.js", "d.cy.js"));
+    }
+
+    @Test
+    void testMaximumShards() {
+        ShardPlan plan = new ShardPlanner(reports).withHostCapacity(16, 32 * GIGABYTE)
+                                                  .withMaximumShards(1)
+                                                  .plan(SPECS);
+
+        assertThat(plan.getNumberOfShards()).isEqualTo(1);
+        assertThat(plan.getShards().get(0)).containsExactlyElementsOf(SPECS);
+    }
+
+    @Test
+    void testSpreadsContainersOverDockerEndpointsByCapacity() throws IOException {
+        List<String> specs = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            String spec = "spec-" + i + ".cy.js";
+            specs.add(spec);
+            Files.write(reports.resolve(spec + ".json"), report(spec, 60_000).getBytes(StandardCharsets.UTF_8));
+        }
+        new ContainerResourceUsage(GIGABYTE, 1.0, Duration.ofSeconds(10)).write(reports);
+        DockerEndpoint large = DockerEndpoint.of("tcp://large:2375").withCapacity(4, 32 * GIGABYTE);
+        DockerEndpoint small = DockerEndpoint.of("tcp://small:2375").withCapacity(2, 32 * GIGABYTE);
+
+        ShardPlan plan = new ShardPlanner(reports).withDockerEndpoints(large, small).plan(specs);
+
+        assertThat(plan.getNumberOfShards()).isEqualTo(6);
+        // 4 containers fit on the large endpoint and 2 on the small one
+        assertThat(plan.getDockerEndpoints()).containsExactly(large, large, small, large, large, small);
+        assertThat(plan.getReasoning()).contains("Endpoint tcp://large:2375 has 4 CPUs", "for 2 container(s)");
+    }
+
+    @Test
+    void testDockerEndpointsLimitTheNumberOfContainers() throws IOException {
+        writeReports(60_000);
+        new ContainerResourceUsage(GIGABYTE, 2.0, Duration.ofSeconds(10)).write(reports);
+        DockerEndpoint endpoint = DockerEndpoint.of("tcp://build:2375").withCapacity(4, 32 * GIGABYTE);
+
+        ShardPlan plan = new ShardPlanner(reports).withDockerEndpoints(endpoint).plan(SPECS);
+
+        assertThat(plan.getNumberOfShards()).isEqualTo(2);
+        assertThat(plan.getDockerEndpoints()).containsExactly(endpoint, endpoint);
+    }
+
+    private void writeReports(long durationPerSpec) throws IOException {
+        for (String spec : SPECS) {
+            Files.write(reports.resolve(spec + ".json"), report(spec, durationPerSpec).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String report(String spec, long duration) {
+        return "{\"stats\": {\"duration\": " + duration + ", \"failures\": 0},"
+                + " \"results\": [{\"file\": \"" + spec + "\", \"suites\": []}]}";
+    }
+}
@@ -0,0 +1,94 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SourcesArchiveTest {
+
+    @TempDir
+    Path sources;
+
+    @Test
+    void testDefaultExcludesAreLeftOut() throws IOException {
+        write("package.json", "{}");
+        write("cypress/e2e/todos.cy.js", "describe('todos', () => {})");
+        write("node_modules/cypress/index.js", "");
+        write("cypress/reports/mochawesome/mochawesome.json", "{}");
+        write("cypress/videos/todos.cy.js.mp4", "");
+
+        Path archive = new SourcesArchive(sources, SourcesArchive.defaultExcludes()).getArchive("e2e");
+
+        assertThat(entryNames(archive)).containsExactly("e2e/cypress/e2e/todos.cy.js",
+                                                        "e2e/package.json");
+    }
+
+    @Test
+    void testCustomExcludes() throws IOException {
+        write("package.json", "{}");
+        write("cypress/fixtures/movie.mp4", "");
+        write("cypress/fixtures/users.json", "[]");
+
+        Path archive = new SourcesArchive(sources, Arrays.asList("cypress/fixtures/*.mp4")).getArchive("e2e");
+
+        assertThat(entryNames(archive)).containsExactly("e2e/cypress/fixtures/users.json",
+                                                        "e2e/package.json");
+    }
+
+    @Test
+    void testArchiveIsReusedForSameContent() throws IOException {
+        write("cypress/e2e/todos.cy.js", "describe('todos', () => {})");
+
+        Path first = new SourcesArchive(sources, SourcesArchive.defaultExcludes()).getArchive("e2e");
+        Path second = new SourcesArchive(sources, SourcesArchive.defaultExcludes()).getArchive("e2e");
+        write("cypress/e2e/todos.cy.js", "describe('changed todos', () => {})");
+        Path third = new SourcesArchive(sources, SourcesArchive.defaultExcludes()).getArchive("e2e");
+
+        assertThat(second).isEqualTo(first);
+        assertThat(third).isNotEqualTo(first);
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void testArchiveIsRecreatedWhenAFileBecomesExecutable() throws IOException {
+        write("scripts/start.sh", "#!/bin/sh");
+
+        Path first = new SourcesArchive(sources, SourcesArchive.defaultExcludes()).getArchive("e2e");
+        assertThat(sources.resolve("scripts/start.sh").toFile().setExecutable(true)).isTrue();
+        Path second = new SourcesArchive(sources, SourcesArchive.defaultExcludes()).getArchive("e2e");
+
+        assertThat(second).isNotEqualTo(first);
+    }
+
+    private void write(String relativePath, String content) throws IOException {
+        Path path = sources.resolve(relativePath);
+        Files.createDirectories(path.getParent());
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> entryNames(Path archive) throws IOException {
+        List<String> names = new ArrayList<>();
+        try (InputStream inputStream = Files.newInputStream(archive);
+             TarArchiveInputStream tar = new TarArchiveInputStream(inputStream)) {
+            TarArchiveEntry entry;
+            while ((entry = tar.getNextTarEntry()) != null) {
+                names.add(entry.getName());
+            }
+        }
+        return names;
+    }
+}
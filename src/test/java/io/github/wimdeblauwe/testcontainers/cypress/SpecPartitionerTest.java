@@ -0,0 +1,77 @@
+package io.github.wimdeblauwe.testcontainers.cypress;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpecPartitionerTest {
+
+    @TempDir
+    Path reports;
+
+    @Test
+    void testSpecsAreBalancedByDuration() throws IOException {
+        writeReport("a.cy.js", 9000);
+        writeReport("b.cy.js", 5000);
+        writeReport("c.cy.js", 4000);
+        writeReport("d.cy.js", 1000);
+
+        List<List<String>> partitions = SpecPartitioner.partition(Arrays.asList("a.cy.js", "b.cy.js", "c.cy.js", "d.cy.js"),
+                                                                  2,
+                                                                  SpecHistory.read(reports));
+
+        assertThat(partitions).containsExactly(Arrays.asList("a.cy.js", "d.cy.js"),
+                                               Arrays.asList("b.cy.js", "c.cy.js"));
+    }
+
+    @Test
+    void testEmptyGroupsAreLeftOut() {
+        List<List<String>> partitions = SpecPartitioner.partition(Arrays.asList("a.cy.js", "b.cy.js"), 4, SpecHistory.read(reports));
+
+        assertThat(partitions).hasSize(2);
+    }
+
+    @Test
+    void testDiscoverSpecs(@TempDir Path sources) throws IOException {
+        Files.createDirectories(sources.resolve("cypress/e2e/login"));
+        Files.createDirectories(sources.resolve("node_modules/cypress/e2e"));
+        Files.write(sources.resolve("cypress/e2e/todos.cy.js"), new byte[0]);
+        Files.write(sources.resolve("cypress/e2e/login/login.cy.ts"), new byte[0]);
+        Files.write(sources.resolve("cypress/e2e/helpers.js"), new byte[0]);
+        Files.write(sources.resolve("node_modules/cypress/e2e/other.cy.js"), new byte[0]);
+
+        assertThat(SpecDiscovery.discover(sources)).containsExactly("cypress/e2e/login/login.cy.ts",
+                                                                    "cypress/e2e/todos.cy.js");
+    }
+
+    @Test
+    void testDiscoverComponentSpecs(@TempDir Path sources) throws IOException {
+        Files.createDirectories(sources.resolve("cypress/e2e"));
+        Files.createDirectories(sources.resolve("src/components"));
+        Files.createDirectories(sources.resolve("node_modules/lib"));
+        Files.createDirectories(sources.resolve("packages/ui/node_modules/lib"));
+        Files.write(sources.resolve("cypress/e2e/todos.cy.js"), new byte[0]);
+        Files.write(sources.resolve("src/components/Button.cy.tsx"), new byte[0]);
+        Files.write(sources.resolve("src/components/Button.tsx"), new byte[0]);
+        Files.write(sources.resolve("App.cy.jsx"), new byte[0]);
+        Files.write(sources.resolve("node_modules/lib/other.cy.js"), new byte[0]);
+        Files.write(sources.resolve("packages/ui/node_modules/lib/nested.cy.js"), new byte[0]);
+
+        assertThat(SpecDiscovery.discover(sources, true)).containsExactly("App.cy.jsx",
+                                                                          "src/components/Button.cy.tsx");
+    }
+
+    private void writeReport(String spec, long duration) throws IOException {
+        String report = "{\"stats\": {\"duration\": " + duration + ", \"failures\": 0},"
+                + " \"results\": [{\"file\": \"" + spec + "\", \"suites\": []}]}";
+        Files.write(reports.resolve(spec + ".json"), report.getBytes(StandardCharsets.UTF_8));
+    }
+}